@@ -0,0 +1,85 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.tickatch.gateway_server.global.util.HmacSigner;
+import com.tickatch.gateway_server.global.util.HmacUtil;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * HMAC 서명/검증 처리량과 연산당 할당량 비교.
+ *
+ * <p>legacy*: 호출마다 Mac.getInstance + 키 초기화 ({@link HmacUtil})
+ * <br>signer*: 키를 한 번만 초기화한 Mac을 스레드별로 재사용 ({@link HmacSigner})
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=HmacBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class HmacBenchmark {
+
+  private static final String SECRET = "benchmark-secret-key-for-hmac";
+
+  // 입장 패스 payload와 비슷한 길이 (base64url(queueId|만료 시각|epoch|userId))
+  private String payload;
+  private String signature;
+  private byte[] payloadBytes;
+  private byte[] signatureBytes;
+  private ByteBuffer payloadBuffer;
+  private HmacSigner signer;
+
+  @Setup
+  public void setUp() {
+    signer = new HmacSigner(SECRET);
+    payload = "Y29uY2VydC0yMDI1fDE3MzAwMDAwMDB8MXwxODA2YTE2Yi0yZTRiLTQ2NjktODAwNC1jNmVhNmM3MWU2Yzc";
+    signature = signer.sign(payload);
+    payloadBytes = payload.getBytes(StandardCharsets.US_ASCII);
+    signatureBytes = signer.sign(payloadBytes);
+    payloadBuffer = ByteBuffer.allocateDirect(payloadBytes.length).put(payloadBytes).flip();
+  }
+
+  @Benchmark
+  public String legacySign() {
+    return HmacUtil.hmacSha26(SECRET, payload);
+  }
+
+  @Benchmark
+  public boolean legacyVerify() {
+    return HmacUtil.hmacSha26(SECRET, payload).equals(signature);
+  }
+
+  @Benchmark
+  public String signerSign() {
+    return signer.sign(payload);
+  }
+
+  @Benchmark
+  public byte[] signerSignBytes() {
+    return signer.sign(payloadBytes);
+  }
+
+  @Benchmark
+  public boolean signerVerify() {
+    return signer.verify(payload, signature);
+  }
+
+  @Benchmark
+  public boolean signerVerifyBytes() {
+    return signer.verify(payloadBytes, signatureBytes);
+  }
+
+  @Benchmark
+  public boolean signerVerifyByteBuffer() {
+    return signer.verify(payloadBuffer.duplicate(), signatureBytes);
+  }
+}
@@ -0,0 +1,77 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.tickatch.gateway_server.global.api.ApiResponse;
+import com.tickatch.gateway_server.global.api.ErrorResponseBodies;
+import com.tickatch.gateway_server.global.util.JsonUtils;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+/**
+ * {@link JsonUtils#toBytes(Object)} 직렬화 비용 (gc 프로파일러의 gc.alloc.rate.norm = 호출당 할당 바이트).
+ *
+ * <p>queueStatus: 대기 순번 ({@link QueueStatusResponse})
+ * <br>waitingResponse: 대기 순번을 담은 {@link ApiResponse} (429 응답 본문)
+ * <br>waitingResponseBuffer: 같은 본문을 {@link JsonUtils#toDataBuffer}로 풀링된 Netty 버퍼에 바로 직렬화 (중간 byte[] 없음)
+ * <br>errorResponse: 에러 {@link ApiResponse} (403 NOT_IN_QUEUE 응답 본문)
+ * <br>errorResponseCached: 같은 본문을 {@link ErrorResponseBodies}로 작성 (미리 직렬화한 본문에 path/timestamp만 채움)
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=JsonSerializationBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonSerializationBenchmark {
+
+  private static final DefaultDataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+  private static final NettyDataBufferFactory NETTY_BUFFER_FACTORY =
+      new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+  private long position;
+
+  @Benchmark
+  public byte[] queueStatus() {
+    return JsonUtils.toBytes(nextStatus());
+  }
+
+  @Benchmark
+  public byte[] waitingResponse() {
+    return JsonUtils.toBytes(ApiResponse.success(nextStatus(), "대기 중입니다."));
+  }
+
+  @Benchmark
+  public int waitingResponseBuffer() {
+    DataBuffer buffer = JsonUtils.toDataBuffer(ApiResponse.success(nextStatus(), "대기 중입니다."), NETTY_BUFFER_FACTORY);
+    int size = buffer.readableByteCount();
+    DataBufferUtils.release(buffer);
+    return size;
+  }
+
+  @Benchmark
+  public byte[] errorResponse() {
+    return JsonUtils.toBytes(ApiResponse.error(
+        "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.", 403, "/api/v1/reservations"));
+  }
+
+  @Benchmark
+  public DataBuffer errorResponseCached() {
+    return ErrorResponseBodies.encode(BUFFER_FACTORY,
+        403, "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.", "/api/v1/reservations");
+  }
+
+  // 순번이 바뀌는 상황을 흉내 (상수 폴딩 방지)
+  private QueueStatusResponse nextStatus() {
+    long current = position++ % 100_000;
+    return new QueueStatusResponse(100_000L, current + 1, 100_000L - current - 1, 120.5, current / 120);
+  }
+}
@@ -0,0 +1,91 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.tickatch.gateway_server.security.JwtAuthenticationFilter;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * {@link JwtAuthenticationFilter}의 내부 헤더 제거 + 사용자 헤더 추가 비용 (gc 프로파일러의 gc.alloc.rate.norm = 요청당 할당 바이트).
+ *
+ * <p>요청에는 클라이언트가 위조한 X-User-Id/X-User-Type/X-Queue-Id가 들어 있다고 가정한다.
+ * <br>exchangeOnly: 모의 요청/응답 생성 비용 (다른 결과에서 빼고 보는 기준선)
+ * <br>authenticated: JWT 인증 요청 (헤더 제거 후 X-User-Id, X-User-Type 추가)
+ * <br>anonymous: 인증 정보가 없는 permitAll 요청 (헤더 제거만)
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=JwtAuthenticationFilterBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+  private JwtAuthenticationFilter filter;
+  private Context securityContext;
+  private WebFilterChain chain;
+  // 하위 필터에 전달된 X-User-Id (필터 결과가 제거되지 않도록 반환)
+  private String forwardedUserId;
+
+  @Setup
+  public void setUp() {
+    filter = new JwtAuthenticationFilter();
+
+    Instant now = Instant.now();
+    Jwt jwt = Jwt.withTokenValue("benchmark-token")
+        .header("alg", "RS256")
+        .subject("user-12345")
+        .claim("userType", "CUSTOMER")
+        .issuedAt(now)
+        .expiresAt(now.plusSeconds(3600))
+        .build();
+    securityContext = ReactiveSecurityContextHolder.withAuthentication(
+        new JwtAuthenticationToken(jwt, AuthorityUtils.NO_AUTHORITIES));
+
+    chain = exchange -> {
+      forwardedUserId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
+      return Mono.empty();
+    };
+  }
+
+  @Benchmark
+  public MockServerWebExchange exchangeOnly() {
+    return request();
+  }
+
+  @Benchmark
+  public String authenticated() {
+    filter.filter(request(), chain).contextWrite(securityContext).block();
+    return forwardedUserId;
+  }
+
+  @Benchmark
+  public String anonymous() {
+    filter.filter(request(), chain).block();
+    return forwardedUserId;
+  }
+
+  private static MockServerWebExchange request() {
+    return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/reservations?productId=concert-1")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer benchmark-token")
+        .header(HttpHeaders.ACCEPT, "application/json")
+        .header("X-User-Id", "spoofed-user")
+        .header("X-User-Type", "ADMIN")
+        .header("X-Queue-Id", "spoofed-queue"));
+  }
+}
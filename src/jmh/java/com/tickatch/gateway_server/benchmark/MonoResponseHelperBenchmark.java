@@ -0,0 +1,86 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.tickatch.gateway_server.global.api.ApiResponse;
+import com.tickatch.gateway_server.global.api.MonoResponseHelper;
+import com.tickatch.gateway_server.global.util.JsonUtils;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 게이트웨이가 직접 쓰는 JSON 응답({@link MonoResponseHelper}) 작성 비용
+ * (gc 프로파일러의 gc.alloc.rate.norm = 응답당 할당 바이트).
+ *
+ * <p>exchangeOnly: 모의 요청/응답 생성 비용 (다른 결과에서 빼고 보는 기준선)
+ * <br>waiting: 대기 중 429 + 대기 순번 응답 ({@code QueueFilter})
+ * <br>notInQueue: 403 에러 응답 ({@code QueueFilter}, 미리 직렬화한 본문 재사용)
+ * <br>notInQueueSerialized: 같은 403 응답을 요청마다 {@link ApiResponse}로 직렬화해 작성 (notInQueue와 비교용)
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=MonoResponseHelperBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MonoResponseHelperBenchmark {
+
+  private MonoResponseHelper responseHelper;
+  private long position;
+
+  @Setup
+  public void setUp() {
+    responseHelper = new MonoResponseHelper();
+  }
+
+  @Benchmark
+  public MockServerWebExchange exchangeOnly() {
+    return request();
+  }
+
+  @Benchmark
+  public MockServerWebExchange waiting() {
+    MockServerWebExchange exchange = request();
+    responseHelper.writeSuccessWithStatus(exchange, HttpStatus.TOO_MANY_REQUESTS, nextStatus(), "대기 중입니다.")
+        .block();
+    return exchange;
+  }
+
+  @Benchmark
+  public MockServerWebExchange notInQueue() {
+    MockServerWebExchange exchange = request();
+    responseHelper.writeError(exchange, HttpStatus.FORBIDDEN, "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.")
+        .block();
+    return exchange;
+  }
+
+  @Benchmark
+  public MockServerWebExchange notInQueueSerialized() {
+    MockServerWebExchange exchange = request();
+    exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+    exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    byte[] body = JsonUtils.toBytes(ApiResponse.error("NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.",
+        HttpStatus.FORBIDDEN.value(), exchange.getRequest().getPath().value()));
+    exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body))).block();
+    return exchange;
+  }
+
+  // 순번이 바뀌는 상황을 흉내 (상수 폴딩 방지)
+  private QueueStatusResponse nextStatus() {
+    long current = position++ % 100_000;
+    return new QueueStatusResponse(100_000L, current + 1, 100_000L - current - 1, 120.5, current / 120);
+  }
+
+  private static MockServerWebExchange request() {
+    return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/reservations?productId=concert-1"));
+  }
+}
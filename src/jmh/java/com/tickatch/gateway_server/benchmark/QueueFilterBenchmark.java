@@ -0,0 +1,146 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.tickatch.gateway_server.global.api.MonoResponseHelper;
+import com.tickatch.gateway_server.waiting_queue.application.QueueIds;
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.QueuePollingHints;
+import com.tickatch.gateway_server.waiting_queue.application.QueueProgressTracker;
+import com.tickatch.gateway_server.waiting_queue.application.QueueStatusNotifier;
+import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.filter.QueueFilter;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.memory.InMemoryQueueEventBus;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.memory.InMemoryQueueRepository;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.security.AdmissionPasses;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * 예매 API 요청이 {@link QueueFilter}를 지나는 비용 (gc 프로파일러의 gc.alloc.rate.norm = 요청당 할당 바이트).
+ *
+ * <p>대기열은 Redis 대신 인메모리 저장소를 사용해 필터와 응답 작성 비용만 비교한다.
+ * <br>exchangeOnly: 모의 요청/응답 생성 비용 (다른 결과에서 빼고 보는 기준선)
+ * <br>nonReservationPath: 대기열 대상이 아닌 요청 (바로 통과)
+ * <br>withAdmissionPass: 입장 패스 쿠키로 통과 (HMAC 검증 + 메모리의 입장 허용 시각 갱신, 대기열 조회 없음)
+ * <br>gateAllowed: 패스 없이 대기열에서 입장 허용 확인 + 입장 허용 시각 갱신 + 패스 발급
+ * <br>gateWaiting: 대기 중 → 429 + 대기 순번 응답
+ * <br>gateNotInQueue: 대기열에 없음 → 403 에러 응답
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=QueueFilterBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QueueFilterBenchmark {
+
+  private static final String QUEUE_ID = "benchmark";
+  private static final String SECRET = "benchmark-secret-key-for-hmac";
+  private static final String ALLOWED_USER = "allowed-user";
+  private static final String WAITING_USER = "waiting-user";
+  private static final int WAITING_USERS = 10_000;
+
+  // 필터를 통과한 요청은 하위 서비스 대신 바로 완료
+  private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+  private QueueFilter filter;
+  private String admissionPass;
+
+  @Setup
+  public void setUp() throws InterruptedException {
+    QueueProperties queueProperties = new QueueProperties();
+    queueProperties.setMaxCapacity(2);
+    queueProperties.setAllowedInDurationSeconds(3600);
+    queueProperties.getEvents().put(QUEUE_ID, new QueueProperties.EventPolicy());
+
+    QueueProgressTracker progressTracker = new QueueProgressTracker(60);
+    QueueMetrics queueMetrics = new QueueMetrics(new SimpleMeterRegistry(), progressTracker);
+    AllowedInCache allowedInCache = new AllowedInCache(0, 0);
+    WaitingQueueService queueService = new WaitingQueueService(
+        new InMemoryQueueRepository(queueProperties, allowedInCache, queueMetrics),
+        new InMemoryQueueEventBus(new QueueStatusNotifier(queueMetrics), progressTracker),
+        progressTracker, queueMetrics);
+
+    // 정원(2명)을 채운 뒤 대기자 등록 (측정 대상 대기자는 대기열 중간)
+    queueService.lineUp(QUEUE_ID, ALLOWED_USER).block();
+    queueService.lineUp(QUEUE_ID, "allowed-user-2").block();
+    for (int i = 0; i < WAITING_USERS; i++) {
+      queueService.lineUp(QUEUE_ID, i == WAITING_USERS / 2 ? WAITING_USER : "waiting-" + i).block();
+    }
+
+    // 시작 직후에는 회수 알림을 놓쳤을 수 있어 패스 유효 시간(1초) 동안 모든 패스를 거부하므로 그 이후부터 측정
+    AdmissionPasses admissionPasses = new AdmissionPasses(allowedInCache, SECRET, 1, 1);
+    admissionPass = issuePass(new AdmissionPasses(allowedInCache, SECRET, 3600, 1));
+    Thread.sleep(1100);
+
+    filter = new QueueFilter(queueService, new MonoResponseHelper(), admissionPasses,
+        new QueuePollingHints(progressTracker, 10_000, 1, 30), new QueueIds(queueProperties));
+  }
+
+  @Benchmark
+  public MockServerWebExchange exchangeOnly() {
+    return reservation(WAITING_USER, null);
+  }
+
+  @Benchmark
+  public HttpStatusCode nonReservationPath() {
+    return run(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/1")
+        .header("X-User-Id", ALLOWED_USER)));
+  }
+
+  @Benchmark
+  public HttpStatusCode withAdmissionPass() {
+    return run(reservation(ALLOWED_USER, admissionPass));
+  }
+
+  @Benchmark
+  public HttpStatusCode gateAllowed() {
+    return run(reservation(ALLOWED_USER, null));
+  }
+
+  @Benchmark
+  public HttpStatusCode gateWaiting() {
+    return run(reservation(WAITING_USER, null));
+  }
+
+  @Benchmark
+  public HttpStatusCode gateNotInQueue() {
+    return run(reservation("unknown-user", null));
+  }
+
+  private HttpStatusCode run(MockServerWebExchange exchange) {
+    filter.filter(exchange, CHAIN).block();
+    return exchange.getResponse().getStatusCode();
+  }
+
+  // JwtAuthenticationFilter가 X-User-Id를 채운 뒤의 예매 요청
+  private static MockServerWebExchange reservation(String userId, String admissionPass) {
+    MockServerHttpRequest.BodyBuilder request = MockServerHttpRequest
+        .post("/api/v1/reservations?productId=" + QUEUE_ID)
+        .header("X-User-Id", userId);
+    if (admissionPass != null) {
+      request.cookie(new HttpCookie(AdmissionPasses.COOKIE_NAME, admissionPass));
+    }
+    return MockServerWebExchange.from(request);
+  }
+
+  private static String issuePass(AdmissionPasses admissionPasses) {
+    MockServerHttpResponse response = new MockServerHttpResponse();
+    admissionPasses.issue(response, QUEUE_ID, ALLOWED_USER);
+    return response.getCookies().getFirst(AdmissionPasses.COOKIE_NAME).getValue();
+  }
+}
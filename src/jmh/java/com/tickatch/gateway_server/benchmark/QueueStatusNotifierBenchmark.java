@@ -0,0 +1,103 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.QueueProgressTracker;
+import com.tickatch.gateway_server.waiting_queue.application.QueueStatusNotifier;
+import com.tickatch.gateway_server.waiting_queue.application.StatusPushPolicy;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusChangeEvent;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SSE 구독/알림 처리 비용 ({@link QueueStatusNotifier}, gc 프로파일러의 gc.alloc.rate.norm = 호출당 할당 바이트).
+ *
+ * <p>subscribers명이 구독 중인 상태에서 측정한다.
+ * <br>subscribeChurn: SSE 연결 시작 → 종료 (구독 등록/해제)
+ * <br>allowedInChurn: SSE 연결 시작 → 입장 허용 알림 전달 → 종료
+ * <br>notifyStatusChange: 구독 중인 사용자에게 대기 순번 전달
+ * <br>notifyStatusIfChanged: 전송 기준(순번 변화량)을 확인한 뒤 대기 순번 전달 (절반은 기준 미달로 건너뜀)
+ *
+ * <p>운영과 같이 이벤트는 구독자에게 바로 전달(요청 수 제한 없음)된다. 로그는 WARN 이상만 출력(src/jmh/resources/logback.xml).
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=QueueStatusNotifierBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QueueStatusNotifierBenchmark {
+
+  private static final String QUEUE_ID = "benchmark";
+  // 마지막 알림 후 경과 시간 기준(30초)은 넘지 않도록 고정
+  private static final long NOW = 1L;
+
+  @Param({"10000"})
+  private int subscribers;
+
+  private QueueStatusNotifier notifier;
+  private StatusPushPolicy pushPolicy;
+  private String[] userIds;
+  private long received;
+  private long sequence;
+
+  @Setup
+  public void setUp() {
+    notifier = new QueueStatusNotifier(new QueueMetrics(new SimpleMeterRegistry(), new QueueProgressTracker(60)));
+    // 기본 설정 (50명 또는 5% 이상 변화, 30초)
+    pushPolicy = new StatusPushPolicy(50, 0.05, 30_000);
+
+    userIds = new String[subscribers];
+    for (int i = 0; i < subscribers; i++) {
+      userIds[i] = "user-" + i;
+      notifier.subscribe(QUEUE_ID, userIds[i]).subscribe(event -> received++);
+    }
+  }
+
+  @Benchmark
+  public int subscribeChurn() {
+    String userId = "churn-" + (sequence++ % 1024);
+    notifier.subscribe(QUEUE_ID, userId).subscribe(event -> received++);
+    notifier.unsubscribe(QUEUE_ID, userId);
+    return notifier.getActiveSubscribers();
+  }
+
+  @Benchmark
+  public long allowedInChurn() {
+    String userId = "churn-" + (sequence++ % 1024);
+    notifier.subscribe(QUEUE_ID, userId).subscribe(event -> received++);
+    notifier.notifyAllowedIn(QUEUE_ID, userId);
+    notifier.unsubscribe(QUEUE_ID, userId);
+    return received;
+  }
+
+  @Benchmark
+  public long notifyStatusChange() {
+    long next = sequence++;
+    notifier.notifyStatusChange(QUEUE_ID, userIds[(int) (next % subscribers)],
+        new QueueStatusChangeEvent(status(next)));
+    return received;
+  }
+
+  @Benchmark
+  public boolean notifyStatusIfChanged() {
+    long next = sequence++;
+    // 사용자마다 번갈아 100명 / 10명씩 앞당겨져 절반은 전송 기준(50명)에 미달
+    long round = next / subscribers;
+    long position = 1_000_000 - round * 55 - (round % 2 == 0 ? 0 : 45);
+    return notifier.notifyStatusIfChanged(QUEUE_ID, userIds[(int) (next % subscribers)],
+        new QueueStatusResponse(1_000_000L, position, 1_000_000L - position), pushPolicy, NOW);
+  }
+
+  private static QueueStatusResponse status(long next) {
+    long position = 1_000_000 - next % 1_000_000;
+    return new QueueStatusResponse(1_000_000L, position, 1_000_000L - position);
+  }
+}
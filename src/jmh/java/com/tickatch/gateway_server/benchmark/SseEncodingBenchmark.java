@@ -0,0 +1,154 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.presentation.dto.AllowedInEvent;
+import com.tickatch.gateway_server.waiting_queue.presentation.webapi.QueueSseFrames;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.ServerSentEventHttpMessageWriter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * SSE 이벤트 하나를 버퍼로 인코딩하는 비용 비교 (gc 프로파일러의 gc.alloc.rate.norm = 이벤트당 할당 바이트).
+ *
+ * <p>default*: {@code ServerSentEvent} + WebFlux 기본 SSE 코덱(Jackson)
+ * <br>encoded*: 미리 인코딩한 프레임 공유 / STATUS_UPDATE 직접 인코딩 ({@link QueueSseFrames})
+ *
+ * <p>두 방식 모두 풀링된 Netty 버퍼를 쓰고, 인코딩된 버퍼는 바로 해제한다.
+ * 실행: {@code ./gradlew jmh -PjmhIncludes=SseEncodingBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SseEncodingBenchmark {
+
+  private static final ResolvableType SSE_TYPE = ResolvableType.forClass(ServerSentEvent.class);
+
+  private DataBufferFactory bufferFactory;
+  private ServerSentEventHttpMessageWriter defaultWriter;
+  private DiscardingOutputMessage output;
+  private long position;
+
+  @Setup
+  public void setUp() {
+    bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    defaultWriter = ServerCodecConfigurer.create().getWriters().stream()
+        .filter(ServerSentEventHttpMessageWriter.class::isInstance)
+        .map(ServerSentEventHttpMessageWriter.class::cast)
+        .findFirst()
+        .orElseThrow();
+    output = new DiscardingOutputMessage(bufferFactory);
+  }
+
+  @Benchmark
+  public long defaultStatusUpdate() {
+    return writeDefault(() -> ServerSentEvent.builder()
+        .event("STATUS_UPDATE")
+        .data(nextStatus())
+        .build());
+  }
+
+  @Benchmark
+  public long defaultAllowedIn() {
+    return writeDefault(() -> ServerSentEvent.builder()
+        .event("ALLOWED_IN")
+        .data(new AllowedInEvent("입장 가능합니다."))
+        .build());
+  }
+
+  @Benchmark
+  public int encodedStatusUpdate() {
+    return release(QueueSseFrames.statusUpdate(bufferFactory, nextStatus()));
+  }
+
+  @Benchmark
+  public int encodedAllowedIn() {
+    return release(QueueSseFrames.ALLOWED_IN.toDataBuffer(bufferFactory));
+  }
+
+  private long writeDefault(Supplier<ServerSentEvent<Object>> event) {
+    defaultWriter.write(Mono.fromSupplier(event), SSE_TYPE, MediaType.TEXT_EVENT_STREAM, output, Map.of()).block();
+    return output.written;
+  }
+
+  // 순번이 바뀌는 상황을 흉내 (상수 폴딩 방지)
+  private QueueStatusResponse nextStatus() {
+    long current = position++ % 100_000;
+    return new QueueStatusResponse(100_000L, current + 1, 100_000L - current - 1);
+  }
+
+  private static int release(DataBuffer buffer) {
+    int size = buffer.readableByteCount();
+    DataBufferUtils.release(buffer);
+    return size;
+  }
+
+  // 소켓 대신 쓰인 바이트 수만 세고 버퍼를 해제하는 출력
+  private static final class DiscardingOutputMessage implements ReactiveHttpOutputMessage {
+
+    private final DataBufferFactory bufferFactory;
+    private final HttpHeaders headers = new HttpHeaders();
+    private long written;
+
+    private DiscardingOutputMessage(DataBufferFactory bufferFactory) {
+      this.bufferFactory = bufferFactory;
+    }
+
+    @Override
+    public DataBufferFactory bufferFactory() {
+      return bufferFactory;
+    }
+
+    @Override
+    public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+    }
+
+    @Override
+    public boolean isCommitted() {
+      return false;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+      return Flux.from(body)
+          .doOnNext(buffer -> written += release(buffer))
+          .then();
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+      return writeWith(Flux.from(body).<DataBuffer>concatMap(publisher -> publisher));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+      return Mono.empty();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.tickatch.gateway_server.benchmark;
+
+import com.sun.management.OperatingSystemMXBean;
+import com.tickatch.gateway_server.waiting_queue.presentation.webapi.SseHeartbeatTicker;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * SSE heartbeat 전송 비용 (연결마다 {@code Flux.interval} vs 공유 타이머 {@link SseHeartbeatTicker}).
+ *
+ * <p>connections개의 연결을 구독한 뒤 heartbeat 주기(100ms)의 10배 동안 유지하고 해제하는 것을 한 번의 연산으로 측정한다.
+ * heartbeat는 타이머 스레드에서 전송되므로 실행 시간 외에 보조 카운터로 비교한다.
+ * <br>cpuMillis: 연산 동안 프로세스가 사용한 CPU 시간
+ * <br>timers: 예약된 타이머 수 (공유 타이머는 시작 시 한 번만 예약하므로 0)
+ * <br>heartbeats: 연결들이 받은 heartbeat 수
+ *
+ * <p>실행: {@code ./gradlew jmh -PjmhIncludes=SseHeartbeatBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SseHeartbeatBenchmark {
+
+  private static final String HOOK_KEY = "sse-heartbeat-benchmark";
+  // 차이가 잘 보이도록 heartbeat 주기를 100ms로 줄임
+  private static final long INTERVAL_MILLIS = 100;
+  private static final long RUN_MILLIS = INTERVAL_MILLIS * 10;
+
+  @Param({"10000", "50000", "100000"})
+  private int connections;
+
+  private final AtomicLong scheduledTasks = new AtomicLong();
+  private final OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+  private SseHeartbeatTicker ticker;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Schedulers.onScheduleHook(HOOK_KEY, task -> {
+      scheduledTasks.incrementAndGet();
+      return task;
+    });
+    ticker = new SseHeartbeatTicker(INTERVAL_MILLIS, 10);
+    ticker.start();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ticker.stop();
+    Schedulers.resetOnScheduleHook(HOOK_KEY);
+  }
+
+  @Benchmark
+  public long intervalPerConnection(Counters counters) throws InterruptedException {
+    return run(counters, () -> Flux.interval(Duration.ofMillis(INTERVAL_MILLIS)));
+  }
+
+  @Benchmark
+  public long sharedTicker(Counters counters) throws InterruptedException {
+    return run(counters, ticker::heartbeats);
+  }
+
+  private long run(Counters counters, Supplier<Flux<?>> heartbeats) throws InterruptedException {
+    AtomicLong delivered = new AtomicLong();
+    List<Disposable> subscriptions = new ArrayList<>(connections);
+
+    long timersBefore = scheduledTasks.get();
+    long cpuBefore = os.getProcessCpuTime();
+
+    for (int i = 0; i < connections; i++) {
+      subscriptions.add(heartbeats.get().subscribe(tick -> delivered.incrementAndGet()));
+    }
+    Thread.sleep(RUN_MILLIS);
+
+    counters.cpuMillis += (os.getProcessCpuTime() - cpuBefore) / 1_000_000;
+    counters.timers += scheduledTasks.get() - timersBefore;
+    counters.heartbeats += delivered.get();
+    subscriptions.forEach(Disposable::dispose);
+    return delivered.get();
+  }
+
+  // 연산별 보조 측정값 (JMH 결과에 secondary metric으로 출력)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Counters {
+
+    public long cpuMillis;
+    public long timers;
+    public long heartbeats;
+  }
+}
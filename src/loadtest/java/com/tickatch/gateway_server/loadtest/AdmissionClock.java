@@ -0,0 +1,33 @@
+package com.tickatch.gateway_server.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 내장 게이트웨이가 입장 허용 알림을 발행한 시각 (SSE/폴링으로 알게 되기까지의 지연 측정용).
+ *
+ * <p>게이트웨이와 부하 생성기가 같은 JVM에서 실행되므로 {@link System#nanoTime()}을 그대로 비교한다.
+ * 입장을 확인한 가상 사용자가 꺼내 가므로, 확인하지 못하고 끝난 사용자의 기록만 남는다.
+ */
+final class AdmissionClock {
+
+  // key = 대기열 ID + ":" + userId, value = 발행 시각 (nanoTime)
+  private static final Map<String, Long> PUBLISHED_AT = new ConcurrentHashMap<>();
+
+  private AdmissionClock() {
+  }
+
+  static void published(String queueId, List<String> userIds) {
+    long now = System.nanoTime();
+    for (String userId : userIds) {
+      PUBLISHED_AT.put(queueId + ":" + userId, now);
+    }
+  }
+
+  // 발행 후 지난 시간 (발행 기록이 없으면 -1: 대기 없이 바로 입장했거나 다른 경로로 입장)
+  static long takeElapsedNanos(String queueId, String userId) {
+    Long publishedAt = PUBLISHED_AT.remove(queueId + ":" + userId);
+    return publishedAt != null ? System.nanoTime() - publishedAt : -1;
+  }
+}
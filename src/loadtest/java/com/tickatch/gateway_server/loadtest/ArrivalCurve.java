@@ -0,0 +1,93 @@
+package com.tickatch.gateway_server.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.LongStream;
+import reactor.core.publisher.Flux;
+
+/**
+ * 초당 사용자 유입량 곡선.
+ *
+ * <pre>
+ * constant:rate=500                         초당 500명 고정
+ * ramp:from=0,to=2000                       실행 시간 동안 0명에서 2000명까지 선형 증가
+ * spike:base=100,peak=5000,at=5,decay=3     5초에 오픈, 초당 5000명에서 시작해 시상수 3초로 base까지 감소 (오픈 직후 유입)
+ * </pre>
+ */
+@FunctionalInterface
+interface ArrivalCurve {
+
+  // 유입량을 나눠 발생시키는 간격
+  Duration TICK = Duration.ofMillis(10);
+
+  // 실행 시작 후 elapsedSeconds 시점의 초당 유입량
+  double ratePerSecond(double elapsedSeconds);
+
+  // 곡선을 따라 도착하는 사용자 번호 (0부터)
+  default Flux<Long> arrivals(Duration duration) {
+    double tickSeconds = TICK.toNanos() / 1_000_000_000.0;
+    long ticks = duration.toNanos() / TICK.toNanos();
+
+    return Flux.defer(() -> {
+      // interval은 한 스레드에서 순서대로 발행하므로 누적값을 동기화하지 않음
+      double[] owed = {0};
+      long[] next = {0};
+      return Flux.interval(TICK)
+          .take(ticks)
+          .flatMapIterable(tick -> {
+            owed[0] += ratePerSecond(tick * tickSeconds) * tickSeconds;
+            int count = (int) owed[0];
+            owed[0] -= count;
+
+            long from = next[0];
+            next[0] += count;
+            return () -> LongStream.range(from, from + count).iterator();
+          });
+    });
+  }
+
+  static ArrivalCurve parse(String spec, Duration duration) {
+    int separator = spec.indexOf(':');
+    String type = separator < 0 ? spec : spec.substring(0, separator);
+    Map<String, Double> params = params(separator < 0 ? "" : spec.substring(separator + 1));
+    double durationSeconds = duration.toMillis() / 1000.0;
+
+    return switch (type) {
+      case "constant" -> {
+        double rate = params.getOrDefault("rate", 500.0);
+        yield elapsed -> rate;
+      }
+      case "ramp" -> {
+        double from = params.getOrDefault("from", 0.0);
+        double to = params.getOrDefault("to", 2000.0);
+        yield elapsed -> from + (to - from) * Math.min(elapsed / durationSeconds, 1.0);
+      }
+      case "spike" -> {
+        double base = params.getOrDefault("base", 100.0);
+        double peak = params.getOrDefault("peak", 2000.0);
+        double at = params.getOrDefault("at", 5.0);
+        double decay = params.getOrDefault("decay", 5.0);
+        yield elapsed -> elapsed < at
+            ? base
+            : base + (peak - base) * Math.exp(-(elapsed - at) / decay);
+      }
+      default -> throw new IllegalArgumentException("알 수 없는 유입 곡선: " + spec);
+    };
+  }
+
+  private static Map<String, Double> params(String text) {
+    Map<String, Double> params = new HashMap<>();
+    for (String pair : text.split(",")) {
+      if (pair.isBlank()) {
+        continue;
+      }
+      String[] keyValue = pair.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IllegalArgumentException("유입 곡선 설정 형식이 잘못되었습니다: " + pair);
+      }
+      params.put(keyValue[0].trim(), Double.parseDouble(keyValue[1].trim()));
+    }
+    return params;
+  }
+}
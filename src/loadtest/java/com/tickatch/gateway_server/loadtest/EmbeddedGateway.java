@@ -0,0 +1,75 @@
+package com.tickatch.gateway_server.loadtest;
+
+import com.tickatch.gateway_server.GatewayServerApplication;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 부하 생성기와 같은 JVM에서 실행하는 게이트웨이.
+ *
+ * <p>Config Server/Eureka 없이 임의 포트로 띄우고, 예매 API는 바로 200을 응답하는 예매 서비스 대역으로 라우팅해
+ * {@code QueueFilter}를 통과한 요청까지 게이트웨이 안에서 측정한다.
+ * 대기열 저장소는 인메모리({@code memory}) 또는 로컬 Redis({@code redis}, {@code REDIS_IP})를 사용한다.
+ */
+final class EmbeddedGateway implements AutoCloseable {
+
+  private final DisposableServer reservationService;
+  private final ConfigurableApplicationContext context;
+
+  private EmbeddedGateway(DisposableServer reservationService, ConfigurableApplicationContext context) {
+    this.reservationService = reservationService;
+    this.context = context;
+  }
+
+  static EmbeddedGateway start(LoadTestOptions options) {
+    // 예매 서비스 대역: 게이트웨이를 통과한 예매 요청에 바로 응답
+    DisposableServer reservationService = HttpServer.create()
+        .host("localhost")
+        .port(0)
+        .handle((request, response) -> response
+            .header("Content-Type", "application/json")
+            .sendString(Mono.just("{\"success\":true}")))
+        .bindNow();
+
+    List<String> args = new ArrayList<>(List.of(
+        "--server.port=0",
+        "--spring.cloud.config.enabled=false",
+        "--eureka.client.enabled=false",
+        "--management.tracing.sampling.probability=0",
+        "--logging.level.root=WARN",
+        "--logging.level.com.tickatch.gateway_server.loadtest=INFO",
+        "--queue.repository=" + options.repository(),
+        "--queue.max-capacity=" + options.maxCapacity(),
+        "--queue.allowed-in-duration-seconds=" + options.allowedInSeconds(),
+        "--queue.secret-key=" + options.secretKey(),
+        "--queue.sse.heartbeat-interval-millis=" + options.heartbeatMillis(),
+        // 등록된 대기열만 사용할 수 있으므로 부하 테스트 대기열 등록
+        "--queue.events." + options.productId() + ".max-capacity=" + options.maxCapacity(),
+        // 메모리 측정용 대기열은 아무도 입장시키지 않아 모든 연결이 대기 상태로 남음
+        "--queue.events." + options.memoryProbeProductId() + ".max-capacity=0",
+        "--spring.cloud.gateway.server.webflux.routes[0].id=loadtest-reservation",
+        "--spring.cloud.gateway.server.webflux.routes[0].uri=http://localhost:" + reservationService.port(),
+        "--spring.cloud.gateway.server.webflux.routes[0].predicates[0]="
+            + "Path=/api/v1/reservations,/api/v1/reservation-seats/**"
+    ));
+
+    ConfigurableApplicationContext context = SpringApplication.run(
+        new Class<?>[]{GatewayServerApplication.class, LoadTestHooks.class}, args.toArray(String[]::new));
+    return new EmbeddedGateway(reservationService, context);
+  }
+
+  String baseUrl() {
+    return "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+  }
+
+  @Override
+  public void close() {
+    context.close();
+    reservationService.disposeNow();
+  }
+}
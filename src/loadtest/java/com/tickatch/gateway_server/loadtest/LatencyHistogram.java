@@ -0,0 +1,77 @@
+package com.tickatch.gateway_server.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잠금 없이 여러 스레드에서 기록하는 지연 시간 히스토그램 (마이크로초 단위).
+ *
+ * <p>요청마다 값을 모아 정렬하면 수백만 건에서 메모리를 많이 쓰므로, 2의 거듭제곱 구간을 32칸으로 나눈
+ * 로그-선형 버킷에 개수만 센다. 64us 미만은 정확하고 그 이상은 상대 오차 약 3% 이내다.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 32;
+  // 2^62us까지 (index = 32 * shift + (v >> shift), shift 최대 57)
+  private static final int BUCKETS = SUB_BUCKETS * 59;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  void recordNanos(long nanos) {
+    recordMicros(nanos / 1000);
+  }
+
+  void recordMicros(long micros) {
+    long value = Math.max(micros, 0);
+    counts.incrementAndGet(indexOf(value));
+    total.increment();
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  long count() {
+    return total.sum();
+  }
+
+  long maxMicros() {
+    return max.get();
+  }
+
+  // 백분위 값 (버킷 상한, 최댓값을 넘지 않음)
+  long percentileMicros(double percentile) {
+    long count = count();
+    if (count == 0) {
+      return 0;
+    }
+
+    long target = Math.max((long) Math.ceil(percentile * count), 1);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return Math.min(upperBoundOf(i), maxMicros());
+      }
+    }
+    return maxMicros();
+  }
+
+  static int indexOf(long value) {
+    if (value < 2 * SUB_BUCKETS) {
+      return (int) value;
+    }
+    // v >> shift가 [32, 64) 범위가 되도록 이동
+    int shift = 63 - Long.numberOfLeadingZeros(value) - 5;
+    return SUB_BUCKETS * shift + (int) (value >> shift);
+  }
+
+  static long upperBoundOf(int index) {
+    if (index < 2 * SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long sub = index - (long) SUB_BUCKETS * shift;
+    return ((sub + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,38 @@
+package com.tickatch.gateway_server.loadtest;
+
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueEventBus;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+/**
+ * 내장 게이트웨이에만 추가하는 설정.
+ *
+ * <p>부하 테스트 토큰을 검증하는 {@link ReactiveJwtDecoder}를 등록하고,
+ * 입장 허용 알림 발행 시각을 기록하도록 {@link QueueEventBus}를 감싼다.
+ */
+@Configuration(proxyBeanMethods = false)
+class LoadTestHooks {
+
+  @Bean
+  ReactiveJwtDecoder loadTestJwtDecoder() {
+    return LoadTestTokens.decoder();
+  }
+
+  @Bean
+  static BeanPostProcessor admissionClockRecorder() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof QueueEventBus delegate) {
+          return (QueueEventBus) (queueId, userIds) -> {
+            AdmissionClock.published(queueId, userIds);
+            delegate.publishAllowedIn(queueId, userIds);
+          };
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,142 @@
+package com.tickatch.gateway_server.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * 오픈 직후 유입을 재현하는 부하 테스트.
+ *
+ * <p>같은 JVM에 게이트웨이를 띄우고({@link EmbeddedGateway}) 유입 곡선({@link ArrivalCurve})에 따라 가상 사용자를 만들어
+ * 대기열 등록, SSE/폴링 대기, {@code QueueFilter}를 거치는 예매 요청을 보낸다({@link VirtualUsers}).
+ * 끝나면 요청별 처리량과 지연 시간 백분위, SSE 이벤트 전달 지연, 대기 사용자/SSE 연결당 메모리를 출력한다.
+ *
+ * <pre>
+ * ./gradlew loadTest --args='curve=spike:base=200,peak=5000,at=5,decay=3 duration=60 maxCapacity=1000'
+ * ./gradlew loadTest --args='repository=redis curve=constant:rate=1000 duration=30'
+ * </pre>
+ */
+@Slf4j
+public final class LoadTestMain {
+
+  private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(1);
+  // 유입이 끝난 뒤 남은 사용자를 기다리는 추가 시간
+  private static final Duration DRAIN_GRACE = Duration.ofMinutes(1);
+  private static final int MEMORY_PROBE_CONCURRENCY = 256;
+
+  private LoadTestMain() {
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    LoadTestOptions options = LoadTestOptions.parse(args);
+    ArrivalCurve curve = ArrivalCurve.parse(options.curve(), options.duration());
+
+    try (EmbeddedGateway gateway = EmbeddedGateway.start(options)) {
+      QueueClient client = new QueueClient(gateway.baseUrl(), options.maxConnections());
+      try {
+        run(client, curve, options);
+        if (options.memoryProbe() > 0) {
+          probeMemory(client, options);
+        }
+      } finally {
+        client.close();
+      }
+    }
+  }
+
+  private static void run(QueueClient client, ArrivalCurve curve, LoadTestOptions options) {
+    LoadTestStats stats = new LoadTestStats();
+    VirtualUsers users = new VirtualUsers(client, options, stats);
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    AtomicLong arrived = new AtomicLong();
+    AtomicLong peakStreams = new AtomicLong();
+    AtomicLong peakHeap = new AtomicLong();
+    long startedAt = System.nanoTime();
+
+    Disposable progress = Flux.interval(PROGRESS_INTERVAL).subscribe(tick -> {
+      long heap = memory.getHeapMemoryUsage().getUsed();
+      peakStreams.accumulateAndGet(users.openStreams(), Math::max);
+      peakHeap.accumulateAndGet(heap, Math::max);
+      log.info("진행 - {}s, 도착 {}, 진행 중 {}, SSE 연결 {}, 완료 {}, heap {}MB",
+          tick + 1, arrived.get(), users.activeUsers(), users.openStreams(),
+          stats.countOf("users.completed"), heap / (1024 * 1024));
+    });
+
+    try {
+      curve.arrivals(options.duration())
+          .doOnNext(index -> arrived.incrementAndGet())
+          // 진행 중인 사용자가 최대치면 도착한 사용자는 대기
+          .onBackpressureBuffer()
+          .flatMap(users::run, options.maxUsers())
+          .then()
+          .block(options.duration().plus(options.waitTimeout()).plus(DRAIN_GRACE));
+    } finally {
+      progress.dispose();
+    }
+
+    double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+    log.info("부하 테스트 결과 - repository={}, curve={}, 사용자 {}명, 경과 {}s, 최대 SSE 연결 {}, 최대 heap {}MB{}",
+        options.repository(), options.curve(), arrived.get(), String.format("%.1f", elapsedSeconds),
+        peakStreams.get(), peakHeap.get() / (1024 * 1024), stats.report(elapsedSeconds));
+  }
+
+  // 정원 0인 대기열에 대기 사용자를 만들고 SSE를 연결한 채로 GC 후 heap 증가량을 측정
+  // 부하 생성기와 게이트웨이가 같은 JVM이므로 SSE 연결당 메모리에는 클라이언트 쪽 연결도 포함됨
+  private static void probeMemory(QueueClient client, LoadTestOptions options) throws InterruptedException {
+    String productId = options.memoryProbeProductId();
+    String runId = Long.toString(System.currentTimeMillis(), 36);
+    List<String> tokens = new ArrayList<>(options.memoryProbe());
+    for (int i = 0; i < options.memoryProbe(); i++) {
+      tokens.add(LoadTestTokens.issue("lt-memory-" + runId + "-" + i));
+    }
+
+    long baseline = usedHeapAfterGc();
+    Flux.fromIterable(tokens)
+        .flatMap(token -> client.lineUp(token, productId), MEMORY_PROBE_CONCURRENCY)
+        .then()
+        .block();
+    long queued = usedHeapAfterGc();
+
+    // 첫 이벤트(초기 STATUS_UPDATE)를 받으면 연결된 것으로 보고, 측정이 끝날 때까지 연결 유지
+    CountDownLatch connected = new CountDownLatch(tokens.size());
+    List<Disposable> streams = new ArrayList<>(tokens.size());
+    for (String token : tokens) {
+      streams.add(client.stream(token, productId)
+          .switchOnFirst((first, events) -> {
+            if (first.hasValue()) {
+              connected.countDown();
+            }
+            return events;
+          })
+          .subscribe(event -> {
+          }, e -> log.debug("메모리 측정용 SSE 연결 실패 - {}", e.toString())));
+    }
+    connected.await(1, TimeUnit.MINUTES);
+    long connectedCount = tokens.size() - connected.getCount();
+    long streaming = usedHeapAfterGc();
+    streams.forEach(Disposable::dispose);
+
+    log.info("메모리 - 대기 사용자당 {}B, SSE 연결당 {}B (연결 {}개, 클라이언트 쪽 연결 포함)",
+        (queued - baseline) / tokens.size(),
+        connectedCount > 0 ? (streaming - queued) / connectedCount : 0,
+        connectedCount);
+  }
+
+  private static long usedHeapAfterGc() throws InterruptedException {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(200);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,81 @@
+package com.tickatch.gateway_server.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 ({@code ./gradlew loadTest --args='key=value ...'}).
+ *
+ * @param repository         대기열 저장소 (memory: 인메모리, redis: 로컬 Redis)
+ * @param curve              초당 유입량 곡선 ({@link ArrivalCurve})
+ * @param duration           유입 시간
+ * @param productId          대기열(공연) ID
+ * @param maxCapacity        최대 입장 허용 인원
+ * @param allowedInSeconds   입장 허용 유지 시간(초)
+ * @param sseRatio           SSE로 입장을 기다리는 사용자 비율 (나머지는 폴링)
+ * @param gatePollRatio      폴링 사용자 중 상태 조회 대신 예매 API 재시도(429)로 기다리는 비율
+ * @param reservations       입장 후 사용자당 예매 요청 수
+ * @param leave              예매 후 입장 토큰을 반납해 다음 대기자를 바로 입장시킬지 여부
+ * @param maxUsers           동시에 진행 중인 가상 사용자 최대 수
+ * @param maxConnections     부하 생성기의 최대 연결 수
+ * @param waitTimeout        사용자당 입장 대기 제한 시간
+ * @param heartbeatMillis    SSE heartbeat 주기 (heartbeat 전달 지연 표본)
+ * @param secretKey          입장 패스 서명 키 (비우면 입장 패스 없이 매번 대기열 확인)
+ * @param memoryProbe        연결당 메모리 측정에 사용할 SSE 연결 수 (0이면 측정 안 함)
+ */
+record LoadTestOptions(
+    String repository,
+    String curve,
+    Duration duration,
+    String productId,
+    int maxCapacity,
+    int allowedInSeconds,
+    double sseRatio,
+    double gatePollRatio,
+    int reservations,
+    boolean leave,
+    int maxUsers,
+    int maxConnections,
+    Duration waitTimeout,
+    long heartbeatMillis,
+    String secretKey,
+    int memoryProbe
+) {
+
+  static LoadTestOptions parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      String[] keyValue = arg.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IllegalArgumentException("key=value 형식이 아닙니다: " + arg);
+      }
+      values.put(keyValue[0], keyValue[1]);
+    }
+
+    return new LoadTestOptions(
+        values.getOrDefault("repository", "memory"),
+        values.getOrDefault("curve", "spike:base=100,peak=2000,at=5,decay=5"),
+        Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+        // 대기열 ID는 소문자로 처리되므로 설정 키와 맞추기 위해 소문자로 사용
+        values.getOrDefault("productId", "loadtest").toLowerCase(),
+        Integer.parseInt(values.getOrDefault("maxCapacity", "500")),
+        Integer.parseInt(values.getOrDefault("allowedInSeconds", "60")),
+        Double.parseDouble(values.getOrDefault("sseRatio", "0.5")),
+        Double.parseDouble(values.getOrDefault("gatePollRatio", "0.2")),
+        Integer.parseInt(values.getOrDefault("reservations", "2")),
+        Boolean.parseBoolean(values.getOrDefault("leave", "true")),
+        Integer.parseInt(values.getOrDefault("maxUsers", "50000")),
+        Integer.parseInt(values.getOrDefault("maxConnections", "20000")),
+        Duration.ofSeconds(Long.parseLong(values.getOrDefault("waitTimeout", "300"))),
+        Long.parseLong(values.getOrDefault("heartbeatMillis", "1000")),
+        values.getOrDefault("secretKey", "loadtest-admission-pass-secret"),
+        Integer.parseInt(values.getOrDefault("memoryProbe", "2000"))
+    );
+  }
+
+  // 연결당 메모리 측정용 대기열 ID (정원 0)
+  String memoryProbeProductId() {
+    return productId + "-memory";
+  }
+}
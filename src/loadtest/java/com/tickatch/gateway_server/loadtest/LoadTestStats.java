@@ -0,0 +1,87 @@
+package com.tickatch.gateway_server.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 부하 테스트 중 요청/이벤트별 지연 시간과 응답 코드 집계.
+ */
+final class LoadTestStats {
+
+  // key = 요청/이벤트 이름 (lineup, status, stream.first-event, sse.heartbeat-lag 등)
+  private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+  // key = 사용자 결과(users.completed, users.failed, users.timed-out), 수신한 SSE 이벤트 수 등
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+  Operation operation(String name) {
+    return operations.computeIfAbsent(name, key -> new Operation());
+  }
+
+  void count(String name) {
+    counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+  }
+
+  long countOf(String name) {
+    LongAdder count = counters.get(name);
+    return count != null ? count.sum() : 0;
+  }
+
+  String report(double elapsedSeconds) {
+    StringBuilder report = new StringBuilder();
+    new TreeMap<>(operations).forEach((name, operation) ->
+        report.append(String.format("%n  %-28s %s", name, operation.summary(elapsedSeconds))));
+    new TreeMap<>(counters).forEach((name, count) ->
+        report.append(String.format("%n  %-28s %d", name, count.sum())));
+    return report.toString();
+  }
+
+  static final class Operation {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    // key = HTTP 응답 코드
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    void record(long startNanos, int status) {
+      latency.recordNanos(System.nanoTime() - startNanos);
+      statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void recordNanos(long nanos) {
+      latency.recordNanos(nanos);
+    }
+
+    void recordMicros(long micros) {
+      latency.recordMicros(micros);
+    }
+
+    void error() {
+      errors.increment();
+    }
+
+    private String summary(double elapsedSeconds) {
+      String summary = String.format(
+          "ops=%d, throughput=%.0f/s, p50=%.2fms, p90=%.2fms, p99=%.2fms, p99.9=%.2fms, max=%.2fms",
+          latency.count(), latency.count() / elapsedSeconds,
+          millis(latency.percentileMicros(0.50)), millis(latency.percentileMicros(0.90)),
+          millis(latency.percentileMicros(0.99)), millis(latency.percentileMicros(0.999)),
+          millis(latency.maxMicros()));
+      if (!statuses.isEmpty()) {
+        summary += ", status=" + new TreeMap<>(statuses).entrySet().stream()
+            .map(entry -> entry.getKey() + ":" + entry.getValue().sum())
+            .collect(Collectors.joining(" ", "{", "}"));
+      }
+      if (errors.sum() > 0) {
+        summary += ", errors=" + errors.sum();
+      }
+      return summary;
+    }
+
+    private static double millis(long micros) {
+      return micros / 1000.0;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.tickatch.gateway_server.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+/**
+ * 부하 테스트용 JWT 발급/검증.
+ *
+ * <p>가상 사용자마다 토큰을 새로 서명하므로 RSA 대신 HS256으로 서명하고,
+ * 내장 게이트웨이는 같은 키의 {@link ReactiveJwtDecoder}로 검증한다 (인증 서버 없이 실행).
+ */
+final class LoadTestTokens {
+
+  private static final SecretKey KEY = new SecretKeySpec(
+      "tickatch-gateway-load-test-secret-key".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+  private static final Duration TTL = Duration.ofHours(1);
+
+  private LoadTestTokens() {
+  }
+
+  static String issue(String userId) {
+    Instant now = Instant.now();
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject(userId)
+        .claim("userType", "CUSTOMER")
+        .issueTime(Date.from(now))
+        .expirationTime(Date.from(now.plus(TTL)))
+        .build();
+
+    try {
+      SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+      jwt.sign(new MACSigner(KEY));
+      return jwt.serialize();
+    } catch (JOSEException e) {
+      throw new IllegalStateException("부하 테스트 토큰 서명 실패", e);
+    }
+  }
+
+  static ReactiveJwtDecoder decoder() {
+    return NimbusReactiveJwtDecoder.withSecretKey(KEY)
+        .macAlgorithm(MacAlgorithm.HS256)
+        .build();
+  }
+}
@@ -0,0 +1,178 @@
+package com.tickatch.gateway_server.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * 대기열/예매 API를 호출하는 reactor-netty 클라이언트.
+ */
+final class QueueClient {
+
+  private static final String QUEUE_API = "/api/v1/queue";
+  private static final String RESERVATION_API = "/api/v1/reservations";
+  private static final String ADMISSION_PASS_COOKIE = "ADMISSION_PASS";
+
+  private final HttpClient http;
+  private final ConnectionProvider provider;
+
+  QueueClient(String baseUrl, int maxConnections) {
+    // SSE 연결이 오래 유지되므로 연결 수 제한까지 기다리는 요청은 제한 없이 대기
+    this.provider = ConnectionProvider.builder("loadtest")
+        .maxConnections(maxConnections)
+        .pendingAcquireMaxCount(-1)
+        .pendingAcquireTimeout(Duration.ofMinutes(5))
+        .build();
+    this.http = HttpClient.create(provider).baseUrl(baseUrl);
+  }
+
+  Mono<Reply> lineUp(String token, String productId) {
+    return send(http.headers(auth(token))
+        .post()
+        .uri(QUEUE_API + "/lineup?productId=" + productId));
+  }
+
+  Mono<Reply> status(String token, String productId, String etag) {
+    return send(http.headers(auth(token).andThen(headers -> {
+          if (etag != null) {
+            headers.set(HttpHeaderNames.IF_NONE_MATCH, etag);
+          }
+        }))
+        .get()
+        .uri(QUEUE_API + "/status?productId=" + productId));
+  }
+
+  // QueueFilter가 적용되는 예매 API (입장 허용 전이면 429, 대기열에 없으면 403)
+  Mono<Reply> reserve(String token, String productId, String admissionPass) {
+    return send(http.headers(auth(token).andThen(headers -> {
+          if (admissionPass != null) {
+            headers.set(HttpHeaderNames.COOKIE, ADMISSION_PASS_COOKIE + "=" + admissionPass);
+          }
+        }))
+        .post()
+        .uri(RESERVATION_API + "?productId=" + productId));
+  }
+
+  Mono<Reply> leave(String token, String productId) {
+    return send(http.headers(auth(token))
+        .delete()
+        .uri(QUEUE_API + "/allowed-in-token?productId=" + productId));
+  }
+
+  // 구독을 해제하면 연결을 닫음 (게이트웨이는 대기 중인 사용자를 대기열에서 제거)
+  Flux<SseEvent> stream(String token, String productId) {
+    return http.headers(auth(token))
+        .get()
+        .uri(QUEUE_API + "/stream?productId=" + productId)
+        .response((response, body) -> {
+          if (response.status().code() != 200) {
+            return Flux.<SseEvent>error(
+                new IllegalStateException("SSE 연결 실패 - status: " + response.status().code()));
+          }
+          SseParser parser = new SseParser();
+          return body.asString(StandardCharsets.UTF_8).concatMapIterable(parser::feed);
+        });
+  }
+
+  void close() {
+    provider.disposeLater().block(Duration.ofSeconds(10));
+  }
+
+  private static Consumer<HttpHeaders> auth(String token) {
+    return headers -> headers.set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token);
+  }
+
+  private static Mono<Reply> send(HttpClient.ResponseReceiver<?> request) {
+    return request.responseSingle((response, body) -> body.asString(StandardCharsets.UTF_8)
+        .defaultIfEmpty("")
+        .map(text -> new Reply(response.status().code(), response.responseHeaders(), text)));
+  }
+
+  record Reply(int status, HttpHeaders headers, String body) {
+
+    long retryAfterSeconds(long defaultSeconds) {
+      String retryAfter = headers.get(HttpHeaderNames.RETRY_AFTER);
+      try {
+        return retryAfter != null ? Long.parseLong(retryAfter) : defaultSeconds;
+      } catch (NumberFormatException e) {
+        return defaultSeconds;
+      }
+    }
+
+    String etag() {
+      return headers.get(HttpHeaderNames.ETAG);
+    }
+
+    // Set-Cookie로 발급된 입장 패스 (없으면 null)
+    String admissionPass() {
+      for (String cookie : headers.getAll(HttpHeaderNames.SET_COOKIE)) {
+        if (cookie.startsWith(ADMISSION_PASS_COOKIE + "=")) {
+          int end = cookie.indexOf(';');
+          return cookie.substring(ADMISSION_PASS_COOKIE.length() + 1, end < 0 ? cookie.length() : end);
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * SSE 이벤트 하나.
+   *
+   * @param receivedAtNanos 수신 시각 (nanoTime)
+   */
+  record SseEvent(String event, String data, long receivedAtNanos) {
+
+    // HEARTBEAT 이벤트의 서버 전송 시각 (epoch millis, 없으면 -1)
+    long heartbeatTimestamp() {
+      int start = data.indexOf("\"timestamp\":");
+      if (start < 0) {
+        return -1;
+      }
+      int from = start + "\"timestamp\":".length();
+      int to = from;
+      while (to < data.length() && Character.isDigit(data.charAt(to))) {
+        to++;
+      }
+      return to > from ? Long.parseLong(data.substring(from, to)) : -1;
+    }
+  }
+
+  // 청크 경계와 관계없이 빈 줄로 끝나는 프레임 단위로 이벤트를 나눔 (연결마다 하나)
+  // 이벤트 이름과 숫자만 사용하므로 청크 경계에서 잘린 한글 메시지는 무시
+  private static final class SseParser {
+
+    private final StringBuilder pending = new StringBuilder();
+
+    List<SseEvent> feed(String chunk) {
+      pending.append(chunk);
+      List<SseEvent> events = new ArrayList<>(1);
+      int end;
+      while ((end = pending.indexOf("\n\n")) >= 0) {
+        events.add(parse(pending.substring(0, end), System.nanoTime()));
+        pending.delete(0, end + 2);
+      }
+      return events;
+    }
+
+    private static SseEvent parse(String frame, long receivedAtNanos) {
+      String event = "message";
+      StringBuilder data = new StringBuilder();
+      for (String line : frame.split("\n")) {
+        if (line.startsWith("event:")) {
+          event = line.substring("event:".length()).trim();
+        } else if (line.startsWith("data:")) {
+          data.append(line.substring("data:".length()));
+        }
+      }
+      return new SseEvent(event, data.toString(), receivedAtNanos);
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package com.tickatch.gateway_server.loadtest;
+
+import com.tickatch.gateway_server.loadtest.QueueClient.Reply;
+import com.tickatch.gateway_server.loadtest.QueueClient.SseEvent;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 가상 사용자 시나리오.
+ *
+ * <p>대기열 등록 → 입장 대기 → 예매 요청 → (선택) 입장 토큰 반납 순으로 진행하며, 입장 대기 방식은 사용자마다 나눈다.
+ * <ul>
+ *   <li>SSE: {@code /stream}을 연결한 채 ALLOWED_IN 이벤트까지 대기</li>
+ *   <li>상태 폴링: {@code /status}를 ETag(If-None-Match)와 Retry-After에 따라 반복 조회</li>
+ *   <li>게이트 폴링: 예매 API를 바로 호출하고 429면 Retry-After 후 재시도 ({@code QueueFilter}의 대기 응답 경로)</li>
+ * </ul>
+ */
+@Slf4j
+final class VirtualUsers {
+
+  // Retry-After가 없거나 0이면 이 간격으로 재시도
+  private static final long MIN_RETRY_AFTER_SECONDS = 1;
+
+  private final QueueClient client;
+  private final LoadTestOptions options;
+  private final LoadTestStats stats;
+  // 다른 실행에서 등록한 사용자와 겹치지 않도록 userId에 붙이는 값 (로컬 Redis 사용 시)
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+  private final AtomicInteger activeUsers = new AtomicInteger();
+  private final AtomicInteger openStreams = new AtomicInteger();
+
+  VirtualUsers(QueueClient client, LoadTestOptions options, LoadTestStats stats) {
+    this.client = client;
+    this.options = options;
+    this.stats = stats;
+  }
+
+  int activeUsers() {
+    return activeUsers.get();
+  }
+
+  int openStreams() {
+    return openStreams.get();
+  }
+
+  Mono<Void> run(long index) {
+    return Mono.defer(() -> {
+      Session session = new Session("lt-" + runId + "-" + index);
+      long arrivedAt = System.nanoTime();
+      activeUsers.incrementAndGet();
+
+      return lineUp(session)
+          .flatMap(allowed -> allowed
+              ? Mono.<Void>empty()
+              : waitForAdmission(session).timeout(options.waitTimeout())
+                  .doOnSuccess(done -> stats.operation("queue.wait").recordNanos(System.nanoTime() - arrivedAt)))
+          .then(Mono.defer(() -> reserve(session)))
+          .then(Mono.defer(() -> options.leave() ? leave(session) : Mono.<Void>empty()))
+          .doOnSuccess(done -> stats.count("users.completed"))
+          .onErrorResume(TimeoutException.class, e -> {
+            stats.count("users.timed-out");
+            return Mono.empty();
+          })
+          .onErrorResume(e -> {
+            stats.count("users.failed");
+            log.debug("가상 사용자 실패 - userId: {}, 이유: {}", session.userId, e.toString());
+            return Mono.empty();
+          })
+          .doFinally(signal -> activeUsers.decrementAndGet());
+    });
+  }
+
+  // 바로 입장했으면 true
+  private Mono<Boolean> lineUp(Session session) {
+    return timed("lineup", client.lineUp(session.token, options.productId()))
+        .flatMap(reply -> reply.status() == 200
+            // "바로 입장 가능합니다." 또는 "이미 입장 가능한 상태입니다."
+            ? Mono.just(reply.body().contains("입장 가능"))
+            : Mono.error(new IllegalStateException("대기열 등록 실패 - status: " + reply.status())));
+  }
+
+  private Mono<Void> waitForAdmission(Session session) {
+    double channel = ThreadLocalRandom.current().nextDouble();
+    if (channel < options.sseRatio()) {
+      return viaStream(session);
+    }
+    return ThreadLocalRandom.current().nextDouble() < options.gatePollRatio()
+        ? viaGate(session)
+        : viaStatus(session);
+  }
+
+  private Mono<Void> viaStream(Session session) {
+    return Mono.defer(() -> {
+      long connectedAt = System.nanoTime();
+      boolean[] first = {true};
+
+      return client.stream(session.token, options.productId())
+          .doOnSubscribe(subscription -> openStreams.incrementAndGet())
+          .doFinally(signal -> openStreams.decrementAndGet())
+          .doOnNext(event -> {
+            if (first[0]) {
+              first[0] = false;
+              stats.operation("stream.first-event").recordNanos(event.receivedAtNanos() - connectedAt);
+            }
+            onStreamEvent(session, event);
+          })
+          .takeUntil(event -> "ALLOWED_IN".equals(event.event()) || "ERROR".equals(event.event()))
+          .last()
+          .flatMap(event -> "ALLOWED_IN".equals(event.event())
+              ? Mono.<Void>empty()
+              : Mono.error(new IllegalStateException("SSE 오류 이벤트 - " + event.data())));
+    });
+  }
+
+  private void onStreamEvent(Session session, SseEvent event) {
+    stats.count("sse.events." + event.event());
+    switch (event.event()) {
+      // 서버가 heartbeat를 만든 시각부터 받기까지 (같은 JVM이라 시계가 같음)
+      case "HEARTBEAT" -> {
+        long sentAt = event.heartbeatTimestamp();
+        if (sentAt > 0) {
+          stats.operation("sse.heartbeat-lag").recordMicros((System.currentTimeMillis() - sentAt) * 1000);
+        }
+      }
+      case "ALLOWED_IN" -> recordNoticeLag("sse.allowed-in-lag", session);
+      default -> {
+      }
+    }
+  }
+
+  private Mono<Void> viaStatus(Session session) {
+    return timed("status", client.status(session.token, options.productId(), session.etag))
+        .flatMap(reply -> {
+          if (reply.status() == 200 && reply.body().contains("입장 가능합니다.")) {
+            recordNoticeLag("status.allowed-in-lag", session);
+            return Mono.<Void>empty();
+          }
+          if (reply.status() == 200 || reply.status() == 304) {
+            if (reply.etag() != null) {
+              session.etag = reply.etag();
+            }
+            return retryAfter(reply).then(Mono.defer(() -> viaStatus(session)));
+          }
+          return Mono.error(new IllegalStateException("상태 조회 실패 - status: " + reply.status()));
+        });
+  }
+
+  private Mono<Void> viaGate(Session session) {
+    return timed("reservation", client.reserve(session.token, options.productId(), session.admissionPass))
+        .flatMap(reply -> {
+          if (reply.status() == 429) {
+            return retryAfter(reply).then(Mono.defer(() -> viaGate(session)));
+          }
+          if (reply.status() / 100 == 2) {
+            session.keepAdmissionPass(reply);
+            recordNoticeLag("gate.allowed-in-lag", session);
+            return Mono.<Void>empty();
+          }
+          return Mono.error(new IllegalStateException("게이트 통과 실패 - status: " + reply.status()));
+        });
+  }
+
+  // 입장 후 예매 요청 (입장 패스가 발급되면 다음 요청부터 함께 전송)
+  private Mono<Void> reserve(Session session) {
+    return Flux.range(0, options.reservations())
+        .concatMap(attempt -> timed("reservation",
+            client.reserve(session.token, options.productId(), session.admissionPass))
+            .doOnNext(session::keepAdmissionPass))
+        .then();
+  }
+
+  private Mono<Void> leave(Session session) {
+    return timed("leave", client.leave(session.token, options.productId())).then();
+  }
+
+  private Mono<Reply> timed(String operation, Mono<Reply> request) {
+    return Mono.defer(() -> {
+      long startedAt = System.nanoTime();
+      return request
+          .doOnNext(reply -> stats.operation(operation).record(startedAt, reply.status()))
+          .doOnError(e -> stats.operation(operation).error());
+    });
+  }
+
+  private static Mono<Long> retryAfter(Reply reply) {
+    long seconds = Math.max(reply.retryAfterSeconds(MIN_RETRY_AFTER_SECONDS), MIN_RETRY_AFTER_SECONDS);
+    return Mono.delay(Duration.ofSeconds(seconds));
+  }
+
+  // 입장 허용 알림 발행부터 사용자가 알게 되기까지 (대기 없이 입장했으면 기록 없음)
+  private void recordNoticeLag(String operation, Session session) {
+    long elapsedNanos = AdmissionClock.takeElapsedNanos(options.productId(), session.userId);
+    if (elapsedNanos >= 0) {
+      stats.operation(operation).recordNanos(elapsedNanos);
+    }
+  }
+
+  // 가상 사용자 한 명의 상태 (한 시나리오 안에서 순서대로만 접근)
+  private static final class Session {
+
+    private final String userId;
+    private final String token;
+    private String etag;
+    private String admissionPass;
+
+    private Session(String userId) {
+      this.userId = userId;
+      this.token = LoadTestTokens.issue(userId);
+    }
+
+    private void keepAdmissionPass(Reply reply) {
+      String issued = reply.admissionPass();
+      if (issued != null) {
+        admissionPass = issued;
+      }
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.tickatch.gateway_server.global.api;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.tickatch.gateway_server.global.util.JsonUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+/**
+ * 미리 직렬화해 둔 에러 응답 본문.
+ *
+ * <p>401/403(로그인 필요, NOT_IN_QUEUE 등) 응답은 코드와 메시지가 고정이고 path와 timestamp만 요청마다 다르다.
+ * 봇 유입이나 오픈 직후에는 이런 거절 응답이 트래픽의 대부분이므로, (상태, 코드, 메시지)별로
+ * {@link JsonUtils}로 한 번 직렬화한 결과를 path/timestamp 앞뒤로 잘라 공유하고 요청마다 두 값만 끼워 넣는다.
+ * 결과는 {@code JsonUtils.toBytes(ApiResponse.error(code, message, status, path))}와 같다.
+ *
+ * <p>메시지에 인자가 들어가는 에러는 조합 수만큼 캐시가 늘어나므로 {@link #encodeUncached}를 사용한다.
+ */
+public final class ErrorResponseBodies {
+
+  // 호출부가 상수 코드/메시지만 넘기므로 넉넉한 상한 (넘으면 캐시 없이 직렬화)
+  private static final int MAX_TEMPLATES = 256;
+  private static final String PATH_MARKER = "__error_path__";
+  private static final String TIMESTAMP_KEY = "\"timestamp\":\"";
+
+  private static final Map<Key, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+  private ErrorResponseBodies() {
+    throw new AssertionError("유틸리티 클래스는 인스턴스화할 수 없습니다.");
+  }
+
+  /**
+   * 에러 응답 본문 (코드/메시지가 고정인 에러용).
+   */
+  public static DataBuffer encode(DataBufferFactory bufferFactory, int status, String code, String message,
+      String path) {
+
+    Key key = new Key(status, code, message);
+    Template template = TEMPLATES.get(key);
+    if (template == null) {
+      if (TEMPLATES.size() >= MAX_TEMPLATES) {
+        return encodeUncached(bufferFactory, status, code, message, path);
+      }
+      template = TEMPLATES.computeIfAbsent(key, Template::of);
+    }
+    return bufferFactory.wrap(template.render(path, Instant.now()));
+  }
+
+  /**
+   * 캐시 없이 직렬화한 에러 응답 본문 (메시지에 인자가 들어가는 에러용).
+   */
+  public static DataBuffer encodeUncached(DataBufferFactory bufferFactory, int status, String code,
+      String message, String path) {
+
+    return bufferFactory.wrap(JsonUtils.toBytes(ApiResponse.error(code, message, status, path)));
+  }
+
+  private record Key(int status, String code, String message) {
+  }
+
+  /**
+   * 직렬화된 본문을 path/timestamp 값 위치에서 자른 조각 (읽기 전용으로 공유).
+   *
+   * <p>prefix + 첫 번째 값 + middle + 두 번째 값 + suffix 순서이며, 값의 순서는 Jackson 출력 순서를 따른다.
+   */
+  private record Template(byte[] prefix, byte[] middle, byte[] suffix, boolean pathFirst) {
+
+    private static Template of(Key key) {
+      String path = '"' + PATH_MARKER + '"';
+      String json = JsonUtils.toJson(ApiResponse.error(key.code(), key.message(), key.status(), PATH_MARKER));
+
+      // 코드/메시지 안의 따옴표는 \"로 이스케이프되므로 따옴표로 감싼 표식과 키는 값 위치에서만 나타남
+      int pathStart = json.indexOf(path) + 1;
+      int pathEnd = pathStart + PATH_MARKER.length();
+      int timestampStart = json.indexOf(TIMESTAMP_KEY) + TIMESTAMP_KEY.length();
+      int timestampEnd = json.indexOf('"', timestampStart);
+      if (pathStart <= 0 || timestampStart < TIMESTAMP_KEY.length()) {
+        throw new IllegalStateException("에러 응답 형식을 해석하지 못했습니다: " + json);
+      }
+
+      boolean pathFirst = pathStart < timestampStart;
+      int firstStart = pathFirst ? pathStart : timestampStart;
+      int firstEnd = pathFirst ? pathEnd : timestampEnd;
+      int secondStart = pathFirst ? timestampStart : pathStart;
+      int secondEnd = pathFirst ? timestampEnd : pathEnd;
+      return new Template(
+          bytes(json.substring(0, firstStart)),
+          bytes(json.substring(firstEnd, secondStart)),
+          bytes(json.substring(secondEnd)),
+          pathFirst);
+    }
+
+    private byte[] render(String path, Instant timestamp) {
+      byte[] pathBytes = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+      // JavaTimeModule의 Instant 직렬화와 같은 ISO-8601 형식 (ASCII)
+      byte[] timestampBytes = bytes(DateTimeFormatter.ISO_INSTANT.format(timestamp));
+      byte[] first = pathFirst ? pathBytes : timestampBytes;
+      byte[] second = pathFirst ? timestampBytes : pathBytes;
+
+      byte[] body = new byte[prefix.length + first.length + middle.length + second.length + suffix.length];
+      int offset = 0;
+      offset = append(body, offset, prefix);
+      offset = append(body, offset, first);
+      offset = append(body, offset, middle);
+      offset = append(body, offset, second);
+      append(body, offset, suffix);
+      return body;
+    }
+
+    private static int append(byte[] target, int offset, byte[] source) {
+      System.arraycopy(source, 0, target, offset, source.length);
+      return offset + source.length;
+    }
+
+    private static byte[] bytes(String value) {
+      return value.getBytes(StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -22,15 +22,23 @@ public class MonoResponseHelper {
   }
 
   /**
-   * 에러 응답 작성
+   * 에러 응답 작성 (코드/메시지별로 미리 직렬화한 본문에 path와 timestamp만 채움)
    */
-  public <T> Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status,
+  public Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status,
       String code, String message) {
 
-    String path = exchange.getRequest().getPath().value();
-    ApiResponse<T> response = ApiResponse.error(code, message, status.value(), path);
+    // 이미 응답이 커밋되었다면 처리하지 않음
+    if (exchange.getResponse().isCommitted()) {
+      return Mono.empty();
+    }
 
-    return writeResponse(exchange, status, response);
+    exchange.getResponse().setStatusCode(status);
+    exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+    String path = exchange.getRequest().getPath().value();
+    DataBuffer buffer = ErrorResponseBodies.encode(
+        exchange.getResponse().bufferFactory(), status.value(), code, message, path);
+    return exchange.getResponse().writeWith(Mono.just(buffer));
   }
 
   /**
@@ -47,8 +55,8 @@ public class MonoResponseHelper {
     exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
 
     try {
-      byte[] bytes = JsonUtils.toBytes(response);
-      DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(bytes);
+      // 중간 byte[] 없이 응답 버퍼에 바로 직렬화
+      DataBuffer buffer = JsonUtils.toDataBuffer(response, exchange.getResponse().bufferFactory());
       return exchange.getResponse().writeWith(Mono.just(buffer));
     } catch (Exception e) {
       return Mono.error(e);
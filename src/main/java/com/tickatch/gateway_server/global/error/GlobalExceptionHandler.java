@@ -2,10 +2,14 @@ package com.tickatch.gateway_server.global.error;
 
 
 import com.tickatch.gateway_server.global.api.ApiResponse;
+import com.tickatch.gateway_server.global.api.ErrorResponseBodies;
 import com.tickatch.gateway_server.global.message.MessageResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.BindException;
@@ -20,6 +24,8 @@ import reactor.core.publisher.Mono;
  * 전역 예외 핸들러.
  *
  * <p>모든 예외를 일관된 형식으로 처리하며, {@link MessageResolver}를 통해 동적 메시지를 생성한다.
+ * 응답 본문은 {@link ApiResponse} 형식이며, 메시지 인자가 없는 에러는 {@link ErrorResponseBodies}로
+ * 미리 직렬화한 본문을 재사용한다.
  *
  * <p>처리하는 예외 유형:
  * <ul>
@@ -64,7 +70,7 @@ public class GlobalExceptionHandler {
     // ========================================
 
     @ExceptionHandler(BusinessException.class)
-    public Mono<ResponseEntity<ApiResponse<Void>>> handleBusinessException(
+    public Mono<ResponseEntity<DataBuffer>> handleBusinessException(
             ServerWebExchange exchange,
             BusinessException e) {
 
@@ -74,18 +80,17 @@ public class GlobalExceptionHandler {
 
         log.warn("비즈니스 예외: {} - {} (path: {})", code, message, path);
 
-        ApiResponse<Void> response = ApiResponse.error(
-                code,
-                message,
-                e.getStatus(),
-                path
-        );
+        // 메시지 인자가 있으면 메시지가 요청마다 달라지므로 캐시하지 않음
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        DataBuffer body = e.getErrorArgs().length == 0
+                ? ErrorResponseBodies.encode(bufferFactory, e.getStatus(), code, message, path)
+                : ErrorResponseBodies.encodeUncached(bufferFactory, e.getStatus(), code, message, path);
 
-        return Mono.just(ResponseEntity.status(e.getStatus()).body(response));
+        return Mono.just(jsonResponse(e.getStatus(), body));
     }
 
     @ExceptionHandler(Exception.class)
-    public Mono<ResponseEntity<ApiResponse<Void>>> handleAllExceptions(
+    public Mono<ResponseEntity<DataBuffer>> handleAllExceptions(
             ServerWebExchange exchange,
             Exception e) {
 
@@ -95,13 +100,20 @@ public class GlobalExceptionHandler {
 
         log.error("처리되지 않은 예외 (path: {}): ", path, e);
 
-        ApiResponse<Void> response = ApiResponse.error(
+        DataBuffer body = ErrorResponseBodies.encode(
+                exchange.getResponse().bufferFactory(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 code,
                 message,
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 path
         );
 
-        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response));
+        return Mono.just(jsonResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), body));
+    }
+
+    private static ResponseEntity<DataBuffer> jsonResponse(int status, DataBuffer body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.tickatch.gateway_server.global.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 키가 고정된 HMAC-SHA256 서명/검증기.
+ *
+ * <p>{@link HmacUtil#hmacSha26}는 호출마다 {@code Mac.getInstance} + 키 초기화를 하므로,
+ * 요청마다 서명/검증하는 경로에서는 키를 한 번만 초기화한 {@code Mac}을 스레드별로 복제해 재사용한다.
+ * 서명 결과는 {@link HmacUtil}과 같은 Base64 URL-safe(패딩 없음) 형식이다.
+ */
+public final class HmacSigner {
+
+  private static final String ALG = "HmacSHA256";
+  private static final int MAC_LENGTH = 32;
+  // Base64 URL-safe, 패딩 없음
+  public static final int SIGNATURE_LENGTH = 43;
+  private static final int SCRATCH_LENGTH = 256;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private final Mac prototype;
+  private final ThreadLocal<Buffers> buffers;
+
+  public HmacSigner(String secret) {
+    try {
+      prototype = Mac.getInstance(ALG);
+      prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALG));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC 키를 초기화하지 못했습니다", e);
+    }
+    buffers = ThreadLocal.withInitial(() -> new Buffers(copyOfPrototype()));
+  }
+
+  // 원본 바이트 서명 (반환 배열은 호출자 소유)
+  public byte[] sign(byte[] data) {
+    return sign(data, 0, data.length);
+  }
+
+  public byte[] sign(byte[] data, int offset, int length) {
+    Mac mac = buffers.get().mac;
+    mac.update(data, offset, length);
+    return mac.doFinal();
+  }
+
+  public byte[] sign(ByteBuffer data) {
+    Mac mac = buffers.get().mac;
+    mac.update(data);
+    return mac.doFinal();
+  }
+
+  // HmacUtil.hmacSha26과 같은 형식의 서명 문자열
+  public String sign(String data) {
+    Buffers buffer = buffers.get();
+    encode(buffer, data);
+    return new String(buffer.encoded, StandardCharsets.US_ASCII);
+  }
+
+  // 서명 바이트를 상수 시간으로 비교
+  public boolean verify(byte[] data, byte[] signature) {
+    return verify(data, 0, data.length, signature);
+  }
+
+  public boolean verify(byte[] data, int offset, int length, byte[] signature) {
+    Buffers buffer = buffers.get();
+    buffer.mac.update(data, offset, length);
+    doFinal(buffer);
+    return MessageDigest.isEqual(buffer.raw, signature);
+  }
+
+  public boolean verify(ByteBuffer data, byte[] signature) {
+    Buffers buffer = buffers.get();
+    buffer.mac.update(data);
+    doFinal(buffer);
+    return MessageDigest.isEqual(buffer.raw, signature);
+  }
+
+  // 서명 문자열(Base64 URL-safe)을 디코딩/복사 없이 상수 시간으로 비교
+  public boolean verify(String data, CharSequence signature) {
+    Buffers buffer = buffers.get();
+    encode(buffer, data);
+    return constantTimeEquals(buffer.encoded, signature);
+  }
+
+  private Mac copyOfPrototype() {
+    try {
+      return (Mac) prototype.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("HMAC 인스턴스를 복제하지 못했습니다", e);
+    }
+  }
+
+  private static void encode(Buffers buffer, String data) {
+    update(buffer, data);
+    doFinal(buffer);
+    ENCODER.encode(buffer.raw, buffer.encoded);
+  }
+
+  // ASCII 문자열은 스레드별 버퍼에 옮겨 담아 getBytes 할당 없이 입력 (그 외에는 UTF-8로 변환)
+  private static void update(Buffers buffer, String data) {
+    byte[] scratch = buffer.scratch;
+    int length = data.length();
+    for (int start = 0; start < length; start += scratch.length) {
+      int end = Math.min(length, start + scratch.length);
+      for (int i = start; i < end; i++) {
+        char c = data.charAt(i);
+        if (c > 0x7F) {
+          // 지금까지 입력한 ASCII 부분은 유지하고 나머지만 UTF-8로 변환
+          buffer.mac.update(scratch, 0, i - start);
+          buffer.mac.update(data.substring(i).getBytes(StandardCharsets.UTF_8));
+          return;
+        }
+        scratch[i - start] = (byte) c;
+      }
+      buffer.mac.update(scratch, 0, end - start);
+    }
+  }
+
+  private static void doFinal(Buffers buffer) {
+    try {
+      buffer.mac.doFinal(buffer.raw, 0);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC 계산에 실패했습니다", e);
+    }
+  }
+
+  private static boolean constantTimeEquals(byte[] expected, CharSequence actual) {
+    if (actual == null || actual.length() != expected.length) {
+      return false;
+    }
+    int diff = 0;
+    for (int i = 0; i < expected.length; i++) {
+      diff |= expected[i] ^ actual.charAt(i);
+    }
+    return diff == 0;
+  }
+
+  // 스레드별 Mac과 결과 버퍼 (서명/검증마다 새로 할당하지 않도록)
+  private static final class Buffers {
+
+    private final Mac mac;
+    private final byte[] raw = new byte[MAC_LENGTH];
+    private final byte[] encoded = new byte[SIGNATURE_LENGTH];
+    private final byte[] scratch = new byte[SCRATCH_LENGTH];
+
+    private Buffers(Mac mac) {
+      this.mac = mac;
+    }
+  }
+}
@@ -6,17 +6,29 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 
 /**
  * JSON 유틸리티.
  *
- * <p>Jackson ObjectMapper를 사용한 JSON 직렬화/역직렬화
+ * <p>Jackson ObjectMapper를 사용한 JSON 직렬화/역직렬화.
+ * 컨트롤러 응답은 WebFlux 기본 코덱(Jackson 3)이 직렬화하며, {@code spring.jackson.default-property-inclusion=non_null}로
+ * 이 ObjectMapper와 같이 null 필드를 생략해 게이트웨이가 직접 쓰는 응답(필터, 인증 실패, SSE)과 JSON 형식을 맞춘다.
+ *
+ * <p>직렬화는 타입별로 루트 serializer를 미리 찾아 둔 {@link ObjectWriter}를 재사용하고,
+ * 응답 본문은 {@link #toDataBuffer}로 중간 byte[] 없이 응답 버퍼에 바로 쓴다.
  *
  * @author Tickatch
  * @since 0.0.1
@@ -25,6 +37,11 @@ import lombok.extern.slf4j.Slf4j;
 public final class JsonUtils {
 
     private static final ObjectMapper OBJECT_MAPPER;
+    // 응답 본문 크기(대부분 수백 바이트)에 맞춘 초기 버퍼 크기 (넘으면 버퍼가 늘어남)
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+
+    // key = 직렬화 대상 클래스 (ApiResponse, QueueStatusResponse, SSE 이벤트 등 몇 개뿐)
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
 
     static {
         OBJECT_MAPPER = new ObjectMapper();
@@ -76,13 +93,44 @@ public final class JsonUtils {
 
     public static byte[] toBytes(Object object) {
         try {
-            return OBJECT_MAPPER.writeValueAsBytes(object);
+            return writerFor(object).writeValueAsBytes(object);
         } catch (JsonProcessingException e) {
             log.error("객체를 bytes로 변환 실패: {}", object, e);
             throw new JsonConversionException("JSON 직렬화에 실패했습니다.", e);
         }
     }
 
+    /**
+     * 응답 버퍼에 바로 직렬화 (Netty면 풀링된 버퍼, 중간 byte[] 없음).
+     */
+    public static DataBuffer toDataBuffer(Object object, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_BUFFER_CAPACITY);
+        try {
+            writeTo(object, buffer.asOutputStream());
+            return buffer;
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    public static void writeTo(Object object, OutputStream out) {
+        try {
+            writerFor(object).writeValue(out, object);
+        } catch (IOException e) {
+            log.error("객체를 JSON으로 쓰기 실패: {}", object, e);
+            throw new JsonConversionException("JSON 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    // 제네릭 타입(ApiResponse<T>)도 런타임 클래스 기준으로 캐시 (data 필드는 값의 타입으로 직렬화됨)
+    private static ObjectWriter writerFor(Object object) {
+        if (object == null) {
+            return OBJECT_MAPPER.writer();
+        }
+        return WRITERS.computeIfAbsent(object.getClass(), OBJECT_MAPPER::writerFor);
+    }
+
     // ========================================
     // JSON → Object 변환
     // ========================================
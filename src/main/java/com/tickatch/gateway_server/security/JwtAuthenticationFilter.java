@@ -14,6 +14,7 @@ public class JwtAuthenticationFilter implements WebFilter {
 
   private static final String HEADER_USER_ID = "X-User-Id";
   private static final String HEADER_USER_TYPE = "X-User-Type";
+  private static final String HEADER_QUEUE_ID = "X-Queue-Id";
   private static final String CLAIM_USER_TYPE = "userType";
   private static final String JWT_FILTER_APPLIED = "JWT_FILTER_APPLIED";
 
@@ -70,6 +71,7 @@ public class JwtAuthenticationFilter implements WebFilter {
         .headers(headers -> {
           headers.remove(HEADER_USER_ID);
           headers.remove(HEADER_USER_TYPE);
+          headers.remove(HEADER_QUEUE_ID);
         })
         .build();
 
@@ -0,0 +1,153 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.AllowedInNotificationEvent;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueEvent;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+
+/**
+ * 최신 이벤트 하나만 보관하는 사용자별 SSE 이벤트 싱크.
+ *
+ * <p>대기 순번은 마지막 값만 의미가 있으므로, 클라이언트가 느려 아직 전송하지 못한 STATUS_UPDATE는
+ * 새 STATUS_UPDATE로 덮어쓴다(버퍼 없이 슬롯 하나). ALLOWED_IN은 덮어쓰지 않으며,
+ * ALLOWED_IN을 받으면 이후 이벤트는 무시하고 ALLOWED_IN 전송 후 완료한다.
+ * 구독 전에 받은 이벤트도 슬롯에 남아 있다가 구독 시 전달된다.
+ *
+ * <p>구독자는 하나만 허용한다. 연결당 힙 사용량은 이 객체(약 56바이트, 필드 updater 사용)와
+ * 전송 대기 중인 이벤트 최대 1개(QueueStatusChangeEvent + QueueStatusResponse 약 70바이트)로,
+ * 클라이언트 속도와 관계없이 일정하다.
+ */
+final class ConflatingEventSink implements Publisher<QueueEvent>, Subscription {
+
+  // 전송 대기 중인 이벤트 (없으면 null)
+  private volatile QueueEvent pending;
+  private static final AtomicReferenceFieldUpdater<ConflatingEventSink, QueueEvent> PENDING =
+      AtomicReferenceFieldUpdater.newUpdater(ConflatingEventSink.class, QueueEvent.class, "pending");
+
+  private volatile long requested;
+  private static final AtomicLongFieldUpdater<ConflatingEventSink> REQUESTED =
+      AtomicLongFieldUpdater.newUpdater(ConflatingEventSink.class, "requested");
+
+  // drain 동시 실행 방지 (work-in-progress)
+  private volatile int wip;
+  private static final AtomicIntegerFieldUpdater<ConflatingEventSink> WIP =
+      AtomicIntegerFieldUpdater.newUpdater(ConflatingEventSink.class, "wip");
+
+  private volatile Subscriber<? super QueueEvent> actual;
+  // 남은 이벤트 전송 후 완료
+  private volatile boolean done;
+  private volatile boolean cancelled;
+
+  // 마지막으로 알린 대기 순번과 시각 (순번 알림 스케줄러만 사용, -1이면 아직 알리지 않음)
+  long lastPushedPosition = -1;
+  long lastPushedAt;
+
+  Flux<QueueEvent> asFlux() {
+    return Flux.from(this);
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super QueueEvent> subscriber) {
+    synchronized (this) {
+      if (actual != null) {
+        Operators.error(subscriber, new IllegalStateException("ConflatingEventSink는 구독자를 하나만 허용합니다"));
+        return;
+      }
+      actual = subscriber;
+    }
+    subscriber.onSubscribe(this);
+    drain();
+  }
+
+  // 대기 순번 변경: 전송하지 못한 이전 상태는 덮어씀 (ALLOWED_IN 이후에는 무시)
+  boolean emitStatus(QueueEvent event) {
+    for (;;) {
+      QueueEvent current = pending;
+      if (done || current instanceof AllowedInNotificationEvent) {
+        return false;
+      }
+      if (PENDING.compareAndSet(this, current, event)) {
+        drain();
+        return true;
+      }
+    }
+  }
+
+  // 입장 허용: 덮어쓰이지 않고, 전송 후 스트림 완료
+  boolean emitAllowedIn(AllowedInNotificationEvent event) {
+    if (done) {
+      return false;
+    }
+    PENDING.set(this, event);
+    done = true;
+    drain();
+    return true;
+  }
+
+  // 대기 중인 이벤트를 전송한 뒤 완료
+  void complete() {
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void request(long n) {
+    if (Operators.validate(n)) {
+      Operators.addCap(REQUESTED, this, n);
+      drain();
+    }
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    if (WIP.getAndIncrement(this) == 0) {
+      PENDING.lazySet(this, null);
+    }
+  }
+
+  private void drain() {
+    if (WIP.getAndIncrement(this) != 0) {
+      return;
+    }
+
+    int missed = 1;
+    for (;;) {
+      Subscriber<? super QueueEvent> subscriber = actual;
+      if (cancelled) {
+        PENDING.lazySet(this, null);
+        return;
+      }
+
+      if (subscriber != null) {
+        // done을 먼저 읽어야 완료 직전에 들어온 이벤트를 놓치지 않음
+        boolean finished = done;
+        if (requested != 0) {
+          QueueEvent event = PENDING.getAndSet(this, null);
+          if (event != null) {
+            subscriber.onNext(event);
+            if (requested != Long.MAX_VALUE) {
+              REQUESTED.decrementAndGet(this);
+            }
+          }
+        }
+        if (finished && pending == null) {
+          cancelled = true;
+          subscriber.onComplete();
+          return;
+        }
+      }
+
+      missed = WIP.addAndGet(this, -missed);
+      if (missed == 0) {
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueErrorCode;
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueCatalog;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청의 공연(상품) ID를 대기열 ID로 변환.
+ *
+ * <p>대기열은 공연(상품) ID 단위로 분리되며, ID가 지정되지 않은 요청은 기본 대기열을 사용한다.
+ * 대기열 ID는 Redis 키의 일부가 되므로 허용된 문자만 사용할 수 있고,
+ * 클라이언트가 임의의 ID로 빈 대기열을 만들어 바로 입장하거나 대기열별 상태를 늘리지 못하도록
+ * 서버에 등록된 대기열({@link QueueCatalog})만 허용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueueIds {
+
+  public static final String DEFAULT_QUEUE_ID = "default";
+
+  private static final Pattern QUEUE_ID_PATTERN = Pattern.compile("^[a-z0-9_-]{1,64}$");
+
+  private final QueueCatalog queueCatalog;
+
+  public String resolve(String productId) {
+    if (productId == null || productId.isBlank()) {
+      return DEFAULT_QUEUE_ID;
+    }
+
+    String queueId = productId.trim().toLowerCase();
+    if (!QUEUE_ID_PATTERN.matcher(queueId).matches()) {
+      throw new QueueException(QueueErrorCode.INVALID_QUEUE_ID);
+    }
+    if (!queueCatalog.contains(queueId)) {
+      throw new QueueException(QueueErrorCode.QUEUE_NOT_FOUND);
+    }
+    return queueId;
+  }
+
+  public boolean isRegistered(String queueId) {
+    return queueCatalog.contains(queueId);
+  }
+}
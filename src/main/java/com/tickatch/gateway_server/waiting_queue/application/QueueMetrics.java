@@ -0,0 +1,187 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveExpiredUsersResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * 대기열 메트릭.
+ *
+ * <p>입장 처리 스케줄러가 실행될 때마다 대기자가 있는데도 비어 있던 입장 슬롯 수를 기록한다.
+ * {@code queue.admission.unused.slots}의 평균(sum / count)이 입장 처리 지연으로 낭비된 평균 슬롯 수가 된다.
+ *
+ * <p>대기열별 대기 인원과 입장 허용 인원({@code queue.waiting.users}, {@code queue.allowed.users})은 입장 처리 결과로 갱신하며,
+ * 모든 노드가 같은 값을 보고하므로 노드 간 합계가 아니라 최댓값으로 본다.
+ * 대기 시간({@code queue.wait.duration})은 대기열 등록을 처리한 노드가 입장 허용 알림을 받았을 때 기록한다
+ * (바로 입장한 사용자는 제외).
+ */
+@Component
+public class QueueMetrics {
+
+  // 대기 시간을 재기 위해 보관하는 대기 시작 시각의 최대 개수 (넘으면 새 등록은 기록하지 않음)
+  private static final int MAX_TRACKED_ENQUEUES = 500_000;
+  // 이 시간 동안 입장하지 못한 사용자의 대기 시작 시각은 버림
+  private static final long ENQUEUE_RETENTION_MILLIS = Duration.ofHours(1).toMillis();
+
+  private final MeterRegistry registry;
+  private final QueueProgressTracker progressTracker;
+
+  private final DistributionSummary unusedAdmissionSlots;
+  private final Counter admittedUsers;
+  private final Counter expiredUsers;
+  private final Timer waitDuration;
+  private final AtomicLong lastUnusedAdmissionSlots = new AtomicLong();
+
+  // key = 대기열 ID
+  private final Map<String, QueueSizes> queueSizes = new ConcurrentHashMap<>();
+  // key = 등록 결과 (ALLOWED, QUEUED, ALREADY_ALLOWED)
+  private final Map<String, Counter> lineupOutcomes = new ConcurrentHashMap<>();
+  // key = Lua 스크립트 이름
+  private final Map<String, Timer> scriptTimers = new ConcurrentHashMap<>();
+  // key = SSE 이벤트 이름
+  private final Map<String, Counter> emitFailures = new ConcurrentHashMap<>();
+  // key = 대기열 ID + ":" + userId, value = 대기열 등록 시각 (epoch millis)
+  private final Map<String, Long> enqueuedAt = new ConcurrentHashMap<>();
+
+  public QueueMetrics(MeterRegistry registry, QueueProgressTracker progressTracker) {
+    this.registry = registry;
+    this.progressTracker = progressTracker;
+    this.unusedAdmissionSlots = DistributionSummary.builder("queue.admission.unused.slots")
+        .description("대기자가 있는 상태에서 입장 처리 시점에 비어 있던 입장 슬롯 수")
+        .register(registry);
+    this.admittedUsers = Counter.builder("queue.admission.admitted")
+        .description("입장 처리 스케줄러가 입장 허용한 사용자 수")
+        .register(registry);
+    this.expiredUsers = Counter.builder("queue.admission.expired")
+        .description("입장 허용 시간이 지나 입장 권한이 회수된 사용자 수")
+        .register(registry);
+    this.waitDuration = Timer.builder("queue.wait.duration")
+        .description("대기열 등록부터 입장 허용 알림까지 걸린 시간")
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofSeconds(1))
+        .maximumExpectedValue(Duration.ofHours(1))
+        .register(registry);
+    Gauge.builder("queue.admission.unused.slots.last", lastUnusedAdmissionSlots, AtomicLong::get)
+        .description("마지막 입장 처리 시점에 비어 있던 입장 슬롯 수")
+        .register(registry);
+    Gauge.builder("queue.wait.tracked", enqueuedAt, Map::size)
+        .description("대기 시간 측정을 위해 대기 시작 시각을 보관 중인 사용자 수")
+        .register(registry);
+  }
+
+  public void recordAdmission(String queueId, RemoveExpiredUsersResult result) {
+    long unusedSlots = result.hadWaitingUsers() ? result.freeSlots() : 0;
+
+    unusedAdmissionSlots.record(unusedSlots);
+    lastUnusedAdmissionSlots.set(unusedSlots);
+    admittedUsers.increment(result.userIds().size());
+    expiredUsers.increment(result.expiredCount());
+
+    QueueSizes sizes = queueSizes.computeIfAbsent(queueId, this::registerQueueSizes);
+    sizes.waiting.set(result.waitingCount());
+    sizes.allowed.set(result.allowedCount());
+  }
+
+  // 대기열 등록 결과 (status: lineup.lua의 반환 값)
+  public void recordLineup(String queueId, String userId, String status) {
+    lineupOutcomes.computeIfAbsent(status, outcome -> Counter.builder("queue.lineup")
+            .description("대기열 등록 결과별 요청 수")
+            .tag("outcome", outcome)
+            .register(registry))
+        .increment();
+
+    if ("QUEUED".equals(status) && enqueuedAt.size() < MAX_TRACKED_ENQUEUES) {
+      enqueuedAt.put(key(queueId, userId), System.currentTimeMillis());
+    }
+  }
+
+  // 입장 허용 알림 수신 (대기열 등록을 이 노드에서 처리한 사용자만 기록됨)
+  public void recordAllowedIn(String queueId, String userId) {
+    if (enqueuedAt.isEmpty()) {
+      return;
+    }
+    Long enqueued = enqueuedAt.remove(key(queueId, userId));
+    if (enqueued != null) {
+      waitDuration.record(System.currentTimeMillis() - enqueued, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  // 대기 중인 사용자가 대기열을 떠남
+  public void recordLeft(String queueId, String userId) {
+    enqueuedAt.remove(key(queueId, userId));
+  }
+
+  // Lua 스크립트 실행 시간 (구독부터 완료/취소까지)
+  public <T> Flux<T> timeScript(String script, Flux<T> execution) {
+    Timer timer = scriptTimers.computeIfAbsent(script, name -> Timer.builder("queue.redis.script")
+        .description("대기열 Lua 스크립트 실행 시간")
+        .tag("script", name)
+        .publishPercentileHistogram()
+        .register(registry));
+
+    return Flux.defer(() -> {
+      long startedAt = System.nanoTime();
+      return execution.doFinally(signalType -> timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+    });
+  }
+
+  // SSE 이벤트를 연결에 전달하지 못함 (event: STATUS_UPDATE, ALLOWED_IN)
+  public void recordEmitFailure(String event) {
+    emitFailures.computeIfAbsent(event, name -> Counter.builder("queue.sse.emit.failures")
+            .description("SSE 이벤트를 연결에 전달하지 못한 횟수")
+            .tag("event", name)
+            .register(registry))
+        .increment();
+  }
+
+  public void registerSseSubscribers(QueueStatusNotifier notifier) {
+    Gauge.builder("queue.sse.subscribers", notifier, QueueStatusNotifier::getActiveSubscribers)
+        .description("이 노드에 연결된 SSE 구독자 수")
+        .register(registry);
+  }
+
+  // 입장하지 못하고 오래 남은 대기 시작 시각 정리 (이탈 알림 없이 연결을 끊은 사용자)
+  @Scheduled(fixedDelay = 60000)
+  public void purgeStaleEnqueues() {
+    long staleBefore = System.currentTimeMillis() - ENQUEUE_RETENTION_MILLIS;
+    enqueuedAt.values().removeIf(enqueued -> enqueued < staleBefore);
+  }
+
+  private QueueSizes registerQueueSizes(String queueId) {
+    QueueSizes sizes = new QueueSizes();
+    Gauge.builder("queue.waiting.users", sizes.waiting, AtomicLong::get)
+        .description("대기열의 대기 인원 (마지막 입장 처리 기준)")
+        .tag("queue", queueId)
+        .register(registry);
+    Gauge.builder("queue.allowed.users", sizes.allowed, AtomicLong::get)
+        .description("대기열의 입장 허용 인원 (마지막 입장 처리 기준)")
+        .tag("queue", queueId)
+        .register(registry);
+    Gauge.builder("queue.admission.rate", progressTracker, tracker -> tracker.admissionRate(queueId))
+        .description("최근 초당 입장 인원 (지수 이동 평균)")
+        .tag("queue", queueId)
+        .register(registry);
+    return sizes;
+  }
+
+  private static String key(String queueId, String userId) {
+    return queueId + ":" + userId;
+  }
+
+  private static final class QueueSizes {
+
+    private final AtomicLong waiting = new AtomicLong();
+    private final AtomicLong allowed = new AtomicLong();
+  }
+}
@@ -0,0 +1,111 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.global.util.HmacSigner;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대기 순번 폴링 부하를 줄이기 위한 응답 힌트 (ETag, Retry-After).
+ *
+ * <p>ETag는 {@code W/"노드ID+대기열 해시-진행 버전-시간 구간-모드-대기 순번.서명"} 형식이다. 이 노드에서 대기열 진행 버전({@link QueueProgressTracker})이
+ * 그대로이고 같은 시간 구간(maxAgeMillis) 안이면 대기 순번이 바뀌지 않았다고 보고 Redis 조회 없이 304로 응답한다.
+ * 진행 버전은 노드별 값이므로 노드ID가 다르면 항상 새로 조회하며, 다른 노드에서만 알 수 있는 변경(대기자 이탈 등)은
+ * 시간 구간이 바뀔 때 반영된다. ETag에 담긴 대기 순번은 304 응답의 Retry-After 계산에만 사용한다.
+ *
+ * <p>서명은 노드별 임의 키로 만든 (userId + 나머지 ETag)의 HMAC이므로, 클라이언트가 대기 순번을 바꾸거나
+ * 다른 사용자의 ETag를 보내 짧은 Retry-After를 받을 수 없다. 서명이 맞지 않거나 형식이 다르면 304 없이 새로 조회한다.
+ *
+ * <p>Retry-After는 예상 대기 시간의 1/4(입장 속도를 모르면 100명당 1초)을 minSeconds ~ maxSeconds로 제한한 값으로,
+ * 대기열 뒤쪽일수록 폴링 간격이 길어진다.
+ */
+@Component
+public class QueuePollingHints {
+
+  // 예상 대기 시간 동안 폴링할 횟수
+  private static final int POLLS_PER_WAIT = 4;
+  // 입장 속도를 모를 때 순번 몇 명당 1초를 기다릴지
+  private static final int POSITIONS_PER_SECOND = 100;
+  // long 범위를 넘지 않는 대기 순번 자릿수
+  private static final int MAX_POSITION_DIGITS = 18;
+
+  private final QueueProgressTracker progressTracker;
+  private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+  // ETag는 발급한 노드에서만 유효하므로 노드별 임의 키로 서명
+  private final HmacSigner signer = new HmacSigner(UUID.randomUUID().toString());
+  private final long maxAgeMillis;
+  private final long minRetryAfterSeconds;
+  private final long maxRetryAfterSeconds;
+
+  public QueuePollingHints(
+      QueueProgressTracker progressTracker,
+      @Value("${queue.polling.etag-max-age-millis:10000}") long maxAgeMillis,
+      @Value("${queue.polling.min-retry-after-seconds:1}") long minRetryAfterSeconds,
+      @Value("${queue.polling.max-retry-after-seconds:30}") long maxRetryAfterSeconds
+  ) {
+    this.progressTracker = progressTracker;
+    this.maxAgeMillis = maxAgeMillis;
+    this.minRetryAfterSeconds = minRetryAfterSeconds;
+    this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+  }
+
+  public String etag(String queueId, String userId, boolean exact, long position, long now) {
+    String tag = "W/\"" + tagPrefix(queueId, exact, now) + position;
+    return tag + "." + signer.sign(userId + ":" + tag) + "\"";
+  }
+
+  // 요청의 If-None-Match 중 이 사용자에게 발급되어 지금도 유효한 ETag (없으면 null)
+  public String findNotModified(String queueId, String userId, boolean exact, List<String> ifNoneMatch, long now) {
+    if (maxAgeMillis <= 0 || ifNoneMatch.isEmpty()) {
+      return null;
+    }
+
+    String prefix = "W/\"" + tagPrefix(queueId, exact, now);
+    for (String etag : ifNoneMatch) {
+      if (!etag.startsWith(prefix) || !etag.endsWith("\"")) {
+        continue;
+      }
+      int signatureStart = etag.lastIndexOf('.');
+      if (signatureStart > prefix.length() && isPosition(etag, prefix.length(), signatureStart)
+          && signer.verify(userId + ":" + etag.substring(0, signatureStart),
+          etag.subSequence(signatureStart + 1, etag.length() - 1))) {
+        return etag;
+      }
+    }
+    return null;
+  }
+
+  // findNotModified로 찾은 ETag에 담긴 대기 순번
+  public long positionOf(String etag) {
+    int signatureStart = etag.lastIndexOf('.');
+    return Long.parseLong(etag.substring(etag.lastIndexOf('-', signatureStart) + 1, signatureStart));
+  }
+
+  public long retryAfterSeconds(String queueId, long position) {
+    double rate = progressTracker.admissionRate(queueId);
+    double seconds = rate > 0
+        ? position / rate / POLLS_PER_WAIT
+        : (double) position / POSITIONS_PER_SECOND;
+    return Math.max(minRetryAfterSeconds, Math.min(maxRetryAfterSeconds, (long) Math.ceil(seconds)));
+  }
+
+  private String tagPrefix(String queueId, boolean exact, long now) {
+    long window = maxAgeMillis > 0 ? now / maxAgeMillis : now;
+    return nodeId + Integer.toHexString(queueId.hashCode()) + "-" + progressTracker.version(queueId) + "-" + window
+        + "-" + (exact ? "x" : "e") + "-";
+  }
+
+  private static boolean isPosition(String etag, int start, int end) {
+    if (end - start > MAX_POSITION_DIGITS) {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      char c = etag.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,113 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드별 대기열 진행 상황과 입장 속도.
+ *
+ * <p>입장 허용 알림은 모든 노드에 전달되므로({@code queue:allowed-in}), 각 노드는 이를 받을 때마다 대기열의 진행 버전을 올린다.
+ * 대기열 앞쪽이 움직였는지(입장/만료/퇴장으로 다음 대기자가 입장했는지) Redis를 조회하지 않고 알 수 있다.
+ * 대기 중인 사용자의 이탈처럼 이 노드에서만 알 수 있는 변경도 반영한다.
+ *
+ * <p>같은 알림으로 입장 인원을 세어 sampleIntervalMillis마다 초당 입장 인원의 지수 이동 평균(EWMA, 시간 상수 rateWindowSeconds)을
+ * 갱신하고, 대기 순번과 함께 예상 대기 시간(순번 / 입장 속도)을 계산한다. 모든 노드가 같은 알림을 받으므로 노드 간 값이 거의 같다.
+ */
+@Component
+public class QueueProgressTracker {
+
+  // 이보다 느리면 예상 대기 시간을 알 수 없는 것으로 봄 (초당 입장 인원)
+  private static final double MIN_RATE = 0.001;
+
+  private final double rateWindowSeconds;
+
+  // key = 대기열 ID
+  private final Map<String, Progress> progresses = new ConcurrentHashMap<>();
+
+  public QueueProgressTracker(@Value("${queue.eta.rate-window-seconds:60}") double rateWindowSeconds) {
+    this.rateWindowSeconds = rateWindowSeconds;
+  }
+
+  // 대기자가 입장함 (입장 허용 알림 수신)
+  public void onAdmitted(String queueId, int count) {
+    if (count > 0) {
+      Progress progress = progressOf(queueId);
+      progress.admitted.add(count);
+      progress.version.incrementAndGet();
+    }
+  }
+
+  // 대기 중인 사용자가 대기열을 떠남
+  public void onLeft(String queueId) {
+    progressOf(queueId).version.incrementAndGet();
+  }
+
+  // 진행이 있을 때마다 증가하는 값 (이 노드 기준)
+  public long version(String queueId) {
+    Progress progress = progresses.get(queueId);
+    return progress == null ? 0 : progress.version.get();
+  }
+
+  // 최근 초당 입장 인원 (관측된 입장이 없으면 0)
+  public double admissionRate(String queueId) {
+    Progress progress = progresses.get(queueId);
+    return progress == null ? 0 : progress.rate;
+  }
+
+  // 대기 순번에 입장 속도와 예상 대기 시간을 더함
+  public QueueStatusResponse withEstimate(String queueId, QueueStatusResponse status) {
+    double rate = admissionRate(queueId);
+    if (rate < MIN_RATE || status.userQueuePosition() == null) {
+      return status;
+    }
+
+    long waitSeconds = (long) Math.ceil(status.userQueuePosition() / rate);
+    return status.withEstimate(Math.round(rate * 100) / 100.0, waitSeconds);
+  }
+
+  /**
+   * 입장 속도 갱신 (sampleIntervalMillis마다)
+   *
+   * 지난 샘플 이후 입장 인원으로 구한 순간 속도를 경과 시간에 비례한 가중치(1 - e^(-dt / rateWindowSeconds))로 반영한다.
+   */
+  @Scheduled(fixedRateString = "${queue.eta.sample-interval-millis:1000}")
+  public void sampleAdmissionRates() {
+    long now = System.currentTimeMillis();
+    progresses.values().forEach(progress -> progress.sample(now, rateWindowSeconds));
+  }
+
+  private Progress progressOf(String queueId) {
+    return progresses.computeIfAbsent(queueId, id -> new Progress(System.currentTimeMillis()));
+  }
+
+  private static final class Progress {
+
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder admitted = new LongAdder();
+    private volatile double rate;
+    private long lastSampledAt;
+
+    private Progress(long createdAt) {
+      this.lastSampledAt = createdAt;
+    }
+
+    // 스케줄러 스레드에서만 호출
+    private void sample(long now, double windowSeconds) {
+      double elapsedSeconds = (now - lastSampledAt) / 1000.0;
+      if (elapsedSeconds <= 0) {
+        return;
+      }
+
+      double instantRate = admitted.sumThenReset() / elapsedSeconds;
+      double weight = 1 - Math.exp(-elapsedSeconds / windowSeconds);
+      rate += weight * (instantRate - rate);
+      lastSampledAt = now;
+    }
+  }
+}
@@ -3,60 +3,115 @@ package com.tickatch.gateway_server.waiting_queue.application;
 import com.tickatch.gateway_server.waiting_queue.application.dto.AllowedInNotificationEvent;
 import com.tickatch.gateway_server.waiting_queue.application.dto.QueueEvent;
 import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusChangeEvent;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
-import reactor.core.publisher.Sinks.Many;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class QueueStatusNotifier {
 
-  private final Map<String, Many<QueueEvent>> userSinks = new ConcurrentHashMap<>();
+  private final QueueMetrics queueMetrics;
+
+  // key = 대기열 ID + ":" + userId (대기열 ID에는 ':'가 포함되지 않음)
+  // 느린 클라이언트에 이벤트가 쌓이지 않도록 최신 상태 하나만 보관하는 싱크 사용 (ALLOWED_IN은 덮어쓰지 않음)
+  private final Map<String, ConflatingEventSink> userSinks = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  void registerMetrics() {
+    queueMetrics.registerSseSubscribers(this);
+  }
 
   // 특정 사용자의 대기열 상태 변경 이벤트를 구독
-  public Flux<QueueEvent> subscribe(String userId) {
-    log.info("사용자 구독 시작 - userID: {}", userId);
+  public Flux<QueueEvent> subscribe(String queueId, String userId) {
+    log.info("사용자 구독 시작 - queueId: {}, userID: {}", queueId, userId);
 
-    Many<QueueEvent> sink = Sinks.many().multicast().onBackpressureBuffer();
-    userSinks.put(userId, sink);
+    String sinkKey = sinkKey(queueId, userId);
+    ConflatingEventSink sink = new ConflatingEventSink();
+    userSinks.put(sinkKey, sink);
 
     return sink.asFlux()
         .doFinally(signalType -> {
-          log.info("사용자 구독 종료 - userId: {}, signal: {}", userId, signalType);
-          userSinks.remove(userId);
+          log.info("사용자 구독 종료 - queueId: {}, userId: {}, signal: {}", queueId, userId, signalType);
+          userSinks.remove(sinkKey, sink);
         });
   }
 
   // 구독 해제
-  public void unsubscribe(String userId) {
-    Many<QueueEvent> sink = userSinks.remove(userId);
+  public void unsubscribe(String queueId, String userId) {
+    ConflatingEventSink sink = userSinks.remove(sinkKey(queueId, userId));
     if (sink != null) {
-      sink.tryEmitComplete();
+      sink.complete();
     }
   }
 
   // 특정 사용자에게 대기열 상태 변경 알림
-  public void notifyStatusChange(String userId, QueueStatusChangeEvent event) {
-    Many<QueueEvent> sink = userSinks.get(userId);
-    if (sink != null) {
-      Sinks.EmitResult result = sink.tryEmitNext(event);
-      if (result.isFailure()) {
-        log.warn("이벤트 전송 실패 - userId: {}, result: {}", userId, result);
+  public void notifyStatusChange(String queueId, String userId, QueueStatusChangeEvent event) {
+    ConflatingEventSink sink = userSinks.get(sinkKey(queueId, userId));
+    if (sink != null && !sink.emitStatus(event)) {
+      queueMetrics.recordEmitFailure("STATUS_UPDATE");
+      log.debug("입장 허용 또는 구독 종료 이후의 상태 변경 무시 - userId: {}", userId);
+    }
+  }
+
+  // 전송 기준을 넘게 순번이 바뀌었거나 오래 알리지 않은 경우에만 순번 알림 (전송 여부 반환)
+  public boolean notifyStatusIfChanged(String queueId, String userId, QueueStatusResponse status,
+      StatusPushPolicy policy, long now) {
+    ConflatingEventSink sink = userSinks.get(sinkKey(queueId, userId));
+    if (sink == null || status.userQueuePosition() == null) {
+      return false;
+    }
+
+    long position = status.userQueuePosition();
+    if (!policy.shouldPush(sink.lastPushedPosition, sink.lastPushedAt, position, now)) {
+      return false;
+    }
+    if (!sink.emitStatus(new QueueStatusChangeEvent(status))) {
+      queueMetrics.recordEmitFailure("STATUS_UPDATE");
+      return false;
+    }
+    sink.lastPushedPosition = position;
+    sink.lastPushedAt = now;
+    return true;
+  }
+
+  // SSE 연결 직후 보낸 초기 순번을 마지막 알림으로 기록
+  public void recordInitialStatus(String queueId, String userId, QueueStatusResponse status) {
+    ConflatingEventSink sink = userSinks.get(sinkKey(queueId, userId));
+    if (sink != null && status.userQueuePosition() != null) {
+      sink.lastPushedPosition = status.userQueuePosition();
+      sink.lastPushedAt = System.currentTimeMillis();
+    }
+  }
+
+  // 마지막 알림이 silentSince(epoch millis) 이전인 사용자만 남김
+  public List<String> filterSilent(String queueId, List<String> userIds, long silentSince) {
+    List<String> silent = new ArrayList<>();
+    for (String userId : userIds) {
+      ConflatingEventSink sink = userSinks.get(sinkKey(queueId, userId));
+      if (sink != null && sink.lastPushedAt <= silentSince) {
+        silent.add(userId);
       }
     }
+    return silent;
   }
 
   // 특정 사용자에게 입장 허용 알림
-  public void notifyAllowedIn(String userId) {
-    log.info("userSinks={}", userSinks.get(userId));
-    Many<QueueEvent> sink = userSinks.get(userId);
+  public void notifyAllowedIn(String queueId, String userId) {
+    queueMetrics.recordAllowedIn(queueId, userId);
+    ConflatingEventSink sink = userSinks.get(sinkKey(queueId, userId));
     if (sink != null) {
-      Sinks.EmitResult result = sink.tryEmitNext(new AllowedInNotificationEvent());
-      if (result.isFailure()) {
+      if (!sink.emitAllowedIn(new AllowedInNotificationEvent())) {
+        queueMetrics.recordEmitFailure("ALLOWED_IN");
         log.warn("입장 허용 알림 전송 실패 - userId: {}", userId);
       } else {
         log.info("입장 허용 알림 전송 완료 - userId: {}", userId);
@@ -67,4 +122,19 @@ public class QueueStatusNotifier {
   public int getActiveSubscribers() {
     return userSinks.size();
   }
+
+  // 이 노드에 SSE로 연결된 사용자 목록 (key = 대기열 ID)
+  public Map<String, List<String>> getSubscribersByQueue() {
+    Map<String, List<String>> subscribers = new HashMap<>();
+    for (String sinkKey : userSinks.keySet()) {
+      int separator = sinkKey.indexOf(':');
+      subscribers.computeIfAbsent(sinkKey.substring(0, separator), queueId -> new ArrayList<>())
+          .add(sinkKey.substring(separator + 1));
+    }
+    return subscribers;
+  }
+
+  private static String sinkKey(String queueId, String userId) {
+    return queueId + ":" + userId;
+  }
 }
@@ -0,0 +1,43 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대기 순번 알림(STATUS_UPDATE) 전송 기준.
+ *
+ * <p>대기 순번이 최소 변화량(minPositionChange명 또는 이전 순번의 minRelativeChange 비율) 이상 바뀌었거나,
+ * 마지막 알림 후 maxSilenceMillis가 지났을 때만 보낸다. 비율 기준 덕분에 앞쪽 사용자는 한 명만 줄어도 알림을 받고,
+ * 뒤쪽 사용자는 의미 있게 줄었을 때만 받는다.
+ */
+@Component
+public class StatusPushPolicy {
+
+  private final long minPositionChange;
+  private final double minRelativeChange;
+  private final long maxSilenceMillis;
+
+  public StatusPushPolicy(
+      @Value("${queue.status-push.min-position-change:50}") long minPositionChange,
+      @Value("${queue.status-push.min-relative-change:0.05}") double minRelativeChange,
+      @Value("${queue.status-push.max-silence-millis:30000}") long maxSilenceMillis
+  ) {
+    this.minPositionChange = minPositionChange;
+    this.minRelativeChange = minRelativeChange;
+    this.maxSilenceMillis = maxSilenceMillis;
+  }
+
+  // lastPosition < 0 이면 아직 알림을 보내지 않은 사용자
+  public boolean shouldPush(long lastPosition, long lastPushedAt, long position, long now) {
+    if (lastPosition < 0 || now - lastPushedAt >= maxSilenceMillis) {
+      return true;
+    }
+
+    long change = Math.abs(lastPosition - position);
+    return change > 0 && (change >= minPositionChange || change >= minRelativeChange * lastPosition);
+  }
+
+  public long maxSilenceMillis() {
+    return maxSilenceMillis;
+  }
+}
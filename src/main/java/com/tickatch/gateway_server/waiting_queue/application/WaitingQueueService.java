@@ -1,11 +1,16 @@
 package com.tickatch.gateway_server.waiting_queue.application;
 
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
 import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveExpiredUsersResult;
+import com.tickatch.gateway_server.waiting_queue.application.dto.UserQueueStatus;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueEventBus;
 import com.tickatch.gateway_server.waiting_queue.application.port.QueueRepository;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
@@ -14,55 +19,102 @@ import reactor.core.publisher.Mono;
 public class WaitingQueueService {
 
   private final QueueRepository queueRepository;
-  private final QueueStatusNotifier notifier;
+  private final QueueEventBus queueEventBus;
+  private final QueueProgressTracker progressTracker;
+  private final QueueMetrics queueMetrics;
 
-  public Mono<String> lineUp(String userId) {
-    return queueRepository.lineUp(userId);
+  public Mono<String> lineUp(String queueId, String userId) {
+    return queueRepository.lineUp(queueId, userId);
   }
 
-  public Mono<Boolean> canEnter(String userId) {
-    return queueRepository.isAlreadyAllowedIn(userId);
+  public Mono<Boolean> canEnter(String queueId, String userId) {
+    return queueRepository.isAlreadyAllowedIn(queueId, userId);
   }
 
-  public Mono<QueueStatusResponse> getStatus(String userId) {
-    return queueRepository.getCurrentStatus(userId);
+  // 예매 API 요청 시 입장 허용 확인 + 입장 허용 시각 갱신 + (대기 중이면) 대기 순번을 한 번에 조회
+  public Mono<QueueGateResult> passGate(String queueId, String userId) {
+    return queueRepository.passGate(queueId, userId, true, false)
+        .map(result -> withEstimate(queueId, result));
   }
 
-  public Mono<Void> refreshAllowedInTimeStamp(String userId) {
-    return queueRepository.refreshAllowedInTimestamp(userId);
+  // 입장 허용 여부와 대기 순번을 한 번에 조회 (입장 허용 시각은 갱신하지 않음)
+  public Mono<QueueGateResult> getGateStatus(String queueId, String userId, boolean exact) {
+    return queueRepository.passGate(queueId, userId, false, exact)
+        .map(result -> withEstimate(queueId, result));
   }
 
-  public Mono<Boolean> removeAllowedUserId(String userId) {
-    return queueRepository.removeAllowedUserId(userId)
+  public Mono<QueueStatusResponse> getStatus(String queueId, String userId) {
+    return queueRepository.getCurrentStatus(queueId, userId)
+        .map(status -> progressTracker.withEstimate(queueId, status));
+  }
+
+  // exact = true면 순번 추정 대신 항상 정확한 순번 조회
+  public Mono<QueueStatusResponse> getStatus(String queueId, String userId, boolean exact) {
+    return (exact
+        ? queueRepository.getExactStatus(queueId, userId)
+        : queueRepository.getCurrentStatus(queueId, userId))
+        .map(status -> progressTracker.withEstimate(queueId, status));
+  }
+
+  // 여러 사용자의 순번을 묶어서 조회 (대기열에 없는 사용자는 제외)
+  public Flux<UserQueueStatus> getStatuses(String queueId, List<String> userIds) {
+    return queueRepository.getStatuses(queueId, userIds)
+        .map(userStatus -> new UserQueueStatus(
+            userStatus.userId(), progressTracker.withEstimate(queueId, userStatus.status())));
+  }
+
+  public Mono<Void> refreshAllowedInTimeStamp(String queueId, String userId) {
+    return queueRepository.refreshAllowedInTimestamp(queueId, userId);
+  }
+
+  public Mono<Boolean> removeAllowedUserId(String queueId, String userId) {
+    return queueRepository.removeAllowedUserId(queueId, userId)
         .flatMap(result -> {
           log.info("result = {}", result);
           if (!result.removed()) {
             return Mono.just(false);
           }
 
-          // 다음 대기자가 입장되어 SSE 알림 전송
+          // 다음 대기자가 입장되어 SSE 알림 전송 (SSE 연결이 있는 노드에서 전송)
           String nextUserId = result.nextUserId();
           if (nextUserId != null) {
-            notifier.notifyAllowedIn(nextUserId);
+            queueEventBus.publishAllowedIn(queueId, List.of(nextUserId));
           }
 
           return Mono.just(true);
         });
   }
 
-  public Mono<Void> cleanupExpiredUserIds() {
-    return queueRepository.cleanupExpiredUserIds()
-        .flatMap(result -> {
-          List<String> userIds = result.userIds();
-          if (!userIds.isEmpty()) {
-            userIds.forEach(notifier::notifyAllowedIn);
-          }
+  public Mono<Void> cleanupExpiredUserIds(String queueId) {
+    return admitNextUsers(queueId).then();
+  }
+
+  // 만료된 사용자를 정리하고 비어 있는 슬롯만큼 대기자를 입장시킨 뒤 SSE 알림 전송
+  // 입장한 사용자들은 한 번에 발행되어 SSE 연결이 있는 노드에서 각자 전송
+  public Mono<RemoveExpiredUsersResult> admitNextUsers(String queueId) {
+    return queueRepository.cleanupExpiredUserIds(queueId)
+        .doOnNext(result -> queueEventBus.publishAllowedIn(queueId, result.userIds()));
+  }
 
-          return Mono.empty();
+  public Mono<Boolean> removeWaitingUserId(String queueId, String userId) {
+    return queueRepository.removeWaitingUserId(queueId, userId)
+        .doOnNext(removed -> {
+          // 뒤의 대기자 순번이 당겨짐
+          if (removed) {
+            progressTracker.onLeft(queueId);
+            queueMetrics.recordLeft(queueId, userId);
+          }
         });
   }
 
-  public Mono<Boolean> removeWaitingUserId(String userId) {
-    return queueRepository.removeWaitingUserId(userId);
+  public Flux<String> findActiveQueueIds() {
+    return queueRepository.findActiveQueueIds();
+  }
+
+  // 대기 중이면 입장 속도와 예상 대기 시간을 더함
+  private QueueGateResult withEstimate(String queueId, QueueGateResult result) {
+    return result.type() == QueueGateResult.Type.WAITING
+        ? QueueGateResult.waiting(progressTracker.withEstimate(queueId, result.status()))
+        : result;
   }
 }
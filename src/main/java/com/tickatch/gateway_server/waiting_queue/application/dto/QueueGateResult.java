@@ -0,0 +1,30 @@
+package com.tickatch.gateway_server.waiting_queue.application.dto;
+
+// 대기열 게이트 통과 결과 (입장 허용 / 대기 중 / 대기열에 없음)
+public record QueueGateResult(
+    Type type,
+    // 대기 중일 때만 존재
+    QueueStatusResponse status
+) {
+
+  private static final QueueGateResult ALLOWED = new QueueGateResult(Type.ALLOWED, null);
+  private static final QueueGateResult NOT_IN_QUEUE = new QueueGateResult(Type.NOT_IN_QUEUE, null);
+
+  public static QueueGateResult allowed() {
+    return ALLOWED;
+  }
+
+  public static QueueGateResult waiting(QueueStatusResponse status) {
+    return new QueueGateResult(Type.WAITING, status);
+  }
+
+  public static QueueGateResult notInQueue() {
+    return NOT_IN_QUEUE;
+  }
+
+  public enum Type {
+    ALLOWED,
+    WAITING,
+    NOT_IN_QUEUE
+  }
+}
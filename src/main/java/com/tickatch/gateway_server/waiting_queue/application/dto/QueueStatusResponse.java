@@ -6,6 +6,19 @@ public record QueueStatusResponse(
     // 사용자 대기번호
     Long userQueuePosition,
     // 사용자 기준 뒤로 몇 명
-    Long usersBehind
+    Long usersBehind,
+    // 최근 초당 입장 인원 (지수 이동 평균, 아직 관측된 입장이 없으면 null)
+    Double admissionRatePerSecond,
+    // 예상 대기 시간 (초, 입장 속도를 모르면 null)
+    Long estimatedWaitSeconds
 ) {
+
+  public QueueStatusResponse(Long totalQueueSize, Long userQueuePosition, Long usersBehind) {
+    this(totalQueueSize, userQueuePosition, usersBehind, null, null);
+  }
+
+  public QueueStatusResponse withEstimate(Double admissionRatePerSecond, Long estimatedWaitSeconds) {
+    return new QueueStatusResponse(
+        totalQueueSize, userQueuePosition, usersBehind, admissionRatePerSecond, estimatedWaitSeconds);
+  }
 }
@@ -2,6 +2,23 @@ package com.tickatch.gateway_server.waiting_queue.application.dto;
 
 import java.util.List;
 
-public record RemoveExpiredUsersResult(List<String> userIds) {
+public record RemoveExpiredUsersResult(
+    // 이번 실행에서 입장 허용된 userId 목록
+    List<String> userIds,
+    // 만료 처리 후 비어 있던 입장 슬롯 수
+    long freeSlots,
+    // 입장 처리 후 남은 대기 인원
+    long waitingCount,
+    // 입장 처리 후 입장 허용 인원
+    long allowedCount,
+    // 이번 실행에서 입장 허용 시간이 지나 만료된 인원
+    int expiredCount,
+    // 다음으로 만료될 사용자의 만료 시각 (epoch second, 입장 허용된 사용자가 없으면 null)
+    Long nextExpiryAt
+) {
 
+  // 이번 실행 전에 대기 중이던 인원이 있었는지 여부
+  public boolean hadWaitingUsers() {
+    return waitingCount > 0 || !userIds.isEmpty();
+  }
 }
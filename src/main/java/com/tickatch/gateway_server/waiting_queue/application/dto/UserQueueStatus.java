@@ -0,0 +1,8 @@
+package com.tickatch.gateway_server.waiting_queue.application.dto;
+
+public record UserQueueStatus(
+    String userId,
+    QueueStatusResponse status
+) {
+
+}
@@ -9,7 +9,9 @@ import org.springframework.http.HttpStatus;
 @RequiredArgsConstructor
 public enum QueueErrorCode implements ErrorCode {
 
-  USER_ID_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "USER_ID_NOT_FOUND");
+  USER_ID_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "USER_ID_NOT_FOUND"),
+  INVALID_QUEUE_ID(HttpStatus.BAD_REQUEST.value(), "INVALID_QUEUE_ID"),
+  QUEUE_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "QUEUE_NOT_FOUND");
 
   private final int status;
   private final String code;
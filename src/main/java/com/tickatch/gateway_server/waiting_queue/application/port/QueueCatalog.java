@@ -0,0 +1,7 @@
+package com.tickatch.gateway_server.waiting_queue.application.port;
+
+// 운영 중인 대기열(공연) 목록 (등록되지 않은 대기열 ID로는 대기열을 만들지 않음)
+public interface QueueCatalog {
+
+  boolean contains(String queueId);
+}
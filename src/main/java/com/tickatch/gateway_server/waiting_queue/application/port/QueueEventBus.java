@@ -0,0 +1,9 @@
+package com.tickatch.gateway_server.waiting_queue.application.port;
+
+import java.util.List;
+
+// 입장 허용 알림을 모든 게이트웨이 노드에 전달 (SSE 연결이 있는 노드에서 사용자에게 전송)
+public interface QueueEventBus {
+
+  void publishAllowedIn(String queueId, List<String> userIds);
+}
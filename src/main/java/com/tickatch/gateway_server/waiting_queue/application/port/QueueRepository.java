@@ -1,23 +1,42 @@
 package com.tickatch.gateway_server.waiting_queue.application.port;
 
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
 import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
 import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveAllowedUserResult;
 import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveExpiredUsersResult;
+import com.tickatch.gateway_server.waiting_queue.application.dto.UserQueueStatus;
+import java.util.List;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+// 모든 메서드는 대기열 ID(공연/상품 ID) 단위로 동작하며, 대기열마다 정원과 입장 허용 시간이 따로 적용된다.
 public interface QueueRepository {
 
-  Mono<String> lineUp(String userId);
+  Mono<String> lineUp(String queueId, String userId);
 
-  Mono<QueueStatusResponse> getCurrentStatus(String userId);
+  // 설정된 순번 조회 방식(queue.position-mode)에 따라 정확한 순번 또는 추정 순번 반환
+  Mono<QueueStatusResponse> getCurrentStatus(String queueId, String userId);
 
-  Mono<Boolean> isAlreadyAllowedIn(String userId);
+  // 항상 정확한 순번 반환
+  Mono<QueueStatusResponse> getExactStatus(String queueId, String userId);
 
-  Mono<RemoveAllowedUserResult> removeAllowedUserId(String userId);
+  // 여러 사용자의 순번을 묶어서 조회 (대기열에 없는 사용자는 제외, 순번 조회 방식은 getCurrentStatus와 같음)
+  Flux<UserQueueStatus> getStatuses(String queueId, List<String> userIds);
 
-  Mono<Void> refreshAllowedInTimestamp(String userId);
+  Mono<Boolean> isAlreadyAllowedIn(String queueId, String userId);
 
-  Mono<RemoveExpiredUsersResult> cleanupExpiredUserIds();
+  // 입장 허용 확인(+ refresh면 입장 허용 시각 갱신)과 대기 순번 조회를 한 번에 처리
+  // exact = false면 설정된 순번 조회 방식(queue.position-mode)을 따름
+  Mono<QueueGateResult> passGate(String queueId, String userId, boolean refresh, boolean exact);
 
-  Mono<Boolean> removeWaitingUserId(String userId);
+  Mono<RemoveAllowedUserResult> removeAllowedUserId(String queueId, String userId);
+
+  Mono<Void> refreshAllowedInTimestamp(String queueId, String userId);
+
+  Mono<RemoveExpiredUsersResult> cleanupExpiredUserIds(String queueId);
+
+  Mono<Boolean> removeWaitingUserId(String queueId, String userId);
+
+  // 입장 처리 대상이 되는 활성 대기열 ID 목록
+  Flux<String> findActiveQueueIds();
 }
@@ -0,0 +1,188 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드별 입장 허용 사용자 캐시.
+ *
+ * <p>입장 허용 여부를 확인할 때마다 Redis를 조회하지 않도록, 입장 허용이 확인된 사용자를 짧은 시간(ttlMillis) 동안 기억한다.
+ * 다른 노드에서 일어난 입장 권한 회수는 {@link RevocationFeed}(Redis 저장소의 {@code RedisRevocationFeed})가 전달해
+ * 즉시 무효화하고, 전달이 끊긴 동안에는 캐시를 사용하지 않는다.
+ *
+ * <p>인메모리 저장소({@code queue.repository=memory})처럼 RevocationFeed가 없으면 저장소가 회수할 때 직접
+ * {@link #invalidate}를 호출하므로 항상 회수를 알고 있는 것으로 본다.
+ */
+@Slf4j
+@Component
+public class AllowedInCache {
+
+  // 다른 노드의 회수를 전달받는 경로 (없으면 저장소가 직접 알려 줌)
+  private final RevocationFeed revocationFeed;
+  private final long ttlMillis;
+  private final int maxEntries;
+
+  // key = 대기열 ID + ":" + userId, value = 캐시 만료 시각 (epoch millis)
+  private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
+  // 무효화가 일어날 때마다 증가 (조회 중에 회수된 사용자가 다시 캐시되지 않도록)
+  private final AtomicLong generation = new AtomicLong();
+  // 입장 권한 회수를 함께 전달받을 대상 (입장 패스 등)
+  private final List<RevocationListener> listeners = new CopyOnWriteArrayList<>();
+
+  private volatile boolean subscribed;
+  private boolean started;
+
+  @Autowired
+  public AllowedInCache(
+      ObjectProvider<RevocationFeed> revocationFeed,
+      @Value("${queue.allowed-in-cache.ttl-millis:5000}") long ttlMillis,
+      @Value("${queue.allowed-in-cache.max-entries:100000}") int maxEntries
+  ) {
+    this(revocationFeed.getIfAvailable(), ttlMillis, maxEntries);
+  }
+
+  // 저장소가 회수할 때 직접 invalidate를 호출하는 경우 (인메모리 저장소, 테스트)
+  public AllowedInCache(long ttlMillis, int maxEntries) {
+    this((RevocationFeed) null, ttlMillis, maxEntries);
+  }
+
+  private AllowedInCache(RevocationFeed revocationFeed, long ttlMillis, int maxEntries) {
+    this.revocationFeed = revocationFeed;
+    this.ttlMillis = ttlMillis;
+    this.maxEntries = maxEntries;
+  }
+
+  @PostConstruct
+  void init() {
+    if (ttlMillis > 0) {
+      subscribe();
+    }
+  }
+
+  private synchronized void subscribe() {
+    if (revocationFeed == null) {
+      subscribed = true;
+      return;
+    }
+    if (started) {
+      return;
+    }
+
+    started = true;
+    revocationFeed.start(this);
+  }
+
+  // 회수 전달이 (다시) 시작됨: 그 전의 회수는 받지 못했으므로 캐시를 비우고 사용 시작
+  public void onFeedConnected() {
+    invalidateAll();
+    subscribed = true;
+  }
+
+  // 회수 전달이 끊김: 다시 연결될 때까지 캐시를 사용하지 않음
+  public void onFeedDisconnected() {
+    subscribed = false;
+    invalidateAll();
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    subscribed = false;
+  }
+
+  // 회수 알림을 구독 중인지 여부 (구독 중이 아니면 회수를 놓쳤을 수 있음)
+  public boolean isSubscribed() {
+    return subscribed;
+  }
+
+  // 등록 전의 회수 알림은 전달되지 않으므로 reset부터 알리고,
+  // 캐시를 사용하지 않더라도 회수 알림을 받아야 하는 대상이 있으면 구독 시작
+  public void addRevocationListener(RevocationListener listener) {
+    listener.onReset();
+    listeners.add(listener);
+    subscribe();
+  }
+
+  public boolean contains(String queueId, String userId) {
+    if (!subscribed) {
+      return false;
+    }
+
+    String key = key(queueId, userId);
+    Long expiry = expiresAt.get(key);
+    if (expiry == null) {
+      return false;
+    }
+    if (expiry < System.currentTimeMillis()) {
+      expiresAt.remove(key, expiry);
+      return false;
+    }
+    return true;
+  }
+
+  // Redis 조회 전에 읽어 두고 put에 전달
+  public long generation() {
+    return generation.get();
+  }
+
+  // 조회를 시작한 뒤 무효화가 있었으면 캐시하지 않음
+  public void put(String queueId, String userId, long observedGeneration) {
+    if (!subscribed || expiresAt.size() >= maxEntries || generation.get() != observedGeneration) {
+      return;
+    }
+
+    String key = key(queueId, userId);
+    expiresAt.put(key, System.currentTimeMillis() + ttlMillis);
+    // 넣는 사이에 무효화가 일어났을 수 있으므로 다시 확인
+    if (generation.get() != observedGeneration) {
+      expiresAt.remove(key);
+    }
+  }
+
+  public void invalidate(String queueId, String userId) {
+    generation.incrementAndGet();
+    expiresAt.remove(key(queueId, userId));
+    listeners.forEach(listener -> listener.onRevoked(queueId, userId));
+  }
+
+  private void invalidateAll() {
+    generation.incrementAndGet();
+    expiresAt.clear();
+    listeners.forEach(RevocationListener::onReset);
+  }
+
+  @Scheduled(fixedDelay = 60000)
+  public void purgeExpired() {
+    long now = System.currentTimeMillis();
+    expiresAt.values().removeIf(expiry -> expiry < now);
+  }
+
+  private static String key(String queueId, String userId) {
+    return queueId + ":" + userId;
+  }
+
+  public interface RevocationFeed {
+
+    // 회수를 cache에 전달하기 시작 (연결되면 onFeedConnected, 끊기면 onFeedDisconnected, 회수마다 invalidate 호출)
+    void start(AllowedInCache cache);
+  }
+
+  public interface RevocationListener {
+
+    // 입장 권한이 회수된 사용자
+    void onRevoked(String queueId, String userId);
+
+    // 구독이 다시 연결되는 등 그 사이의 회수를 알 수 없는 경우
+    void onReset();
+  }
+}
@@ -0,0 +1,113 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.config;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueIds;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueCatalog;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대기열 설정.
+ *
+ * <p>공연(상품)별로 별도의 대기열을 운영하며, {@code queue.events.<productId>}에 설정된 값이 있으면
+ * 해당 대기열에만 적용하고 없으면 기본값({@code queue.max-capacity}, {@code queue.allowed-in-duration-seconds})을 사용한다.
+ * 대기열은 기본 대기열과 {@code queue.events}에 등록된 공연만 사용할 수 있다({@link QueueCatalog}).
+ *
+ * <pre>
+ * queue:
+ *   max-capacity: 100
+ *   allowed-in-duration-seconds: 240
+ *   events:
+ *     concert-2025:
+ *       max-capacity: 500
+ *       allowed-in-duration-seconds: 300
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "queue")
+public class QueueProperties implements QueueCatalog {
+
+  /** 기본 최대 입장 허용 인원 */
+  private int maxCapacity;
+
+  /** 기본 입장 허용 유지 시간(초) */
+  private int allowedInDurationSeconds;
+
+  /** 다음 만료 예정 시각과 관계없이 입장 처리를 다시 확인하는 최대 간격(ms) */
+  private long admissionMaxIdleMillis = 5000;
+
+  /** 대기 순번 조회 방식 (기본은 정확한 순번, 추정/로컬 인덱스는 선택) */
+  private PositionMode positionMode = PositionMode.EXACT;
+
+  /** 순번 추정에 사용하는 대기열 head/tail 순번의 캐시 유지 시간(ms) */
+  private long positionOffsetCacheMillis = 500;
+
+  /** 대기열별 설정 (key = productId) */
+  private Map<String, EventPolicy> events = new HashMap<>();
+
+  /** 대기열 등록 요청 묶음 처리 */
+  private LineupBatchPolicy lineupBatch = new LineupBatchPolicy();
+
+  /** 입장 허용 시각 갱신 지연 쓰기 */
+  private RefreshWriteBehindPolicy refreshWriteBehind = new RefreshWriteBehindPolicy();
+
+  @Override
+  public boolean contains(String queueId) {
+    // 대기열 ID는 소문자로 정규화되므로 events의 key도 소문자로 등록
+    return QueueIds.DEFAULT_QUEUE_ID.equals(queueId) || events.containsKey(queueId);
+  }
+
+  public int maxCapacityOf(String queueId) {
+    EventPolicy policy = events.get(queueId);
+    return policy != null && policy.getMaxCapacity() != null
+        ? policy.getMaxCapacity() : maxCapacity;
+  }
+
+  public int allowedInDurationSecondsOf(String queueId) {
+    EventPolicy policy = events.get(queueId);
+    return policy != null && policy.getAllowedInDurationSeconds() != null
+        ? policy.getAllowedInDurationSeconds() : allowedInDurationSeconds;
+  }
+
+  public enum PositionMode {
+    /** ZRANK로 정확한 순번 조회 */
+    EXACT,
+    /** 사용자 순번(ZSCORE)과 캐시된 head/tail 순번으로 순번 추정 */
+    ESTIMATED,
+    /** 대기열 변경 이벤트로 동기화되는 노드별 인메모리 순번 인덱스 조회 (동기화 전에는 EXACT) */
+    LOCAL
+  }
+
+  @Getter
+  @Setter
+  public static class EventPolicy {
+
+    private Integer maxCapacity;
+
+    private Integer allowedInDurationSeconds;
+  }
+
+  @Getter
+  @Setter
+  public static class LineupBatchPolicy {
+
+    /** 한 번에 처리할 최대 요청 수 (1 이하면 묶지 않음) */
+    private int maxSize = 200;
+
+    /** 요청을 모으는 시간(ms, 0이면 묶지 않음) */
+    private long windowMillis = 2;
+  }
+
+  @Getter
+  @Setter
+  public static class RefreshWriteBehindPolicy {
+
+    /** 모아 둔 갱신을 반영하는 주기(ms, 0이면 요청마다 반영) */
+    private long intervalMillis = 1000;
+  }
+}
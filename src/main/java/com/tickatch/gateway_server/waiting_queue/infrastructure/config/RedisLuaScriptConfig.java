@@ -1,18 +1,31 @@
 package com.tickatch.gateway_server.waiting_queue.infrastructure.config;
 
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.QueueScripts;
 import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.script.RedisScript;
 
 @Configuration
+@ConditionalOnProperty(name = "queue.repository", havingValue = "redis", matchIfMissing = true)
 public class RedisLuaScriptConfig {
   @Bean
   public RedisScript<String> lineupScript() {
     return RedisScript.of(new ClassPathResource("lua/lineup.lua"), String.class);
   }
 
+  @Bean
+  public RedisScript<List> gateScript() {
+    return RedisScript.of(new ClassPathResource("lua/gate.lua"), List.class);
+  }
+
+  @Bean
+  public RedisScript<List> lineupBatchScript() {
+    return RedisScript.of(new ClassPathResource("lua/lineup-batch.lua"), List.class);
+  }
+
   @Bean
   public RedisScript<List> removeAllowedUserIdScript() {
     return RedisScript.of(new ClassPathResource("lua/remove-allowed-user-id.lua"), List.class);
@@ -22,4 +35,49 @@ public class RedisLuaScriptConfig {
   public RedisScript<List> cleanupExpiredUserIdsScript() {
     return RedisScript.of(new ClassPathResource("lua/cleanup-expired-user-ids.lua"), List.class);
   }
+
+  @Bean
+  public RedisScript<List> queueOffsetsScript() {
+    return RedisScript.of(new ClassPathResource("lua/queue-offsets.lua"), List.class);
+  }
+
+  @Bean
+  public RedisScript<Long> removeWaitingUserIdScript() {
+    return RedisScript.of(new ClassPathResource("lua/remove-waiting-user-id.lua"), Long.class);
+  }
+
+  @Bean
+  public RedisScript<List> queueSnapshotScript() {
+    return RedisScript.of(new ClassPathResource("lua/queue-snapshot.lua"), List.class);
+  }
+
+  @Bean
+  public RedisScript<Long> refreshAllowedInTimestampScript() {
+    return RedisScript.of(new ClassPathResource("lua/refresh-allowed-in-timestamp.lua"), Long.class);
+  }
+
+  @Bean
+  public RedisScript<List> refreshAllowedInTimestampsScript() {
+    return RedisScript.of(new ClassPathResource("lua/refresh-allowed-in-timestamps.lua"), List.class);
+  }
+
+  @Bean
+  public RedisScript<Long> migrateLegacyQueueScript() {
+    return RedisScript.of(new ClassPathResource("lua/migrate-legacy-queue.lua"), Long.class);
+  }
+
+  @Bean
+  public QueueScripts queueScripts() {
+    return new QueueScripts(
+        lineupScript(),
+        gateScript(),
+        lineupBatchScript(),
+        removeAllowedUserIdScript(),
+        cleanupExpiredUserIdsScript(),
+        refreshAllowedInTimestampScript(),
+        refreshAllowedInTimestampsScript(),
+        queueOffsetsScript(),
+        removeWaitingUserIdScript()
+    );
+  }
 }
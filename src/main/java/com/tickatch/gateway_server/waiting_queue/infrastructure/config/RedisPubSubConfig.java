@@ -0,0 +1,20 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+
+// 인메모리 저장소(queue.repository=memory)는 Redis 없이 실행되므로 등록하지 않음
+@Configuration
+@ConditionalOnProperty(name = "queue.repository", havingValue = "redis", matchIfMissing = true)
+public class RedisPubSubConfig {
+
+  @Bean
+  public ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer(
+      ReactiveRedisConnectionFactory connectionFactory
+  ) {
+    return new ReactiveRedisMessageListenerContainer(connectionFactory);
+  }
+}
@@ -1,11 +1,16 @@
 package com.tickatch.gateway_server.waiting_queue.infrastructure.filter;
 
 import com.tickatch.gateway_server.global.api.MonoResponseHelper;
+import com.tickatch.gateway_server.waiting_queue.application.QueueIds;
+import com.tickatch.gateway_server.waiting_queue.application.QueuePollingHints;
 import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueErrorCode;
 import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.security.AdmissionPasses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -21,9 +26,14 @@ import reactor.core.publisher.Mono;
 public class QueueFilter implements WebFilter, Ordered {
 
   private static final String QUEUE_FILTER_APPLIED = "QUEUE_FILTER_APPLIED";
+  private static final String PRODUCT_ID_PARAM = "productId";
+  private static final String HEADER_QUEUE_ID = "X-Queue-Id";
 
   private final WaitingQueueService queueService;
   private final MonoResponseHelper responseHelper;
+  private final AdmissionPasses admissionPasses;
+  private final QueuePollingHints pollingHints;
+  private final QueueIds queueIds;
 
   @Override
   public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -49,14 +59,46 @@ public class QueueFilter implements WebFilter, Ordered {
     // 입장 가능: 입장 허용 타임스탬프 갱신 + 요청 통과
     // 입장 불가: 대기열 상태 반환
     if (isReservationPath(path, method)){
-      return queueService.canEnter(userId)
-          .flatMap(canEnter -> {
-            if (!canEnter) {
-              return rejectWithQueueInfo(exchange, userId);
-            }
+      String queueId;
+      try {
+        queueId = queueIds.resolve(exchange.getRequest().getQueryParams().getFirst(PRODUCT_ID_PARAM));
+      } catch (QueueException e) {
+        // 등록되지 않은 대기열은 대기열 조회 없이 거절 (빈 대기열로 바로 입장하는 우회 차단)
+        return e.getErrorCode() == QueueErrorCode.QUEUE_NOT_FOUND
+            ? responseHelper.writeError(exchange, HttpStatus.NOT_FOUND, "QUEUE_NOT_FOUND", "등록되지 않은 대기열입니다.")
+            : responseHelper.writeError(
+                exchange, HttpStatus.BAD_REQUEST, "INVALID_QUEUE_ID", "유효하지 않은 대기열 ID입니다.");
+      }
+
+      // 하위 서비스가 입장 허용된 대기열(공연)과 예매 대상이 일치하는지 검증할 수 있도록 전달
+      ServerWebExchange queueExchange = exchange.mutate()
+          .request(request -> request.headers(headers -> headers.set(HEADER_QUEUE_ID, queueId)))
+          .build();
 
-            return queueService.refreshAllowedInTimeStamp(userId)
-                .then(Mono.defer(() -> chain.filter(exchange)));
+      // 유효한 입장 패스가 있으면 Redis 조회 없이 통과
+      // 활동 중인 사용자가 일찍 만료되지 않도록 입장 허용 시각은 갱신 (지연 쓰기가 켜져 있으면 메모리에만 기록)
+      if (admissionPasses.verify(exchange.getRequest(), queueId, userId)) {
+        return queueService.refreshAllowedInTimestamp(queueId, userId)
+            .then(chain.filter(queueExchange));
+      }
+
+      // 입장 허용 확인 + 갱신 + 대기 순번 조회를 한 번의 Redis 호출로 처리
+      return queueService.passGate(queueId, userId)
+          .flatMap(result -> switch (result.type()) {
+            case ALLOWED -> {
+              admissionPasses.issue(exchange.getResponse(), queueId, userId);
+              yield chain.filter(queueExchange);
+            }
+            case WAITING -> {
+              // 대기 순번이 뒤일수록 재시도 간격을 길게 안내
+              long retryAfter = pollingHints.retryAfterSeconds(queueId, result.status().userQueuePosition());
+              exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+              yield responseHelper.writeSuccessWithStatus(
+                  exchange, HttpStatus.TOO_MANY_REQUESTS, result.status(), "대기 중입니다.");
+            }
+            // 대기열에 없으면 입장 허용 시간이 만료되었거나 등록하지 않은 사용자
+            case NOT_IN_QUEUE -> responseHelper.writeError(
+                exchange, HttpStatus.FORBIDDEN, "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.");
           });
     }
 
@@ -64,18 +106,6 @@ public class QueueFilter implements WebFilter, Ordered {
     return chain.filter(exchange);
   }
 
-  // redis 입장 허용 해시에 필드가 없다면
-  // 대기열에 토큰이 있는지 확인 -> 대기열에 있으면 대기 중인 사람, 없으면 토큰이 만료된 사람
-  private Mono<Void> rejectWithQueueInfo(ServerWebExchange exchange, String userId) {
-    return queueService.getStatus(userId)
-        .flatMap(status -> responseHelper.writeSuccessWithStatus(
-            exchange, HttpStatus.TOO_MANY_REQUESTS, status, "대기 중입니다.")
-        )
-        .onErrorResume(QueueException.class, e -> responseHelper.writeError(
-            exchange, HttpStatus.FORBIDDEN, "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다."
-        ));
-  }
-
   private boolean isReservationPath(String path, HttpMethod method) {
     if (method != HttpMethod.POST) {
       return false;
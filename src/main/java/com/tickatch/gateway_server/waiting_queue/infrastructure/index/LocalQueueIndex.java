@@ -0,0 +1,152 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.index;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대기열 하나의 노드별 순번 인덱스와 동기화 상태.
+ *
+ * <p>변경 이벤트는 버전이 1씩 증가하므로, 마지막으로 반영한 버전 다음이 아닌 이벤트가 오면 누락으로 보고
+ * 스냅샷으로 다시 동기화한다. 스냅샷을 받는 동안 들어온 이벤트는 모아 두었다가 스냅샷 버전 이후 변경만 반영한다.
+ */
+final class LocalQueueIndex {
+
+  private final SequenceRankIndex index = new SequenceRankIndex();
+
+  // 스냅샷을 받는 동안 들어온 변경 이벤트
+  private final List<String> pending = new ArrayList<>();
+
+  // 마지막으로 반영한 변경 버전
+  private long version;
+  // 스냅샷 동기화가 끝나 조회에 사용할 수 있는 상태
+  private boolean ready;
+  private boolean syncing;
+  // 직전 검증 때 Redis에서 읽은 변경 버전 (-1이면 아직 없음)
+  private long observedRemoteVersion = -1;
+
+  private volatile long lastAccessedAt = System.currentTimeMillis();
+
+  synchronized boolean isReady() {
+    return ready;
+  }
+
+  synchronized boolean isSyncing() {
+    return syncing;
+  }
+
+  long lastAccessedAt() {
+    return lastAccessedAt;
+  }
+
+  // 대기 순번 (준비되지 않았거나 사용자가 없으면 null)
+  synchronized QueueStatusResponse statusOf(String userId) {
+    lastAccessedAt = System.currentTimeMillis();
+    if (!ready) {
+      return null;
+    }
+
+    long position = index.rankOf(userId);
+    if (position < 0) {
+      return null;
+    }
+
+    long queueSize = index.size();
+    return new QueueStatusResponse(queueSize, position, queueSize - position);
+  }
+
+  // 변경 이벤트 반영 (누락이 감지되어 재동기화가 필요하면 false)
+  synchronized boolean onChange(String message) {
+    if (syncing) {
+      pending.add(message);
+      return true;
+    }
+    if (!ready) {
+      return true;
+    }
+
+    if (!apply(message)) {
+      ready = false;
+      return false;
+    }
+    return true;
+  }
+
+  // 스냅샷 동기화 시작 (이미 진행 중이면 false)
+  synchronized boolean beginSync() {
+    if (syncing) {
+      return false;
+    }
+
+    syncing = true;
+    ready = false;
+    pending.clear();
+    return true;
+  }
+
+  // 스냅샷 반영 후 그동안 모아 둔 변경 이벤트 반영 (그 사이 누락이 있으면 false)
+  synchronized boolean completeSync(long snapshotVersion, List<Object> members) {
+    Map<String, Long> snapshot = new HashMap<>(members.size() / 2 * 4 / 3 + 1);
+    for (int i = 0; i + 1 < members.size(); i += 2) {
+      snapshot.put(members.get(i).toString(), (long) Double.parseDouble(members.get(i + 1).toString()));
+    }
+
+    index.load(snapshot);
+    version = snapshotVersion;
+    observedRemoteVersion = -1;
+    syncing = false;
+
+    for (String message : pending) {
+      if (!apply(message)) {
+        pending.clear();
+        return false;
+      }
+    }
+
+    pending.clear();
+    ready = true;
+    return true;
+  }
+
+  synchronized void failSync() {
+    syncing = false;
+    pending.clear();
+  }
+
+  // Redis의 변경 버전과 비교해 놓친 변경이 있는지 확인
+  // 직전 검증 때 본 버전까지도 아직 반영하지 못했거나, Redis 버전이 더 작으면(키 삭제 등) 재동기화 필요
+  synchronized boolean isBehind(long remoteVersion) {
+    boolean behind = remoteVersion < version || version < observedRemoteVersion;
+    observedRemoteVersion = remoteVersion;
+    return behind;
+  }
+
+  // 메시지 형식: 첫 줄은 첫 번째 변경의 버전, 이후 한 줄에 변경 하나 ("+ 순번 userId" 또는 "- userId")
+  private boolean apply(String message) {
+    String[] lines = message.split("\n");
+    long firstVersion = Long.parseLong(lines[0]);
+    if (firstVersion > version + 1) {
+      return false;
+    }
+
+    for (int i = 1; i < lines.length; i++) {
+      long changeVersion = firstVersion + i - 1;
+      // 스냅샷에 이미 포함된 변경
+      if (changeVersion <= version) {
+        continue;
+      }
+
+      String change = lines[i];
+      if (change.charAt(0) == '+') {
+        int separator = change.indexOf(' ', 2);
+        index.put(change.substring(separator + 1), Long.parseLong(change.substring(2, separator)));
+      } else {
+        index.remove(change.substring(2));
+      }
+      version = changeVersion;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,231 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.index;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties.PositionMode;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.QueueKeys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * 노드별 인메모리 대기 순번 인덱스 ({@code queue.position-mode=local}).
+ *
+ * <p>대기열을 변경하는 Lua 스크립트가 발행하는 변경 이벤트({@code queue:{id}:changes})를 구독해
+ * {@code queue:{id}:wait}와 같은 순서를 노드 메모리에 유지하고, 순번 조회와 순번 알림을 Redis 없이 O(log n)으로 처리한다.
+ *
+ * <p>대기열은 처음 조회될 때부터 추적하며, 스냅샷({@code queue-snapshot.lua})으로 초기화한 뒤 이후 변경 이벤트를 반영한다.
+ * 스냅샷은 대기 순번 순서로 페이지(SNAPSHOT_PAGE_SIZE명)씩 나눠 읽어 Redis를 오래 막지 않으며, 첫 페이지의 변경 버전 이후
+ * 이벤트를 모두 다시 반영하므로 페이지를 읽는 사이의 변경도 최종 상태에 맞게 반영된다.
+ * 이벤트 누락(버전 건너뜀), 구독 재연결, Redis 버전과의 불일치가 감지되면 스냅샷으로 다시 동기화하고,
+ * 동기화가 끝나기 전까지는 조회하는 쪽이 Redis로 정확한 순번을 조회한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "queue.repository", havingValue = "redis", matchIfMissing = true)
+public class LocalQueueIndexes {
+
+  // Redis 버전과 비교해 누락을 확인하는 주기
+  private static final long VERIFY_INTERVAL_MILLIS = 5000;
+  // 이 시간 동안 조회가 없던 대기열은 추적 중단
+  private static final long IDLE_EVICTION_MILLIS = 600_000;
+  // 스냅샷 스크립트 한 번에 읽는 최대 인원 (Redis 블로킹 시간 제한)
+  private static final int SNAPSHOT_PAGE_SIZE = 5000;
+
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final ReactiveRedisMessageListenerContainer listenerContainer;
+  private final RedisScript<List> queueSnapshotScript;
+  private final boolean enabled;
+
+  private final Map<String, LocalQueueIndex> indexes = new ConcurrentHashMap<>();
+
+  private Disposable subscription;
+
+  public LocalQueueIndexes(
+      ReactiveRedisTemplate<String, String> redis,
+      ReactiveRedisMessageListenerContainer listenerContainer,
+      RedisScript<List> queueSnapshotScript,
+      QueueProperties queueProperties
+  ) {
+    this.redis = redis;
+    this.listenerContainer = listenerContainer;
+    this.queueSnapshotScript = queueSnapshotScript;
+    this.enabled = queueProperties.getPositionMode() == PositionMode.LOCAL;
+  }
+
+  @PostConstruct
+  void subscribe() {
+    if (!enabled) {
+      return;
+    }
+
+    // 구독이 등록된 뒤(또는 재연결된 뒤)에는 그 전에 놓친 변경이 있을 수 있으므로 전체 재동기화
+    subscription = listenerContainer.receiveLater(PatternTopic.of(QueueKeys.CHANGES_CHANNEL_PATTERN))
+        .doOnNext(messages -> indexes.forEach(this::resync))
+        .flatMapMany(messages -> messages)
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofSeconds(30))
+            .doBeforeRetry(signal -> log.warn("대기열 변경 이벤트 구독 재시도", signal.failure())))
+        .subscribe(message -> onChange(message.getChannel(), message.getMessage()));
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  // 인덱스 기준 대기 순번 (동기화 중이거나 아직 반영되지 않은 사용자면 empty)
+  public Optional<QueueStatusResponse> statusOf(String queueId, String userId) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(indexOf(queueId).statusOf(userId));
+  }
+
+  /**
+   * 추적 중인 대기열 검증
+   *
+   * 구독 연결이 끊긴 동안의 변경처럼 이후 이벤트가 오지 않아 버전 건너뜀으로는 알 수 없는 누락을
+   * Redis의 변경 버전과 비교해 찾아 재동기화하고, 오래 조회되지 않은 대기열은 추적을 중단한다.
+   */
+  @Scheduled(fixedDelay = VERIFY_INTERVAL_MILLIS, initialDelay = VERIFY_INTERVAL_MILLIS)
+  public void verify() {
+    if (!enabled) {
+      return;
+    }
+
+    long idleBefore = System.currentTimeMillis() - IDLE_EVICTION_MILLIS;
+    indexes.values().removeIf(index -> index.lastAccessedAt() < idleBefore);
+
+    Flux.fromIterable(indexes.entrySet())
+        .flatMap(entry -> redis.opsForValue().get(QueueKeys.of(entry.getKey()).version())
+            .map(Long::parseLong)
+            .defaultIfEmpty(0L)
+            .doOnNext(remoteVersion -> {
+              LocalQueueIndex index = entry.getValue();
+              if (index.isSyncing()) {
+                return;
+              }
+              if (!index.isReady() || index.isBehind(remoteVersion)) {
+                resync(entry.getKey(), index);
+              }
+            }))
+        .onErrorResume(error -> {
+          log.warn("대기열 순번 인덱스 검증 중 오류 발생", error);
+          return Flux.empty();
+        })
+        .subscribe();
+  }
+
+  private LocalQueueIndex indexOf(String queueId) {
+    LocalQueueIndex index = indexes.get(queueId);
+    if (index != null) {
+      return index;
+    }
+
+    LocalQueueIndex created = new LocalQueueIndex();
+    LocalQueueIndex existing = indexes.putIfAbsent(queueId, created);
+    if (existing != null) {
+      return existing;
+    }
+
+    resync(queueId, created);
+    return created;
+  }
+
+  private void onChange(String channel, String message) {
+    String queueId = QueueKeys.queueIdOfChannel(channel);
+    LocalQueueIndex index = queueId != null ? indexes.get(queueId) : null;
+    // 추적하지 않는 대기열의 변경은 무시
+    if (index == null) {
+      return;
+    }
+
+    try {
+      if (!index.onChange(message)) {
+        log.info("대기열 변경 이벤트 누락 감지 - queueId: {}, 재동기화", queueId);
+        resync(queueId, index);
+      }
+    } catch (RuntimeException e) {
+      log.warn("대기열 변경 이벤트 처리 실패 - queueId: {}, 재동기화", queueId, e);
+      resync(queueId, index);
+    }
+  }
+
+  private void resync(String queueId, LocalQueueIndex index) {
+    if (!index.beginSync()) {
+      return;
+    }
+
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = List.of(queueKeys.version(), queueKeys.waitingQueue());
+
+    loadSnapshot(keys, "-inf", new Snapshot(-1, new ArrayList<>()))
+        .subscribe(
+            snapshot -> {
+              if (!index.completeSync(snapshot.version(), snapshot.members())) {
+                log.info("대기열 스냅샷 반영 중 변경 이벤트 누락 감지 - queueId: {}, 재동기화", queueId);
+                resync(queueId, index);
+              }
+            },
+            error -> {
+              // 다음 검증 주기에 다시 시도
+              log.warn("대기열 스냅샷 조회 실패 - queueId: {}", queueId, error);
+              index.failSync();
+            }
+        );
+  }
+
+  // 순번 minSequence 이후 페이지를 읽고, 페이지가 가득 찼으면 마지막 순번 다음부터 이어서 읽음
+  // 스냅샷 버전은 첫 페이지의 버전 (이후 변경은 모아 둔 변경 이벤트로 반영)
+  private Mono<Snapshot> loadSnapshot(List<String> keys, String minSequence, Snapshot snapshot) {
+    List<String> args = List.of(minSequence, String.valueOf(SNAPSHOT_PAGE_SIZE));
+
+    return redis.execute(queueSnapshotScript, keys, args)
+        .next()
+        .flatMap(result -> {
+          List<Object> resultList = (List<Object>) result;
+          long pageVersion = Long.parseLong(resultList.get(0).toString());
+          List<Object> page = (List<Object>) resultList.get(1);
+
+          // 읽는 도중 버전이 줄었으면 대기열 키가 삭제된 것이므로 처음부터 다시 동기화
+          if (pageVersion < snapshot.version()) {
+            return Mono.error(new IllegalStateException("스냅샷을 읽는 중 대기열 변경 버전이 줄었습니다."));
+          }
+
+          long snapshotVersion = snapshot.version() < 0 ? pageVersion : snapshot.version();
+          snapshot.members().addAll(page);
+          if (page.size() < SNAPSHOT_PAGE_SIZE * 2) {
+            return Mono.just(new Snapshot(snapshotVersion, snapshot.members()));
+          }
+          return loadSnapshot(keys, "(" + page.get(page.size() - 1), new Snapshot(snapshotVersion, snapshot.members()));
+        });
+  }
+
+  // 첫 페이지의 변경 버전(-1이면 아직 읽지 않음)과 지금까지 읽은 { member1, score1, ... }
+  private record Snapshot(long version, List<Object> members) {
+  }
+}
@@ -0,0 +1,124 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 대기 순번(sequence) 기준 순위 인덱스 (Fenwick 트리).
+ *
+ * <p>대기 순번은 계속 증가하므로 현재 남아 있는 사용자들의 순번 범위({@code base} 이후)만 트리에 담고,
+ * 범위를 벗어나는 순번이 들어오면 트리를 다시 구성한다. 추가/삭제/순위 조회는 O(log n),
+ * 재구성은 O(n)이지만 범위가 두 배 이상 늘어날 때만 발생한다.
+ *
+ * <p>동기화되지 않으므로 호출하는 쪽에서 잠금을 관리해야 한다 ({@code LocalQueueIndex}, 인메모리 저장소의 {@code InMemoryQueue}).
+ */
+public final class SequenceRankIndex {
+
+  private static final int MIN_CAPACITY = 1024;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  // userId -> 대기 순번
+  private final Map<String, Long> sequences = new HashMap<>();
+
+  // tree[1]에 대응하는 대기 순번
+  private long base = 1;
+  private int[] tree = new int[MIN_CAPACITY + 1];
+
+  public int size() {
+    return sequences.size();
+  }
+
+  // 이미 있는 사용자는 새 순번으로 이동 (재등록 시 대기열 맨 뒤로)
+  public void put(String userId, long sequence) {
+    Long previous = sequences.put(userId, sequence);
+    if (previous != null) {
+      add(previous, -1);
+    }
+
+    if (sequence < base || sequence - base >= capacity()) {
+      rebuild();
+      return;
+    }
+    add(sequence, 1);
+  }
+
+  public boolean remove(String userId) {
+    Long sequence = sequences.remove(userId);
+    if (sequence == null) {
+      return false;
+    }
+
+    add(sequence, -1);
+    return true;
+  }
+
+  // 1부터 시작하는 대기 순번 (없으면 -1)
+  public long rankOf(String userId) {
+    Long sequence = sequences.get(userId);
+    if (sequence == null) {
+      return -1;
+    }
+
+    long rank = 0;
+    for (int i = (int) (sequence - base + 1); i > 0; i -= i & -i) {
+      rank += tree[i];
+    }
+    return rank;
+  }
+
+  // 스냅샷으로 전체 교체
+  void load(Map<String, Long> snapshot) {
+    sequences.clear();
+    sequences.putAll(snapshot);
+    rebuild();
+  }
+
+  private int capacity() {
+    return tree.length - 1;
+  }
+
+  private void add(long sequence, int delta) {
+    for (int i = (int) (sequence - base + 1); i <= capacity(); i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+
+  // 현재 남아 있는 순번 범위에 맞춰 base를 옮기고 트리를 O(n)으로 다시 구성
+  private void rebuild() {
+    if (sequences.isEmpty()) {
+      base = 1;
+      tree = new int[MIN_CAPACITY + 1];
+      return;
+    }
+
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (long sequence : sequences.values()) {
+      min = Math.min(min, sequence);
+      max = Math.max(max, sequence);
+    }
+
+    long span = max - min + 1;
+    if (span > MAX_CAPACITY / 2) {
+      throw new IllegalStateException("대기 순번 범위가 너무 큽니다: " + span);
+    }
+
+    // 이후 들어올 순번을 위해 범위의 두 배만큼 확보
+    int capacity = MIN_CAPACITY;
+    while (capacity < span * 2) {
+      capacity <<= 1;
+    }
+
+    base = min;
+    tree = new int[capacity + 1];
+    for (long sequence : sequences.values()) {
+      tree[(int) (sequence - base + 1)]++;
+    }
+    for (int i = 1; i <= capacity; i++) {
+      int parent = i + (i & -i);
+      if (parent <= capacity) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+}
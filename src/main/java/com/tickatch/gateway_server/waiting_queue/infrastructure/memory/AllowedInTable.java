@@ -0,0 +1,265 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 대기열 하나의 입장 허용 사용자 테이블 (open addressing, linear probing).
+ *
+ * <p>userId와 마지막 갱신 시각(epoch second)을 같은 인덱스의 두 배열에 담아 엔트리 객체나 박싱 없이 보관한다.
+ * 요청마다 호출되는 조회와 입장 허용 시각 갱신은 잠금 없이 처리하고, 입장/만료/퇴장 속도에 비례하는
+ * 추가/삭제/재구성만 이 객체의 잠금 안에서 처리한다.
+ *
+ * <p>삭제한 칸은 묘비로 남겨 탐색이 끊기지 않게 하고(다음 추가 때 재사용), 사용 중인 칸이 3/4을 넘으면
+ * 살아 있는 엔트리만으로 다시 구성한다. 재구성 중에 갱신된 시각은 새 배열에 다시 써서 잃지 않는다.
+ *
+ * <p>만료 정리를 위해 갱신 시각 순으로 정렬한 만료 인덱스({@code allowedIn:{id}:expiry})를 잠금 안에서 함께 관리한다.
+ * 잠금 없이 처리하는 갱신은 인덱스를 바꾸지 않으므로 인덱스의 시각은 실제보다 이를 수 있고, 만료 정리와 가장 오래된
+ * 시각 조회가 인덱스 앞쪽에서 꺼낸 사용자의 실제 시각을 확인해 갱신된 사용자는 실제 시각으로 다시 넣는다.
+ * 따라서 테이블 전체를 훑지 않고 오래된 사용자부터 만료시킨다.
+ */
+final class AllowedInTable {
+
+  // 삭제된 칸 (참조 비교)
+  private static final String TOMBSTONE = new String("");
+  private static final int MIN_CAPACITY = 16;
+
+  private volatile Slots slots = new Slots(MIN_CAPACITY);
+
+  // 입장 허용 인원
+  private volatile int size;
+  // 사용 중인 칸 수 (묘비 포함)
+  private int used;
+
+  // 만료 인덱스 (갱신 시각 순, 잠금 안에서만 사용)
+  private final TreeSet<ExpiryEntry> expiryIndex = new TreeSet<>(ExpiryEntry.ORDER);
+  // userId -> 만료 인덱스에 들어 있는 시각
+  private final Map<String, Long> indexedTimestamps = new HashMap<>();
+
+  int size() {
+    return size;
+  }
+
+  boolean contains(String userId) {
+    return slots.indexOf(userId) >= 0;
+  }
+
+  // 입장 허용 시각 갱신 (입장 허용된 사용자가 아니면 false)
+  // 찾은 직후 삭제되어 같은 칸을 다른 사용자가 재사용하면 그 사용자의 시각이 최근 시각으로 덮일 수 있음 (만료가 조금 늦어질 뿐)
+  boolean refresh(String userId, long timestamp) {
+    for (;;) {
+      Slots current = slots;
+      int index = current.indexOf(userId);
+      if (index < 0) {
+        return false;
+      }
+
+      current.timestamps.set(index, timestamp);
+      if (!current.frozen) {
+        return true;
+      }
+      // 재구성 중이면 새 배열로 바뀐 뒤 다시 기록
+      while (slots == current) {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
+  // 정원(maxSize) 안에서 추가
+  synchronized InsertResult insert(String userId, long timestamp, int maxSize) {
+    Slots current = slots;
+    if (current.indexOf(userId) >= 0) {
+      return InsertResult.EXISTS;
+    }
+    if (size >= maxSize) {
+      return InsertResult.FULL;
+    }
+
+    int index = current.insertionIndexOf(userId);
+    if (current.keys.get(index) == null) {
+      if ((used + 1) * 4 > current.capacity() * 3) {
+        current = rebuild();
+        index = current.insertionIndexOf(userId);
+      }
+      used++;
+    }
+
+    // 시각을 먼저 쓰고 userId를 공개해야 잠금 없이 읽는 쪽이 빈 시각을 보지 않음
+    current.timestamps.set(index, timestamp);
+    current.keys.set(index, userId);
+    size++;
+    indexExpiry(userId, timestamp);
+    return InsertResult.INSERTED;
+  }
+
+  synchronized boolean remove(String userId) {
+    Slots current = slots;
+    int index = current.indexOf(userId);
+    if (index < 0) {
+      return false;
+    }
+
+    current.keys.set(index, TOMBSTONE);
+    size--;
+    unindexExpiry(userId);
+    return true;
+  }
+
+  // 마지막 갱신 시각이 expiryTimestamp 이전인 사용자를 오래된 순으로 최대 limit명 제거하고 반환
+  synchronized List<String> removeExpired(long expiryTimestamp, int limit) {
+    Slots current = slots;
+    List<String> expired = new ArrayList<>();
+    while (expired.size() < limit && !expiryIndex.isEmpty() && expiryIndex.first().timestamp() < expiryTimestamp) {
+      String userId = expiryIndex.pollFirst().userId();
+      indexedTimestamps.remove(userId);
+
+      int index = current.indexOf(userId);
+      if (index < 0) {
+        continue;
+      }
+
+      long timestamp = current.timestamps.get(index);
+      if (timestamp >= expiryTimestamp) {
+        // 인덱스에 넣은 뒤 갱신됨
+        indexExpiry(userId, timestamp);
+        continue;
+      }
+
+      current.keys.set(index, TOMBSTONE);
+      expired.add(userId);
+    }
+
+    size -= expired.size();
+    return expired;
+  }
+
+  // 가장 오래된 갱신 시각 (입장 허용된 사용자가 없으면 -1)
+  synchronized long oldestTimestamp() {
+    Slots current = slots;
+    while (!expiryIndex.isEmpty()) {
+      ExpiryEntry oldest = expiryIndex.first();
+      int index = current.indexOf(oldest.userId());
+      if (index < 0) {
+        unindexExpiry(oldest.userId());
+        continue;
+      }
+
+      long timestamp = current.timestamps.get(index);
+      if (timestamp <= oldest.timestamp()) {
+        return oldest.timestamp();
+      }
+
+      // 인덱스에 넣은 뒤 갱신됨
+      indexExpiry(oldest.userId(), timestamp);
+    }
+    return -1;
+  }
+
+  private void indexExpiry(String userId, long timestamp) {
+    unindexExpiry(userId);
+    indexedTimestamps.put(userId, timestamp);
+    expiryIndex.add(new ExpiryEntry(timestamp, userId));
+  }
+
+  private void unindexExpiry(String userId) {
+    Long indexed = indexedTimestamps.remove(userId);
+    if (indexed != null) {
+      expiryIndex.remove(new ExpiryEntry(indexed, userId));
+    }
+  }
+
+  // 묘비를 걷어내고 살아 있는 엔트리의 두 배 이상 크기로 다시 구성
+  private Slots rebuild() {
+    Slots current = slots;
+    int capacity = MIN_CAPACITY;
+    while (capacity < (size + 1) * 2) {
+      capacity <<= 1;
+    }
+
+    // 잠금 없이 갱신하는 쪽이 복사 이후의 기록을 새 배열에 다시 쓰도록 먼저 표시
+    current.frozen = true;
+    Slots rebuilt = new Slots(capacity);
+    for (int i = 0; i < current.capacity(); i++) {
+      String key = current.keys.get(i);
+      if (key != null && key != TOMBSTONE) {
+        int index = rebuilt.insertionIndexOf(key);
+        rebuilt.timestamps.set(index, current.timestamps.get(i));
+        rebuilt.keys.set(index, key);
+      }
+    }
+
+    used = size;
+    slots = rebuilt;
+    return rebuilt;
+  }
+
+  private record ExpiryEntry(long timestamp, String userId) {
+
+    private static final Comparator<ExpiryEntry> ORDER =
+        Comparator.comparingLong(ExpiryEntry::timestamp).thenComparing(ExpiryEntry::userId);
+  }
+
+  enum InsertResult {
+    INSERTED,
+    // 이미 입장 허용됨
+    EXISTS,
+    // 정원 초과
+    FULL
+  }
+
+  private static final class Slots {
+
+    private final AtomicReferenceArray<String> keys;
+    private final AtomicLongArray timestamps;
+    private final int mask;
+    // 재구성 중 (이후 기록은 새 배열에도 반영해야 함)
+    private volatile boolean frozen;
+
+    private Slots(int capacity) {
+      this.keys = new AtomicReferenceArray<>(capacity);
+      this.timestamps = new AtomicLongArray(capacity);
+      this.mask = capacity - 1;
+    }
+
+    private int capacity() {
+      return mask + 1;
+    }
+
+    private int indexOf(String userId) {
+      int index = spread(userId.hashCode()) & mask;
+      for (int probe = 0; probe <= mask; probe++) {
+        String key = keys.get(index);
+        if (key == null) {
+          return -1;
+        }
+        if (key != TOMBSTONE && key.equals(userId)) {
+          return index;
+        }
+        index = (index + 1) & mask;
+      }
+      return -1;
+    }
+
+    // 탐색 경로의 첫 번째 묘비 또는 빈 칸 (잠금 안에서만 호출)
+    private int insertionIndexOf(String userId) {
+      int index = spread(userId.hashCode()) & mask;
+      for (;;) {
+        String key = keys.get(index);
+        if (key == null || key == TOMBSTONE) {
+          return index;
+        }
+        index = (index + 1) & mask;
+      }
+    }
+
+    private static int spread(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+  }
+}
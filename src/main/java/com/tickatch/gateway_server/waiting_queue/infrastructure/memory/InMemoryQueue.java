@@ -0,0 +1,233 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.memory;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveAllowedUserResult;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.index.SequenceRankIndex;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.memory.AllowedInTable.InsertResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인메모리 대기열 하나 (Redis 키 구성과 Lua 스크립트의 동작을 그대로 옮김).
+ *
+ * <p>대기자는 대기 순번 순으로 정렬된 skip list({@code queue:{id}:wait}), userId별 순번 맵과
+ * 순위 인덱스({@link SequenceRankIndex})에, 입장 허용 사용자는 {@link AllowedInTable}({@code allowedIn:{id}:users})에 보관한다.
+ * 대기자 목록은 짧은 대기자 잠금 안에서 세 구조를 함께 바꾸고, 대기자를 입장시키는 작업(입장 처리, 퇴장 후 다음 대기자 입장)은
+ * 이 객체의 잠금으로 순서를 맞춘다.
+ *
+ * <p>정확한 순번은 순위 인덱스로 O(log n)(Redis ZRANK와 같음)에, 추정 순번은 head/tail 순번으로 잠금 없이 O(1)에 계산한다.
+ */
+final class InMemoryQueue {
+
+  // 마지막으로 발급한 대기 순번 (queue:{id}:counter)
+  private final AtomicLong counter = new AtomicLong();
+  // 마지막으로 입장한 사용자의 대기 순번 (queue:{id}:head)
+  private volatile long head;
+
+  // 대기 순번 -> userId
+  private final ConcurrentSkipListMap<Long, String> waiting = new ConcurrentSkipListMap<>();
+  // userId -> 대기 순번 (대기 인원 = 크기, 추정 순번은 잠금 없이 읽음)
+  private final Map<String, Long> sequences = new ConcurrentHashMap<>();
+  // 대기 순번 기준 순위 (정확한 순번)
+  private final SequenceRankIndex ranks = new SequenceRankIndex();
+  // 대기자 목록(waiting, sequences, ranks)을 함께 바꾸거나 순위를 읽을 때 사용
+  private final Object waitingLock = new Object();
+
+  private final AllowedInTable allowedIn = new AllowedInTable();
+
+  private volatile long lastActiveAt;
+
+  InMemoryQueue(long now) {
+    this.lastActiveAt = now;
+  }
+
+  long lastActiveAt() {
+    return lastActiveAt;
+  }
+
+  void touch(long now) {
+    lastActiveAt = now;
+  }
+
+  boolean isEmpty() {
+    return sequences.isEmpty() && allowedIn.size() == 0;
+  }
+
+  // lineup.lua: 이미 입장 허용 → 정원 안이면 바로 입장 → 아니면 대기열 맨 뒤에 등록
+  String lineUp(String userId, int maxCapacity, long timestamp) {
+    if (allowedIn.contains(userId)) {
+      return "ALREADY_ALLOWED";
+    }
+
+    InsertResult result = allowedIn.insert(userId, timestamp, maxCapacity);
+    if (result == InsertResult.INSERTED) {
+      return "ALLOWED";
+    }
+    if (result == InsertResult.EXISTS) {
+      return "ALREADY_ALLOWED";
+    }
+
+    enqueue(userId, counter.incrementAndGet());
+    return "QUEUED";
+  }
+
+  // gate.lua: 입장 허용 확인(+ 갱신)과 대기 순번 조회
+  QueueGateResult passGate(String userId, long timestamp, boolean refresh, boolean exact) {
+    boolean allowed = refresh ? allowedIn.refresh(userId, timestamp) : allowedIn.contains(userId);
+    if (allowed) {
+      return QueueGateResult.allowed();
+    }
+
+    QueueStatusResponse status = statusOf(userId, exact);
+    return status != null ? QueueGateResult.waiting(status) : QueueGateResult.notInQueue();
+  }
+
+  boolean isAllowedIn(String userId) {
+    return allowedIn.contains(userId);
+  }
+
+  // refresh-allowed-in-timestamp.lua
+  boolean refresh(String userId, long timestamp) {
+    return allowedIn.refresh(userId, timestamp);
+  }
+
+  // 대기 순번 (대기열에 없으면 null)
+  QueueStatusResponse statusOf(String userId, boolean exact) {
+    Long sequence = sequences.get(userId);
+    if (sequence == null) {
+      return null;
+    }
+
+    if (exact) {
+      synchronized (waitingLock) {
+        long userPos = ranks.rankOf(userId);
+        if (userPos < 0) {
+          return null;
+        }
+
+        long totalQueueSize = ranks.size();
+        return new QueueStatusResponse(totalQueueSize, userPos, totalQueueSize - userPos);
+      }
+    }
+
+    long queueSize = sequences.size();
+
+    // RedisQueueRepositoryImpl#estimateStatus와 같은 계산
+    long ahead = Math.max(sequence - head, 1);
+    long span = Math.max(counter.get() - head, ahead);
+    long size = Math.max(queueSize, 1);
+    long userPos = Math.max((long) Math.ceil((double) ahead * size / span), 1);
+    long totalQueueSize = Math.max(size, userPos);
+    return new QueueStatusResponse(totalQueueSize, userPos, totalQueueSize - userPos);
+  }
+
+  // remove-waiting-user-id.lua
+  boolean removeWaiting(String userId) {
+    synchronized (waitingLock) {
+      Long sequence = sequences.remove(userId);
+      if (sequence == null) {
+        return false;
+      }
+
+      waiting.remove(sequence, userId);
+      ranks.remove(userId);
+      return true;
+    }
+  }
+
+  // cleanup-expired-user-ids.lua: 만료 정리 후 비어 있는 슬롯만큼 대기자 입장
+  synchronized Admission admit(int maxCapacity, long expiryTimestamp, long timestamp, int batchSize) {
+    List<String> expiredUserIds = allowedIn.removeExpired(expiryTimestamp, batchSize);
+    long freeSlots = Math.max(maxCapacity - allowedIn.size(), 0);
+
+    List<String> allowedUserIds = new ArrayList<>();
+    long admittable = Math.min(freeSlots, batchSize);
+    while (allowedUserIds.size() < admittable) {
+      Map.Entry<Long, String> next = pollWaiting();
+      if (next == null) {
+        break;
+      }
+
+      InsertResult result = allowedIn.insert(next.getValue(), timestamp, maxCapacity);
+      if (result == InsertResult.FULL) {
+        // 그 사이 바로 입장한 사용자가 슬롯을 채움: 같은 순번으로 되돌리고 다음 입장 처리에서 이어서 처리
+        restore(next.getValue(), next.getKey());
+        break;
+      }
+
+      head = next.getKey();
+      if (result == InsertResult.INSERTED) {
+        allowedUserIds.add(next.getValue());
+      }
+    }
+
+    return new Admission(allowedUserIds, expiredUserIds, freeSlots, sequences.size(), allowedIn.size(),
+        allowedIn.oldestTimestamp());
+  }
+
+  // remove-allowed-user-id.lua: 퇴장 후 다음 대기자 한 명 입장 (정원과 관계없이)
+  synchronized RemoveAllowedUserResult removeAllowed(String userId, long timestamp) {
+    if (!allowedIn.remove(userId)) {
+      return new RemoveAllowedUserResult(false, null);
+    }
+
+    Map.Entry<Long, String> next = pollWaiting();
+    if (next == null) {
+      return new RemoveAllowedUserResult(true, null);
+    }
+
+    allowedIn.insert(next.getValue(), timestamp, Integer.MAX_VALUE);
+    head = next.getKey();
+    return new RemoveAllowedUserResult(true, next.getValue());
+  }
+
+  private void enqueue(String userId, long sequence) {
+    synchronized (waitingLock) {
+      Long previous = sequences.put(userId, sequence);
+      waiting.put(sequence, userId);
+      if (previous != null) {
+        waiting.remove(previous, userId);
+      }
+      ranks.put(userId, sequence);
+    }
+  }
+
+  private void restore(String userId, long sequence) {
+    synchronized (waitingLock) {
+      if (sequences.putIfAbsent(userId, sequence) == null) {
+        waiting.put(sequence, userId);
+        ranks.put(userId, sequence);
+      }
+    }
+  }
+
+  // 맨 앞 대기자를 꺼냄
+  private Map.Entry<Long, String> pollWaiting() {
+    synchronized (waitingLock) {
+      Map.Entry<Long, String> entry = waiting.pollFirstEntry();
+      if (entry != null) {
+        sequences.remove(entry.getValue());
+        ranks.remove(entry.getValue());
+      }
+      return entry;
+    }
+  }
+
+  // 입장 처리 결과
+  record Admission(
+      List<String> allowedUserIds,
+      List<String> expiredUserIds,
+      long freeSlots,
+      long waitingCount,
+      long allowedCount,
+      // 가장 오래된 입장 허용 시각 (없으면 -1)
+      long oldestTimestamp
+  ) {
+
+  }
+}
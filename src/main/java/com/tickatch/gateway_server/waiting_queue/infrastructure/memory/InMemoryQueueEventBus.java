@@ -0,0 +1,33 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.memory;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueProgressTracker;
+import com.tickatch.gateway_server.waiting_queue.application.QueueStatusNotifier;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueEventBus;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 입장 허용 알림 전달 ({@code queue.repository=memory}).
+ *
+ * <p>모든 SSE 연결이 이 노드에 있으므로 Redis Pub/Sub 없이 바로 전달한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "queue.repository", havingValue = "memory")
+public class InMemoryQueueEventBus implements QueueEventBus {
+
+  private final QueueStatusNotifier notifier;
+  private final QueueProgressTracker progressTracker;
+
+  @Override
+  public void publishAllowedIn(String queueId, List<String> userIds) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+
+    userIds.forEach(userId -> notifier.notifyAllowedIn(queueId, userId));
+    progressTracker.onAdmitted(queueId, userIds.size());
+  }
+}
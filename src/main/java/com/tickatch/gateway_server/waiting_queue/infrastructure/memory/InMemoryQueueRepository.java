@@ -0,0 +1,219 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.memory;
+
+import static com.tickatch.gateway_server.waiting_queue.application.exception.QueueErrorCode.USER_ID_NOT_FOUND;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveAllowedUserResult;
+import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveExpiredUsersResult;
+import com.tickatch.gateway_server.waiting_queue.application.dto.UserQueueStatus;
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueRepository;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties.PositionMode;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.memory.InMemoryQueue.Admission;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Redis 없이 노드 메모리에서 동작하는 대기열 저장소 ({@code queue.repository=memory}).
+ *
+ * <p>단일 노드 운영(개발/엣지 노드)과 대기열 로직의 성능 측정용으로, Lua 스크립트와 같은 규칙을
+ * {@link InMemoryQueue}로 처리한다. 상태가 노드 안에만 있으므로 여러 노드로 확장할 수 없고 재시작하면 사라진다.
+ * 순번 조회 방식은 estimated면 추정 순번, 그 외(exact, local)에는 정확한 순번을 사용한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "queue.repository", havingValue = "memory")
+public class InMemoryQueueRepository implements QueueRepository {
+
+  // 한 번의 입장 처리에서 만료/입장 처리할 최대 인원 (Redis 저장소와 같은 값)
+  private static final int CLEANUP_BATCH_SIZE = 1000;
+  // 마지막 활동 후 이 시간이 지난 빈 대기열은 정리
+  private static final long RETENTION_SECONDS = 600;
+
+  private final QueueProperties queueProperties;
+  private final AllowedInCache allowedInCache;
+  private final QueueMetrics queueMetrics;
+  // 현재 시각 (epoch second)
+  private final LongSupplier clock;
+
+  // key = 대기열 ID
+  private final Map<String, InMemoryQueue> queues = new ConcurrentHashMap<>();
+
+  @Autowired
+  public InMemoryQueueRepository(QueueProperties queueProperties, AllowedInCache allowedInCache,
+      QueueMetrics queueMetrics) {
+    this(queueProperties, allowedInCache, queueMetrics, () -> Instant.now().getEpochSecond());
+  }
+
+  InMemoryQueueRepository(QueueProperties queueProperties, AllowedInCache allowedInCache,
+      QueueMetrics queueMetrics, LongSupplier clock) {
+    this.queueProperties = queueProperties;
+    this.allowedInCache = allowedInCache;
+    this.queueMetrics = queueMetrics;
+    this.clock = clock;
+  }
+
+  @Override
+  public Mono<String> lineUp(String queueId, String userId) {
+    return Mono.fromSupplier(() -> {
+          long now = clock.getAsLong();
+          return queueOf(queueId, now).lineUp(userId, queueProperties.maxCapacityOf(queueId), now);
+        })
+        .doOnNext(status -> queueMetrics.recordLineup(queueId, userId, status))
+        .map(status -> switch (status) {
+          case "ALREADY_ALLOWED" -> "이미 입장 가능한 상태입니다.";
+          case "ALLOWED" -> "바로 입장 가능합니다.";
+          default -> "대기열에 등록되었습니다.";
+        });
+  }
+
+  @Override
+  public Mono<QueueStatusResponse> getCurrentStatus(String queueId, String userId) {
+    return status(queueId, userId, queueProperties.getPositionMode() != PositionMode.ESTIMATED);
+  }
+
+  @Override
+  public Mono<QueueStatusResponse> getExactStatus(String queueId, String userId) {
+    return status(queueId, userId, true);
+  }
+
+  @Override
+  public Flux<UserQueueStatus> getStatuses(String queueId, List<String> userIds) {
+    boolean exact = queueProperties.getPositionMode() != PositionMode.ESTIMATED;
+
+    return Flux.defer(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      if (queue == null) {
+        return Flux.empty();
+      }
+
+      List<UserQueueStatus> statuses = new ArrayList<>(userIds.size());
+      for (String userId : userIds) {
+        QueueStatusResponse status = queue.statusOf(userId, exact);
+        if (status != null) {
+          statuses.add(new UserQueueStatus(userId, status));
+        }
+      }
+      return Flux.fromIterable(statuses);
+    });
+  }
+
+  @Override
+  public Mono<Boolean> isAlreadyAllowedIn(String queueId, String userId) {
+    return Mono.fromSupplier(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      return queue != null && queue.isAllowedIn(userId);
+    });
+  }
+
+  @Override
+  public Mono<QueueGateResult> passGate(String queueId, String userId, boolean refresh, boolean exact) {
+    boolean exactPosition = exact || queueProperties.getPositionMode() != PositionMode.ESTIMATED;
+
+    return Mono.fromSupplier(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      return queue != null
+          ? queue.passGate(userId, clock.getAsLong(), refresh, exactPosition)
+          : QueueGateResult.notInQueue();
+    });
+  }
+
+  @Override
+  public Mono<RemoveAllowedUserResult> removeAllowedUserId(String queueId, String userId) {
+    return Mono.fromSupplier(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      if (queue == null) {
+        return new RemoveAllowedUserResult(false, null);
+      }
+
+      RemoveAllowedUserResult result = queue.removeAllowed(userId, clock.getAsLong());
+      if (result.removed()) {
+        allowedInCache.invalidate(queueId, userId);
+      }
+      return result;
+    });
+  }
+
+  @Override
+  public Mono<Void> refreshAllowedInTimestamp(String queueId, String userId) {
+    return Mono.fromRunnable(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      if (queue != null) {
+        queue.refresh(userId, clock.getAsLong());
+      }
+    });
+  }
+
+  @Override
+  public Mono<RemoveExpiredUsersResult> cleanupExpiredUserIds(String queueId) {
+    return Mono.fromSupplier(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      if (queue == null) {
+        return new RemoveExpiredUsersResult(List.of(), 0, 0, 0, 0, null);
+      }
+
+      long now = clock.getAsLong();
+      int allowedInDurationSeconds = queueProperties.allowedInDurationSecondsOf(queueId);
+      Admission admission = queue.admit(queueProperties.maxCapacityOf(queueId), now - allowedInDurationSeconds,
+          now, CLEANUP_BATCH_SIZE);
+      // 입장 패스 등 회수 알림을 받는 대상에게 전달
+      admission.expiredUserIds().forEach(expiredUserId -> allowedInCache.invalidate(queueId, expiredUserId));
+
+      Long nextExpiryAt = admission.oldestTimestamp() >= 0
+          ? admission.oldestTimestamp() + allowedInDurationSeconds : null;
+      RemoveExpiredUsersResult result = new RemoveExpiredUsersResult(admission.allowedUserIds(),
+          admission.freeSlots(), admission.waitingCount(), admission.allowedCount(),
+          admission.expiredUserIds().size(), nextExpiryAt);
+      // 대기자나 입장 허용된 사용자가 남아 있는 대기열은 활성 상태로 유지
+      if (result.waitingCount() > 0 || nextExpiryAt != null) {
+        queue.touch(now);
+      }
+      return result;
+    });
+  }
+
+  @Override
+  public Mono<Boolean> removeWaitingUserId(String queueId, String userId) {
+    return Mono.fromSupplier(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      return queue != null && queue.removeWaiting(userId);
+    });
+  }
+
+  // 오래 활동이 없던 빈 대기열은 정리하고, 남은 대기열 ID 목록을 반환
+  @Override
+  public Flux<String> findActiveQueueIds() {
+    return Flux.defer(() -> {
+      long inactiveBefore = clock.getAsLong() - RETENTION_SECONDS;
+      queues.entrySet().removeIf(entry -> entry.getValue().lastActiveAt() < inactiveBefore
+          && entry.getValue().isEmpty());
+      return Flux.fromIterable(List.copyOf(queues.keySet()));
+    });
+  }
+
+  private Mono<QueueStatusResponse> status(String queueId, String userId, boolean exact) {
+    return Mono.defer(() -> {
+      InMemoryQueue queue = queues.get(queueId);
+      QueueStatusResponse status = queue != null ? queue.statusOf(userId, exact) : null;
+      return status != null ? Mono.just(status) : Mono.error(new QueueException(USER_ID_NOT_FOUND));
+    });
+  }
+
+  private InMemoryQueue queueOf(String queueId, long now) {
+    InMemoryQueue queue = queues.computeIfAbsent(queueId, id -> new InMemoryQueue(now));
+    queue.touch(now);
+    return queue;
+  }
+}
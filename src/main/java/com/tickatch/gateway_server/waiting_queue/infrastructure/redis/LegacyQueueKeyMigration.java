@@ -0,0 +1,158 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueIds;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 대기열 분리 이전 키의 일회성 이전.
+ *
+ * <p>대기열을 공연별로 나누기 전에는 하나의 대기열이 {@code queue:counter}, {@code queue:wait},
+ * {@code allowedIn:users}를 사용했다. 이 키들은 해시 태그가 없어 Redis Cluster에서 서로 다른 슬롯에 저장될 수 있으므로
+ * 그대로 쓰지 않고, 남아 있는 대기자와 입장 허용 사용자를 {@code default} 대기열의 키({@code queue:{default}:wait},
+ * {@code allowedIn:{default}:users})로 옮긴 뒤 이전 키를 삭제한다.
+ *
+ * <p>대기자는 이전 순서를 유지하고, 입장 허용 사용자는 이전 갱신 시각으로 만료 인덱스에도 등록된다.
+ * 노드 시작 시 한 번 실행하고, 배포 중 이전 버전 노드가 이전 키에 쓴 사용자도 옮기도록 이전 키가 남아 있는 동안 주기적으로 다시 실행한다.
+ * 여러 노드가 동시에 실행하지 않도록 잠금 키를 사용하며, 이미 옮긴 사용자는 건너뛰므로 중간에 실패해도 다시 실행하면 된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "queue.repository", havingValue = "redis", matchIfMissing = true)
+public class LegacyQueueKeyMigration {
+
+  static final String LEGACY_COUNTER_KEY = "queue:counter";
+  static final String LEGACY_WAITING_QUEUE_KEY = "queue:wait";
+  static final String LEGACY_ALLOWED_IN_HASH_KEY = "allowedIn:users";
+
+  private static final String LOCK_KEY = "queue:legacy-migration:lock";
+  private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+  // 한 번의 스크립트로 옮기는 최대 인원 (Redis 블로킹 시간 제한)
+  private static final int PAGE_SIZE = 1000;
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final RedisScript<Long> migrateLegacyQueueScript;
+
+  public LegacyQueueKeyMigration(
+      ReactiveRedisTemplate<String, String> redis,
+      RedisScript<Long> migrateLegacyQueueScript
+  ) {
+    this.redis = redis;
+    this.migrateLegacyQueueScript = migrateLegacyQueueScript;
+  }
+
+  // 요청을 받기 전에 이전 대기자를 옮겨 새로 등록하는 사용자보다 앞 순서를 유지 (실패해도 기동은 계속)
+  @PostConstruct
+  void migrateOnStartup() {
+    migrate()
+        .timeout(STARTUP_TIMEOUT)
+        .onErrorResume(error -> {
+          log.error("이전 대기열 키 이전 실패 - 다음 주기에 다시 시도", error);
+          return Mono.empty();
+        })
+        .block();
+  }
+
+  @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+  public void migrateRemaining() {
+    migrate()
+        .onErrorResume(error -> {
+          log.warn("이전 대기열 키 이전 실패", error);
+          return Mono.empty();
+        })
+        .subscribe();
+  }
+
+  public Mono<Void> migrate() {
+    return Mono.zip(redis.hasKey(LEGACY_WAITING_QUEUE_KEY), redis.hasKey(LEGACY_ALLOWED_IN_HASH_KEY),
+            redis.hasKey(LEGACY_COUNTER_KEY))
+        .filter(exists -> exists.getT1() || exists.getT2() || exists.getT3())
+        .flatMap(exists -> redis.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_TTL))
+        .filter(Boolean::booleanValue)
+        .flatMap(locked -> migrateAllowedIn()
+            .flatMap(allowed -> migrateWaiting()
+                .doOnNext(waiting -> log.info("이전 대기열 키 이전 완료 - 입장 허용: {}, 대기: {}", allowed, waiting)))
+            .then(redis.delete(LEGACY_COUNTER_KEY))
+            // 대기열 목록에 등록해 스케줄러가 바로 입장 처리하도록 함
+            .then(redis.opsForZSet().add(QueueKeys.REGISTRY_KEY, QueueIds.DEFAULT_QUEUE_ID,
+                Instant.now().getEpochSecond()))
+            .then(redis.delete(LOCK_KEY))
+            .onErrorResume(error -> redis.delete(LOCK_KEY).then(Mono.error(error))))
+        .then();
+  }
+
+  // 입장 허용 사용자를 HSCAN으로 나눠 옮기고 옮긴 만큼 이전 해시에서 삭제
+  private Mono<Long> migrateAllowedIn() {
+    return redis.<String, String>opsForHash().scan(LEGACY_ALLOWED_IN_HASH_KEY)
+        .buffer(PAGE_SIZE)
+        .concatMap(page -> {
+          List<String> args = new ArrayList<>(page.size() * 2 + 1);
+          args.add("allowed");
+          for (Map.Entry<String, String> entry : page) {
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+          }
+          Object[] userIds = page.stream().map(Map.Entry::getKey).toArray();
+
+          return execute(args)
+              .flatMap(migrated -> redis.opsForHash().remove(LEGACY_ALLOWED_IN_HASH_KEY, userIds)
+                  .thenReturn(migrated));
+        })
+        .reduce(0L, Long::sum);
+  }
+
+  // 대기자를 순번 순서대로 앞에서부터 나눠 옮기고 옮긴 만큼 이전 대기열에서 삭제
+  private Mono<Long> migrateWaiting() {
+    return Mono.defer(() -> redis.opsForZSet()
+            .rangeWithScores(LEGACY_WAITING_QUEUE_KEY, Range.closed(0L, (long) PAGE_SIZE - 1))
+            .collectList())
+        .flatMap(page -> {
+          if (page.isEmpty()) {
+            return Mono.just(new MigratedPage(0, 0));
+          }
+
+          List<String> args = new ArrayList<>(page.size() * 2 + 1);
+          args.add("waiting");
+          for (TypedTuple<String> tuple : page) {
+            args.add(tuple.getValue());
+            args.add(String.valueOf(tuple.getScore().longValue()));
+          }
+          Object[] userIds = page.stream().map(TypedTuple::getValue).toArray();
+
+          return execute(args)
+              .flatMap(migrated -> redis.opsForZSet().remove(LEGACY_WAITING_QUEUE_KEY, userIds)
+                  .thenReturn(new MigratedPage(page.size(), migrated)));
+        })
+        .repeat()
+        .takeUntil(page -> page.read() < PAGE_SIZE)
+        .map(MigratedPage::migrated)
+        .reduce(0L, Long::sum);
+  }
+
+  private Mono<Long> execute(List<String> args) {
+    QueueKeys queueKeys = QueueKeys.of(QueueIds.DEFAULT_QUEUE_ID);
+    List<String> keys = Arrays.asList(queueKeys.counter(), queueKeys.head(), queueKeys.waitingQueue(),
+        queueKeys.allowedInHash(), queueKeys.allowedInExpiry(), queueKeys.version());
+
+    return redis.execute(migrateLegacyQueueScript, keys, args).next();
+  }
+
+  // 이전 키에서 읽은 인원, 실제로 옮긴 인원 (이미 새 키에 있던 사용자 제외)
+  private record MigratedPage(int read, long migrated) {
+  }
+}
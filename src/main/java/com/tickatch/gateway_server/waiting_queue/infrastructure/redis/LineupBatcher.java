@@ -0,0 +1,125 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 대기열 등록 요청 묶음 처리기.
+ *
+ * <p>같은 대기열에 대한 등록 요청을 짧은 시간(windowMillis) 동안 또는 최대 maxBatchSize명까지 모아
+ * 한 번의 스크립트 호출로 처리하고, 사용자별 결과를 각 요청의 Mono로 돌려준다.
+ * 요청 순서대로 처리되므로 개별 호출과 같은 결과(대기 순번, 바로 입장 여부)를 보장한다.
+ *
+ * <p>대기열별 묶음은 남은 요청이 없으면 제거해 요청이 끊긴 대기열의 묶음이 남지 않도록 한다.
+ * 제거 직전에 묶음을 가져간 요청은 그 묶음의 다음 처리로 반영되고, 이후 요청은 새 묶음으로 모인다.
+ */
+@Slf4j
+class LineupBatcher {
+
+  private final int maxBatchSize;
+  private final long windowMillis;
+  // (queueId, userIds) -> 요청 순서와 같은 순서의 결과 목록
+  private final BiFunction<String, List<String>, Mono<List<String>>> batchExecutor;
+  private final Scheduler scheduler = Schedulers.parallel();
+
+  private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+
+  LineupBatcher(int maxBatchSize, long windowMillis,
+      BiFunction<String, List<String>, Mono<List<String>>> batchExecutor) {
+    this.maxBatchSize = maxBatchSize;
+    this.windowMillis = windowMillis;
+    this.batchExecutor = batchExecutor;
+  }
+
+  Mono<String> submit(String queueId, String userId) {
+    return Mono.create(sink -> {
+      Batch batch = batches.computeIfAbsent(queueId, Batch::new);
+      batch.pending.offer(new PendingLineup(userId, sink));
+
+      if (batch.size.incrementAndGet() >= maxBatchSize) {
+        flush(batch);
+      } else if (batch.flushScheduled.compareAndSet(false, true)) {
+        scheduler.schedule(() -> flush(batch), windowMillis, TimeUnit.MILLISECONDS);
+      }
+    });
+  }
+
+  private void flush(Batch batch) {
+    batch.flushScheduled.set(false);
+
+    List<PendingLineup> drained = new ArrayList<>(maxBatchSize);
+    PendingLineup pending;
+    while (drained.size() < maxBatchSize && (pending = batch.pending.poll()) != null) {
+      drained.add(pending);
+    }
+    if (drained.isEmpty()) {
+      evictIfIdle(batch);
+      return;
+    }
+
+    // 최대 크기만큼 꺼내고도 남은 요청이 있으면 다음 묶음 예약
+    if (batch.size.addAndGet(-drained.size()) > 0) {
+      if (batch.flushScheduled.compareAndSet(false, true)) {
+        scheduler.schedule(() -> flush(batch), windowMillis, TimeUnit.MILLISECONDS);
+      }
+    } else {
+      evictIfIdle(batch);
+    }
+
+    List<String> userIds = drained.stream().map(PendingLineup::userId).toList();
+    batchExecutor.apply(batch.queueId, userIds)
+        .subscribe(
+            results -> {
+              if (results.size() != drained.size()) {
+                IllegalStateException error = new IllegalStateException(
+                    "대기열 등록 결과 수가 요청 수와 다릅니다. 요청: " + drained.size() + ", 결과: " + results.size());
+                drained.forEach(p -> p.sink().error(error));
+                return;
+              }
+              for (int i = 0; i < drained.size(); i++) {
+                drained.get(i).sink().success(results.get(i));
+              }
+            },
+            error -> {
+              log.error("대기열 등록 묶음 처리 실패 - queueId: {}, 요청 수: {}", batch.queueId, drained.size(), error);
+              drained.forEach(p -> p.sink().error(error));
+            }
+        );
+  }
+
+  // 남은 요청이 없는 묶음 제거 (제거 후 들어온 요청은 새 묶음에 모임)
+  private void evictIfIdle(Batch batch) {
+    if (batch.size.get() == 0 && !batch.flushScheduled.get()) {
+      batches.remove(batch.queueId, batch);
+    }
+  }
+
+  private record PendingLineup(String userId, MonoSink<String> sink) {
+
+  }
+
+  private static final class Batch {
+
+    private final String queueId;
+    private final Queue<PendingLineup> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private Batch(String queueId) {
+      this.queueId = queueId;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import java.util.List;
+
+/**
+ * 대기열별 Redis 키.
+ *
+ * <p>한 대기열의 키는 모두 같은 해시 태그({@code {queueId}})를 가지므로 Redis Cluster에서 같은 슬롯에 저장되어
+ * Lua 스크립트로 함께 다룰 수 있고, 서로 다른 대기열은 다른 슬롯(노드)으로 분산된다.
+ */
+public record QueueKeys(
+    // 대기 순번 생성용 카운터 (마지막으로 대기열에 들어온 사용자의 순번)
+    String counter,
+    // 마지막으로 대기열에서 입장한 사용자의 순번
+    String head,
+    // 대기 중인 사용자 (score = 대기 순번)
+    String waitingQueue,
+    // 입장 허용된 사용자 (value = 마지막 갱신 시각)
+    String allowedInHash,
+    // 입장 허용 사용자의 만료 인덱스 (score = 마지막 갱신 시각)
+    String allowedInExpiry,
+    // 대기열 변경 버전 (변경 이벤트마다 1씩 증가)
+    String version,
+    // 대기열 변경 이벤트 채널 (키는 아니지만 스크립트에서 함께 쓰도록 같은 해시 태그 사용)
+    String changes,
+    // 입장 권한 회수 알림 채널 (만료/퇴장으로 입장 허용 해시에서 제거된 userId)
+    String revoked
+) {
+
+  // 모든 대기열의 변경 이벤트 채널 패턴
+  public static final String CHANGES_CHANNEL_PATTERN = "queue:*:changes";
+  // 모든 대기열의 입장 권한 회수 알림 채널 패턴
+  public static final String REVOKED_CHANNEL_PATTERN = "allowedIn:*:revoked";
+
+  // 활성 대기열 목록 (score = 마지막 활동 시각)
+  public static final String REGISTRY_KEY = "queue:registry";
+
+  // 노드별 입장 허용 시각 갱신 반영 지점 (field = 노드 ID, value = "반영 지점:공유 시각", epoch millis)
+  public static final String REFRESH_WATERMARKS_KEY = "allowedIn:refresh-watermarks";
+
+  public static QueueKeys of(String queueId) {
+    String tag = "{" + queueId + "}";
+    return new QueueKeys(
+        "queue:" + tag + ":counter",
+        "queue:" + tag + ":head",
+        "queue:" + tag + ":wait",
+        "allowedIn:" + tag + ":users",
+        "allowedIn:" + tag + ":expiry",
+        "queue:" + tag + ":version",
+        "queue:" + tag + ":changes",
+        "allowedIn:" + tag + ":revoked"
+    );
+  }
+
+  // 대기열의 상태를 담는 키 전체 (채널 제외, 대기열 초기화용)
+  public List<String> dataKeys() {
+    return List.of(counter, head, waitingQueue, allowedInHash, allowedInExpiry, version);
+  }
+
+  // 변경 이벤트 채널 이름에서 대기열 ID 추출 (형식이 다르면 null)
+  public static String queueIdOfChannel(String channel) {
+    int start = channel.indexOf('{');
+    int end = channel.indexOf('}', start + 1);
+    return start >= 0 && end > start ? channel.substring(start + 1, end) : null;
+  }
+}
@@ -0,0 +1,21 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import java.util.List;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 대기열 저장소가 사용하는 Lua 스크립트 묶음 ({@code RedisLuaScriptConfig#queueScripts}).
+ */
+public record QueueScripts(
+    RedisScript<String> lineup,
+    RedisScript<List> gate,
+    RedisScript<List> lineupBatch,
+    RedisScript<List> removeAllowedUserId,
+    RedisScript<List> cleanupExpiredUserIds,
+    RedisScript<Long> refreshAllowedInTimestamp,
+    RedisScript<List> refreshAllowedInTimestamps,
+    RedisScript<List> queueOffsets,
+    RedisScript<Long> removeWaitingUserId
+) {
+
+}
@@ -0,0 +1,167 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueProgressTracker;
+import com.tickatch.gateway_server.waiting_queue.application.QueueStatusNotifier;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Redis Pub/Sub 기반 입장 허용 알림 전달.
+ *
+ * <p>SSE 연결은 사용자가 접속한 노드에만 있으므로, 입장 처리한 노드가 직접 알림을 보내면 다른 노드에 연결된 사용자는
+ * 알림을 받지 못한다. 입장 허용된 사용자를 짧은 시간(windowMillis) 동안 모아 한 메시지(최대 maxBatchSize명)로 발행하고,
+ * 모든 노드(발행한 노드 포함)가 구독해 자신에게 연결된 사용자에게만 알림을 보낸다.
+ *
+ * <p>구독이 끊긴 동안 발행된 메시지는 다시 받을 수 없으므로, 순번 알림 스케줄러가 대기열에 없는 SSE 구독자의
+ * 입장 허용 여부를 확인해 놓친 알림을 다시 보낸다({@code QueueScheduler#notifyQueueStatusUpdates}).
+ *
+ * <p>메시지 형식: 한 줄에 한 명씩 {@code queueId:userId} (대기열 ID에는 ':'가 포함되지 않음)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "queue.repository", havingValue = "redis", matchIfMissing = true)
+public class RedisQueueEventBus implements QueueEventBus {
+
+  static final String ALLOWED_IN_CHANNEL = "queue:allowed-in";
+
+  private final ReactiveRedisTemplate<String, String> redis;
+  private final ReactiveRedisMessageListenerContainer listenerContainer;
+  private final QueueStatusNotifier notifier;
+  private final QueueProgressTracker progressTracker;
+  private final int maxBatchSize;
+  private final long windowMillis;
+  private final Scheduler scheduler = Schedulers.parallel();
+
+  private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingSize = new AtomicInteger();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  private Disposable subscription;
+
+  public RedisQueueEventBus(
+      ReactiveRedisTemplate<String, String> redis,
+      ReactiveRedisMessageListenerContainer listenerContainer,
+      QueueStatusNotifier notifier,
+      QueueProgressTracker progressTracker,
+      @Value("${queue.allowed-in-bus.max-batch-size:1000}") int maxBatchSize,
+      @Value("${queue.allowed-in-bus.window-millis:5}") long windowMillis
+  ) {
+    this.redis = redis;
+    this.listenerContainer = listenerContainer;
+    this.notifier = notifier;
+    this.progressTracker = progressTracker;
+    this.maxBatchSize = maxBatchSize;
+    this.windowMillis = windowMillis;
+  }
+
+  @PostConstruct
+  void subscribe() {
+    subscription = listenerContainer.receive(ChannelTopic.of(ALLOWED_IN_CHANNEL))
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofSeconds(30))
+            .doBeforeRetry(signal -> log.warn("입장 허용 알림 구독 재시도", signal.failure())))
+        .subscribe(message -> deliver(message.getMessage()));
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  @Override
+  public void publishAllowedIn(String queueId, List<String> userIds) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+
+    userIds.forEach(userId -> pending.offer(queueId + ":" + userId));
+
+    if (pendingSize.addAndGet(userIds.size()) >= maxBatchSize) {
+      flush();
+    } else if (flushScheduled.compareAndSet(false, true)) {
+      scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void flush() {
+    flushScheduled.set(false);
+
+    // 한 번에 모인 인원이 많으면 최대 크기씩 나눠서 발행
+    List<String> drained = new ArrayList<>(maxBatchSize);
+    String entry;
+    while ((entry = pending.poll()) != null) {
+      drained.add(entry);
+      if (drained.size() == maxBatchSize) {
+        publish(drained);
+        drained = new ArrayList<>(maxBatchSize);
+      }
+    }
+    if (!drained.isEmpty()) {
+      publish(drained);
+    }
+  }
+
+  private void publish(List<String> entries) {
+    pendingSize.addAndGet(-entries.size());
+    String message = String.join("\n", entries);
+
+    redis.convertAndSend(ALLOWED_IN_CHANNEL, message)
+        .subscribe(
+            receivers -> {
+            },
+            error -> {
+              // 발행에 실패해도 이 노드에 연결된 사용자에게는 전달
+              log.error("입장 허용 알림 발행 실패 - 인원: {}", entries.size(), error);
+              deliver(message);
+            }
+        );
+  }
+
+  private void deliver(String message) {
+    // 대기열별 입장 인원 (같은 대기열의 입장은 연속으로 발행됨)
+    String currentQueueId = null;
+    int admitted = 0;
+
+    for (String entry : message.split("\n")) {
+      int separator = entry.indexOf(':');
+      if (separator > 0) {
+        String queueId = entry.substring(0, separator);
+        notifier.notifyAllowedIn(queueId, entry.substring(separator + 1));
+
+        if (!queueId.equals(currentQueueId)) {
+          if (currentQueueId != null) {
+            progressTracker.onAdmitted(currentQueueId, admitted);
+          }
+          currentQueueId = queueId;
+          admitted = 0;
+        }
+        admitted++;
+      }
+    }
+    if (currentQueueId != null) {
+      progressTracker.onAdmitted(currentQueueId, admitted);
+    }
+  }
+}
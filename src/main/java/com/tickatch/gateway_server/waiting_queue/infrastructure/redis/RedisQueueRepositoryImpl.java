@@ -2,78 +2,189 @@ package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
 
 import static com.tickatch.gateway_server.waiting_queue.application.exception.QueueErrorCode.USER_ID_NOT_FOUND;
 
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
 import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
 import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveAllowedUserResult;
 import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveExpiredUsersResult;
+import com.tickatch.gateway_server.waiting_queue.application.dto.UserQueueStatus;
 import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
 import com.tickatch.gateway_server.waiting_queue.application.port.QueueRepository;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties.LineupBatchPolicy;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties.PositionMode;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.index.LocalQueueIndexes;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
 @Slf4j
+@ConditionalOnProperty(name = "queue.repository", havingValue = "redis", matchIfMissing = true)
 public class RedisQueueRepositoryImpl implements QueueRepository {
 
-  private static final String COUNTER_KEY = "queue:counter";
-  private static final String WAITING_QUEUE_KEY = "queue:wait";
-  private static final String ALLOWED_IN_HASH_KEY = "allowedIn:users";
-  private final int allowedInDurationSeconds;
-  private final int allowedInUsersMaxCap;
+  // 한 번의 정리 스크립트에서 만료 처리할 최대 인원 (Redis 블로킹 시간 제한)
+  private static final int CLEANUP_BATCH_SIZE = 1000;
+  // 여러 사용자의 순번을 조회할 때 한 번에 보내는 최대 인원 (ZMSCORE 인자 수, 파이프라인 길이)
+  private static final int STATUS_CHUNK_SIZE = 500;
+  // 같은 대기열의 활동을 대기열 목록에 다시 기록하는 최소 간격 (노드별)
+  private static final long REGISTRY_TOUCH_INTERVAL_SECONDS = 30;
+  // 마지막 활동 후 이 시간이 지난 대기열은 활성 대기열 목록에서 제거
+  private static final long REGISTRY_RETENTION_SECONDS = 600;
+  // 이 시간 동안 반영 지점을 공유하지 않은 노드는 종료된 것으로 보고 제외
+  private static final long REFRESH_WATERMARK_TIMEOUT_MILLIS = 30_000;
+
+  private final QueueProperties queueProperties;
 
   private final ReactiveRedisTemplate<String, String> redis;
 
-  private final RedisScript<String> lineupScript;
-  private final RedisScript<List> removeAllowedUserIdScript;
-  private final RedisScript<List> cleanupExpiredUserIdsScript;
+  private final QueueScripts scripts;
+
+  // 노드별 인메모리 순번 인덱스 (queue.position-mode=local)
+  private final LocalQueueIndexes localQueueIndexes;
+
+  // 노드별 입장 허용 사용자 캐시
+  private final AllowedInCache allowedInCache;
+
+  private final QueueMetrics queueMetrics;
+
+  // 대기열 등록 요청을 모아 한 번의 스크립트로 처리 (비활성화 시 null)
+  private final LineupBatcher lineupBatcher;
+
+  // 입장 허용 시각 갱신을 모아 주기적으로 반영 (비활성화 시 null)
+  private final RefreshWriteBehind refreshWriteBehind;
+
+  // 대기열별 head/tail 순번 캐시 (순번 추정용)
+  private final Map<String, Mono<QueueOffsets>> offsetsCache = new ConcurrentHashMap<>();
+
+  // 대기열별 만료 인덱스 채우기 HSCAN 커서 (만료 인덱스가 없던 때의 입장 허용 사용자용, 다 채우면 제거)
+  private final Map<String, String> expiryBackfillCursors = new ConcurrentHashMap<>();
+
+  // 대기열별로 이 노드가 마지막으로 활성 대기열 목록에 기록한 시각
+  private final Map<String, Long> registryTouchedAt = new ConcurrentHashMap<>();
+
+  // 입장 허용 시각 갱신 반영 지점을 공유할 때 쓰는 노드 ID
+  private final String nodeId = UUID.randomUUID().toString();
 
   public RedisQueueRepositoryImpl(
       ReactiveRedisTemplate<String, String> redis,
-      @Value("${queue.max-capacity}") int maxCap,
-      @Value("${queue.allowed-in-duration-seconds}") int durSec,
-      RedisScript<String> lineupScript,
-      RedisScript<List> removeAllowedUserIdScript,
-      RedisScript<List> cleanupExpiredUserIdsScript
-
+      QueueProperties queueProperties,
+      QueueScripts scripts,
+      LocalQueueIndexes localQueueIndexes,
+      AllowedInCache allowedInCache,
+      QueueMetrics queueMetrics
   ) {
     this.redis = redis;
-    this.allowedInUsersMaxCap = maxCap;
-    this.allowedInDurationSeconds = durSec;
-    this.lineupScript = lineupScript;
-    this.removeAllowedUserIdScript = removeAllowedUserIdScript;
-    this.cleanupExpiredUserIdsScript = cleanupExpiredUserIdsScript;
+    this.queueProperties = queueProperties;
+    this.scripts = scripts;
+    this.localQueueIndexes = localQueueIndexes;
+    this.allowedInCache = allowedInCache;
+    this.queueMetrics = queueMetrics;
+
+    LineupBatchPolicy lineupBatch = queueProperties.getLineupBatch();
+    this.lineupBatcher = lineupBatch.getWindowMillis() > 0 && lineupBatch.getMaxSize() > 1
+        ? new LineupBatcher(lineupBatch.getMaxSize(), lineupBatch.getWindowMillis(), this::lineUpBatch)
+        : null;
+    long refreshIntervalMillis = queueProperties.getRefreshWriteBehind().getIntervalMillis();
+    this.refreshWriteBehind = refreshIntervalMillis > 0
+        ? new RefreshWriteBehind(refreshIntervalMillis, this::refreshAllowedInTimestamps, this::reportRefreshWatermark)
+        : null;
+  }
+
+  // 아직 반영하지 않은 입장 허용 시각 갱신을 종료 전에 반영
+  @PreDestroy
+  void flushPendingRefreshes() {
+    if (refreshWriteBehind != null) {
+      refreshWriteBehind.close(Duration.ofSeconds(3));
+      // 남은 갱신을 모두 반영했으므로 다른 노드가 이 노드의 반영 지점을 기다리지 않도록 제거
+      redis.opsForHash().remove(QueueKeys.REFRESH_WATERMARKS_KEY, nodeId)
+          .onErrorResume(error -> Mono.empty())
+          .block(Duration.ofSeconds(1));
+    }
   }
 
   //  같은 토큰으로 요청할 때마다 새로운 대기번호가 부여됨
   //  입장 가능하면 기다리지 않고 바로 입장
-  public Mono<String> lineUp(String userId) {
-    List<String> keys = Arrays.asList(ALLOWED_IN_HASH_KEY, COUNTER_KEY, WAITING_QUEUE_KEY);
-    List<String> args = Arrays.asList(userId, String.valueOf(allowedInUsersMaxCap),
-        String.valueOf(Instant.now().getEpochSecond()));
+  //  동시에 들어온 요청은 묶어서 한 번의 스크립트로 처리 (queue.lineup-batch)
+  public Mono<String> lineUp(String queueId, String userId) {
+    Mono<String> result = lineupBatcher != null
+        ? lineupBatcher.submit(queueId, userId)
+        : lineUpSingle(queueId, userId);
 
-    return redis.execute(lineupScript, keys, args)
-        .next()
-        .map(result -> switch (result) {
+    return touchRegistry(queueId)
+        .then(result)
+        .doOnNext(status -> queueMetrics.recordLineup(queueId, userId, status))
+        .map(status -> switch (status) {
           case "ALREADY_ALLOWED" -> "이미 입장 가능한 상태입니다.";
           case "ALLOWED" -> "바로 입장 가능합니다.";
           default -> "대기열에 등록되었습니다.";
         });
   }
 
-  public Mono<QueueStatusResponse> getCurrentStatus(String userId) {
+  private Mono<String> lineUpSingle(String queueId, String userId) {
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.allowedInHash(), queueKeys.counter(),
+        queueKeys.waitingQueue(), queueKeys.allowedInExpiry(), queueKeys.version(), queueKeys.changes());
+    List<String> args = Arrays.asList(userId, String.valueOf(queueProperties.maxCapacityOf(queueId)),
+        String.valueOf(Instant.now().getEpochSecond()));
+
+    return queueMetrics.timeScript("lineup", redis.execute(scripts.lineup(), keys, args)).next();
+  }
+
+  // 요청 순서대로 사용자별 등록 결과(ALLOWED, QUEUED, ALREADY_ALLOWED)를 반환
+  private Mono<List<String>> lineUpBatch(String queueId, List<String> userIds) {
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.allowedInHash(), queueKeys.counter(),
+        queueKeys.waitingQueue(), queueKeys.allowedInExpiry(), queueKeys.version(), queueKeys.changes());
+    List<String> args = new ArrayList<>(userIds.size() + 2);
+    args.add(String.valueOf(queueProperties.maxCapacityOf(queueId)));
+    args.add(String.valueOf(Instant.now().getEpochSecond()));
+    args.addAll(userIds);
+
+    return queueMetrics.timeScript("lineup-batch", redis.execute(scripts.lineupBatch(), keys, args))
+        .next()
+        .map(result -> ((List<Object>) result).stream()
+            .map(Object::toString)
+            .toList());
+  }
+
+  public Mono<QueueStatusResponse> getCurrentStatus(String queueId, String userId) {
+    PositionMode positionMode = queueProperties.getPositionMode();
+    if (positionMode == PositionMode.EXACT) {
+      return getExactStatus(queueId, userId);
+    }
+    if (positionMode == PositionMode.LOCAL) {
+      // 인덱스 동기화 중이거나 방금 등록되어 아직 변경 이벤트가 반영되지 않은 사용자는 Redis에서 조회
+      return Mono.justOrEmpty(localQueueIndexes.statusOf(queueId, userId))
+          .switchIfEmpty(Mono.defer(() -> getExactStatus(queueId, userId)));
+    }
+    return getEstimatedStatus(queueId, userId);
+  }
+
+  public Mono<QueueStatusResponse> getExactStatus(String queueId, String userId) {
+    String waitingQueueKey = QueueKeys.of(queueId).waitingQueue();
+
     // 순번 구하기
-    Mono<Long> positionMono = redis.opsForZSet().rank(WAITING_QUEUE_KEY, userId)
+    Mono<Long> positionMono = redis.opsForZSet().rank(waitingQueueKey, userId)
         .switchIfEmpty(Mono.error(new QueueException(USER_ID_NOT_FOUND)))
         .map(pos -> pos + 1); // redis zset은 순번이 0부터 시작함
 
     // 큐 길이 구하기
-    Mono<Long> queueSizeMono = redis.opsForZSet().size(WAITING_QUEUE_KEY);
+    Mono<Long> queueSizeMono = redis.opsForZSet().size(waitingQueueKey);
 
     return Mono.zip(positionMono, queueSizeMono).map(tuple -> {
       Long userPos = tuple.getT1();
@@ -84,56 +195,327 @@ public class RedisQueueRepositoryImpl implements QueueRepository {
     });
   }
 
-  public Mono<Boolean> isAlreadyAllowedIn(String userId) {
-    return redis.opsForHash().hasKey(ALLOWED_IN_HASH_KEY, userId);
+  // 사용자 순번(ZSCORE) 1회 조회 + 캐시된 head/tail 순번으로 대기 순번 추정
+  // 중간에 이탈한 인원(tail - head - 대기 인원)이 구간에 고르게 퍼져 있다고 보고 비율로 보정하며,
+  // 중간 이탈이 없으면 정확한 순번과 같다.
+  private Mono<QueueStatusResponse> getEstimatedStatus(String queueId, String userId) {
+    Mono<Long> sequenceMono = redis.opsForZSet().score(QueueKeys.of(queueId).waitingQueue(), userId)
+        .switchIfEmpty(Mono.error(new QueueException(USER_ID_NOT_FOUND)))
+        .map(Double::longValue);
+
+    return Mono.zip(sequenceMono, getOffsets(queueId))
+        .map(tuple -> estimateStatus(tuple.getT1(), tuple.getT2()));
+  }
+
+  private QueueStatusResponse estimateStatus(long sequence, QueueOffsets offsets) {
+    long ahead = Math.max(sequence - offsets.head(), 1);
+    // 캐시 이후에 들어온 사용자는 tail보다 순번이 클 수 있음
+    long span = Math.max(offsets.tail() - offsets.head(), ahead);
+    long queueSize = Math.max(offsets.size(), 1);
+
+    long userPos = Math.max((long) Math.ceil((double) ahead * queueSize / span), 1);
+    long totalQueueSize = Math.max(queueSize, userPos);
+
+    return new QueueStatusResponse(totalQueueSize, userPos, totalQueueSize - userPos);
+  }
+
+  // 대기열 전체가 아니라 요청한 사용자 수에 비례하는 만큼만 조회
+  public Flux<UserQueueStatus> getStatuses(String queueId, List<String> userIds) {
+    PositionMode positionMode = queueProperties.getPositionMode();
+
+    return Flux.fromIterable(userIds)
+        .buffer(STATUS_CHUNK_SIZE)
+        .concatMap(chunk -> switch (positionMode) {
+          case EXACT -> getExactStatuses(queueId, chunk);
+          case ESTIMATED -> getEstimatedStatuses(queueId, chunk);
+          case LOCAL -> getLocalStatuses(queueId, chunk);
+        });
+  }
+
+  // ZCARD 1회 + 사용자별 ZRANK (같은 커넥션으로 파이프라인 전송)
+  private Flux<UserQueueStatus> getExactStatuses(String queueId, List<String> userIds) {
+    String waitingQueueKey = QueueKeys.of(queueId).waitingQueue();
+
+    return redis.opsForZSet().size(waitingQueueKey)
+        .flatMapMany(queueSize -> Flux.fromIterable(userIds)
+            .flatMapSequential(userId -> redis.opsForZSet().rank(waitingQueueKey, userId)
+                .map(rank -> {
+                  long userPos = rank + 1;
+                  long totalQueueSize = Math.max(queueSize, userPos);
+                  return new UserQueueStatus(userId,
+                      new QueueStatusResponse(totalQueueSize, userPos, totalQueueSize - userPos));
+                }), STATUS_CHUNK_SIZE));
   }
 
-  public Mono<Void> refreshAllowedInTimestamp(String userId) {
-    return redis.opsForHash().hasKey(ALLOWED_IN_HASH_KEY, userId)
-        .flatMap(exists -> {
-          if (exists) {
-            String timestamp = String.valueOf(Instant.now().getEpochSecond());
-            return redis.opsForHash()
-                .put(ALLOWED_IN_HASH_KEY, userId, timestamp)
-                .then();
+  // ZMSCORE 1회 + 캐시된 head/tail 순번으로 추정
+  private Flux<UserQueueStatus> getEstimatedStatuses(String queueId, List<String> userIds) {
+    Mono<List<Double>> sequencesMono = redis.opsForZSet()
+        .score(QueueKeys.of(queueId).waitingQueue(), userIds.toArray());
+
+    return Mono.zip(sequencesMono, getOffsets(queueId))
+        .flatMapIterable(tuple -> {
+          List<Double> sequences = tuple.getT1();
+          List<UserQueueStatus> statuses = new ArrayList<>(userIds.size());
+          for (int i = 0; i < userIds.size(); i++) {
+            Double sequence = sequences.get(i);
+            if (sequence != null) {
+              statuses.add(new UserQueueStatus(userIds.get(i), estimateStatus(sequence.longValue(), tuple.getT2())));
+            }
           }
-          return Mono.empty();
+          return statuses;
         });
   }
 
-  // 스케줄러가 주기적으로 호출할 메소드
-  public Mono<RemoveExpiredUsersResult> cleanupExpiredUserIds() {
+  // 인덱스에 아직 반영되지 않은 사용자만 Redis에서 조회
+  private Flux<UserQueueStatus> getLocalStatuses(String queueId, List<String> userIds) {
+    List<UserQueueStatus> statuses = new ArrayList<>(userIds.size());
+    List<String> missing = new ArrayList<>();
+    for (String userId : userIds) {
+      localQueueIndexes.statusOf(queueId, userId).ifPresentOrElse(
+          status -> statuses.add(new UserQueueStatus(userId, status)),
+          () -> missing.add(userId));
+    }
+
+    return missing.isEmpty()
+        ? Flux.fromIterable(statuses)
+        : Flux.fromIterable(statuses).concatWith(getExactStatuses(queueId, missing));
+  }
+
+  private Mono<QueueOffsets> getOffsets(String queueId) {
+    return offsetsCache.computeIfAbsent(queueId, this::loadOffsets);
+  }
+
+  private Mono<QueueOffsets> loadOffsets(String queueId) {
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.counter(), queueKeys.head(), queueKeys.waitingQueue());
+    Duration ttl = Duration.ofMillis(queueProperties.getPositionOffsetCacheMillis());
+
+    return queueMetrics.timeScript("queue-offsets", redis.execute(scripts.queueOffsets(), keys, List.of()))
+        .next()
+        .map(result -> {
+          List<Object> resultList = (List<Object>) result;
+          return new QueueOffsets(
+              Long.parseLong(resultList.get(0).toString()),
+              Long.parseLong(resultList.get(1).toString()),
+              Long.parseLong(resultList.get(2).toString())
+          );
+        })
+        // 성공한 값만 ttl 동안 재사용하고, 실패는 캐시하지 않음
+        .cache(offsets -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+  }
+
+  // 캐시에 있으면 Redis를 조회하지 않음 (입장 권한 회수 시 무효화됨)
+  public Mono<Boolean> isAlreadyAllowedIn(String queueId, String userId) {
+    if (allowedInCache.contains(queueId, userId)) {
+      return Mono.just(true);
+    }
+
+    long generation = allowedInCache.generation();
+    return redis.opsForHash().hasKey(QueueKeys.of(queueId).allowedInHash(), userId)
+        .doOnNext(allowed -> {
+          if (allowed) {
+            allowedInCache.put(queueId, userId, generation);
+          }
+        });
+  }
+
+  // 캐시에 있는 입장 허용 사용자는 Redis 조회 없이 통과, 그 외에는 gate.lua 한 번으로 처리
+  public Mono<QueueGateResult> passGate(String queueId, String userId, boolean refresh, boolean exact) {
+    if (allowedInCache.contains(queueId, userId)) {
+      return (refresh ? refreshAllowedInTimestamp(queueId, userId) : Mono.<Void>empty())
+          .thenReturn(QueueGateResult.allowed());
+    }
+
+    // 지연 쓰기가 켜져 있으면 스크립트에서 갱신하지 않고 모아서 반영
+    boolean refreshInScript = refresh && refreshWriteBehind == null;
+    // 추정 순번은 estimated 모드에서만 사용 (local 모드의 인덱스는 Redis 스크립트 안에서 쓸 수 없어 정확한 순번 조회)
+    boolean exactPosition = exact || queueProperties.getPositionMode() != PositionMode.ESTIMATED;
+    long timestamp = Instant.now().getEpochSecond();
+    long generation = allowedInCache.generation();
+
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.allowedInHash(), queueKeys.allowedInExpiry(),
+        queueKeys.waitingQueue(), queueKeys.head(), queueKeys.counter());
+    List<String> args = Arrays.asList(userId, String.valueOf(timestamp),
+        refreshInScript ? "1" : "0", exactPosition ? "1" : "0");
+
+    return queueMetrics.timeScript("gate", redis.execute(scripts.gate(), keys, args))
+        .next()
+        .map(result -> {
+          List<Object> resultList = (List<Object>) result;
+          switch (resultList.get(0).toString()) {
+            case "ALLOWED" -> {
+              allowedInCache.put(queueId, userId, generation);
+              if (refresh && refreshWriteBehind != null) {
+                refreshWriteBehind.submit(queueId, userId, timestamp);
+              }
+              return QueueGateResult.allowed();
+            }
+            case "WAITING" -> {
+              long userPos = Long.parseLong(resultList.get(1).toString());
+              long queueSize = Long.parseLong(resultList.get(2).toString());
+              return QueueGateResult.waiting(new QueueStatusResponse(queueSize, userPos, queueSize - userPos));
+            }
+            default -> {
+              return QueueGateResult.notInQueue();
+            }
+          }
+        });
+  }
+
+  // 입장 허용 해시와 만료 인덱스를 한 번의 스크립트 호출로 함께 갱신
+  // 지연 쓰기가 켜져 있으면 노드 메모리에 모아 두었다가 주기적으로 한 번에 반영 (queue.refresh-write-behind)
+  public Mono<Void> refreshAllowedInTimestamp(String queueId, String userId) {
+    if (refreshWriteBehind != null) {
+      refreshWriteBehind.submit(queueId, userId, Instant.now().getEpochSecond());
+      return Mono.empty();
+    }
+
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.allowedInHash(), queueKeys.allowedInExpiry());
+    List<String> args = Arrays.asList(userId, String.valueOf(Instant.now().getEpochSecond()));
+
+    return queueMetrics.timeScript("refresh-allowed-in-timestamp",
+            redis.execute(scripts.refreshAllowedInTimestamp(), keys, args))
+        .next()
+        // 이미 입장 권한이 회수된 사용자면 캐시에서도 제거
+        .doOnNext(refreshed -> {
+          if (refreshed == 0) {
+            allowedInCache.invalidate(queueId, userId);
+          }
+        })
+        .then();
+  }
+
+  // 모아 둔 갱신을 한 번의 스크립트 호출로 반영하고, 이미 입장 권한이 회수된 사용자는 캐시에서 제거
+  private Mono<Void> refreshAllowedInTimestamps(String queueId, Map<String, Long> timestamps) {
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.allowedInHash(), queueKeys.allowedInExpiry());
+    List<String> args = new ArrayList<>(timestamps.size() * 2);
+    timestamps.forEach((userId, timestamp) -> {
+      args.add(userId);
+      args.add(String.valueOf(timestamp));
+    });
+
+    return queueMetrics.timeScript("refresh-allowed-in-timestamps",
+            redis.execute(scripts.refreshAllowedInTimestamps(), keys, args))
+        .next()
+        .doOnNext(revokedUserIds -> ((List<Object>) revokedUserIds)
+            .forEach(revokedUserId -> allowedInCache.invalidate(queueId, revokedUserId.toString())))
+        .then();
+  }
+
+  // 이 노드의 반영 지점을 기록하고, 공유가 끊기지 않은 노드 중 가장 오래된 반영 지점을 반환 (끊긴 노드는 제거)
+  private Mono<Long> reportRefreshWatermark(long flushedThroughMillis) {
+    long now = System.currentTimeMillis();
+    return redis.<String, String>opsForHash()
+        .put(QueueKeys.REFRESH_WATERMARKS_KEY, nodeId, flushedThroughMillis + ":" + now)
+        .thenMany(redis.<String, String>opsForHash().entries(QueueKeys.REFRESH_WATERMARKS_KEY))
+        .collectList()
+        .flatMap(entries -> {
+          long oldest = flushedThroughMillis;
+          List<Object> timedOutNodeIds = new ArrayList<>();
+          for (Map.Entry<String, String> entry : entries) {
+            // value = "반영 지점:공유 시각"
+            int separator = entry.getValue().indexOf(':');
+            long watermark = Long.parseLong(entry.getValue().substring(0, separator));
+            long reportedAt = Long.parseLong(entry.getValue().substring(separator + 1));
+            if (now - reportedAt > REFRESH_WATERMARK_TIMEOUT_MILLIS) {
+              timedOutNodeIds.add(entry.getKey());
+            } else {
+              oldest = Math.min(oldest, watermark);
+            }
+          }
+
+          Mono<Long> removal = timedOutNodeIds.isEmpty()
+              ? Mono.empty()
+              : redis.opsForHash().remove(QueueKeys.REFRESH_WATERMARKS_KEY, timedOutNodeIds.toArray());
+          return removal.thenReturn(oldest);
+        });
+  }
+
+  // 입장 처리 스케줄러가 주기적으로 호출할 메소드 (만료 정리 + 빈 슬롯만큼 대기자 입장)
+  public Mono<RemoveExpiredUsersResult> cleanupExpiredUserIds(String queueId) {
+    // 지연 쓰기로 Redis의 갱신 시각이 늦을 수 있는 만큼(모든 노드 중 가장 늦은 만큼) 만료를 늦춰 일찍 만료되지 않도록 함
+    int allowedInDurationSeconds = queueProperties.allowedInDurationSecondsOf(queueId)
+        + (refreshWriteBehind != null ? (int) refreshWriteBehind.stalenessSeconds() : 0);
     long expiryTimestamp = Instant.now().getEpochSecond() - allowedInDurationSeconds;
 
-    List<String> keys = Arrays.asList(ALLOWED_IN_HASH_KEY, WAITING_QUEUE_KEY);
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.allowedInHash(), queueKeys.waitingQueue(),
+        queueKeys.allowedInExpiry(), queueKeys.head(), queueKeys.version(), queueKeys.changes(),
+        queueKeys.revoked());
     List<String> args = Arrays.asList(
         String.valueOf(expiryTimestamp),
-        String.valueOf(Instant.now().getEpochSecond())
+        String.valueOf(Instant.now().getEpochSecond()),
+        String.valueOf(CLEANUP_BATCH_SIZE),
+        String.valueOf(queueProperties.maxCapacityOf(queueId)),
+        expiryBackfillCursors.getOrDefault(queueId, "0")
     );
 
-    return redis.execute(cleanupExpiredUserIdsScript, keys, args)
-        .next().flatMap(result -> Mono.just(new RemoveExpiredUsersResult((List<String>) result)));
+    return queueMetrics.timeScript("cleanup-expired-user-ids",
+            redis.execute(scripts.cleanupExpiredUserIds(), keys, args))
+        .next()
+        .map(result -> {
+          List<Object> resultList = (List<Object>) result;
+          List<String> userIds = ((List<Object>) resultList.get(0)).stream()
+              .map(Object::toString)
+              .toList();
+          long freeSlots = Long.parseLong(resultList.get(1).toString());
+          long waitingCount = Long.parseLong(resultList.get(2).toString());
+          long oldestTimestamp = Long.parseLong(resultList.get(3).toString());
+          // 다른 노드는 회수 알림으로, 이 노드는 바로 캐시에서 제거
+          List<Object> expiredUserIds = (List<Object>) resultList.get(4);
+          expiredUserIds.forEach(expiredUserId -> allowedInCache.invalidate(queueId, expiredUserId.toString()));
+          long allowedCount = Long.parseLong(resultList.get(5).toString());
+          String backfillCursor = resultList.get(6).toString();
+          if ("0".equals(backfillCursor)) {
+            expiryBackfillCursors.remove(queueId);
+          } else {
+            expiryBackfillCursors.put(queueId, backfillCursor);
+          }
+          Long nextExpiryAt = oldestTimestamp >= 0 ? oldestTimestamp + allowedInDurationSeconds : null;
+
+          return new RemoveExpiredUsersResult(userIds, freeSlots, waitingCount, allowedCount,
+              expiredUserIds.size(), nextExpiryAt);
+        })
+        // 대기자나 입장 허용된 사용자가 남아 있는 대기열은 활성 상태로 유지
+        .flatMap(result -> result.waitingCount() > 0 || result.nextExpiryAt() != null
+            ? touchRegistry(queueId).thenReturn(result)
+            : Mono.just(result));
   }
 
-  public Mono<Boolean> removeWaitingUserId(String userId) {
-    return redis.opsForZSet()
-        .remove(WAITING_QUEUE_KEY, userId)
+  // 대기열 변경 이벤트를 함께 발행하도록 스크립트로 제거
+  public Mono<Boolean> removeWaitingUserId(String queueId, String userId) {
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.waitingQueue(), queueKeys.version(), queueKeys.changes());
+
+    return queueMetrics.timeScript("remove-waiting-user-id",
+            redis.execute(scripts.removeWaitingUserId(), keys, List.of(userId)))
+        .next()
         .map(removed -> removed > 0)
         .onErrorReturn(false);
   }
 
-  public Mono<RemoveAllowedUserResult> removeAllowedUserId(String userId) {
-    List<String> keys = Arrays.asList(ALLOWED_IN_HASH_KEY, WAITING_QUEUE_KEY);
+  public Mono<RemoveAllowedUserResult> removeAllowedUserId(String queueId, String userId) {
+    QueueKeys queueKeys = QueueKeys.of(queueId);
+    List<String> keys = Arrays.asList(queueKeys.allowedInHash(), queueKeys.waitingQueue(),
+        queueKeys.allowedInExpiry(), queueKeys.head(), queueKeys.version(), queueKeys.changes(),
+        queueKeys.revoked());
     List<String> args = Arrays.asList(userId, String.valueOf(Instant.now().getEpochSecond()));
 
-    return redis.execute(removeAllowedUserIdScript, keys, args)
+    return queueMetrics.timeScript("remove-allowed-user-id",
+            redis.execute(scripts.removeAllowedUserId(), keys, args))
         .next()
         .flatMap(result -> {
           List<Object> resultList = (List<Object>) result;
           Long removed = Long.parseLong(resultList.get(0).toString());
-          String nextUserId = resultList.get(1) != null ? resultList.get(1).toString() : null;
+          // Lua 테이블의 nil은 배열 끝으로 취급되므로 다음 대기자가 없으면 길이가 1
+          String nextUserId = resultList.size() > 1 && resultList.get(1) != null
+              ? resultList.get(1).toString() : null;
 
           if (removed > 0) {
+            allowedInCache.invalidate(queueId, userId);
             return Mono.just(new RemoveAllowedUserResult(true, nextUserId));
           }
 
@@ -141,4 +523,41 @@ public class RedisQueueRepositoryImpl implements QueueRepository {
         })
         .onErrorReturn(new RemoveAllowedUserResult(false, null));
   }
+
+  // 오래 활동이 없던 대기열은 정리하고, 최근 활동한 대기열 ID 목록을 반환
+  public Flux<String> findActiveQueueIds() {
+    long inactiveBefore = Instant.now().getEpochSecond() - REGISTRY_RETENTION_SECONDS;
+    registryTouchedAt.values().removeIf(touchedAt -> touchedAt < inactiveBefore);
+    offsetsCache.keySet().retainAll(registryTouchedAt.keySet());
+    expiryBackfillCursors.keySet().retainAll(registryTouchedAt.keySet());
+
+    return redis.opsForZSet()
+        .removeRangeByScore(QueueKeys.REGISTRY_KEY, Range.leftUnbounded(Range.Bound.exclusive((double) inactiveBefore)))
+        .thenMany(redis.opsForZSet().range(QueueKeys.REGISTRY_KEY, Range.unbounded()));
+  }
+
+  // 대기열 활동을 활성 대기열 목록에 기록
+  // 모든 요청이 같은 키에 쓰지 않도록 노드별로 일정 간격마다 한 번만 기록
+  private Mono<Void> touchRegistry(String queueId) {
+    long now = Instant.now().getEpochSecond();
+    Long touchedAt = registryTouchedAt.get(queueId);
+    if (touchedAt != null && now - touchedAt < REGISTRY_TOUCH_INTERVAL_SECONDS) {
+      return Mono.empty();
+    }
+
+    registryTouchedAt.put(queueId, now);
+    return redis.opsForZSet().add(QueueKeys.REGISTRY_KEY, queueId, now).then();
+  }
+
+  // 순번 추정용 대기열 순번 정보
+  private record QueueOffsets(
+      // 마지막으로 입장한 사용자의 순번
+      long head,
+      // 마지막으로 대기열에 들어온 사용자의 순번
+      long tail,
+      // 대기 인원
+      long size
+  ) {
+
+  }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache.RevocationFeed;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+/**
+ * 입장 권한 회수 알림 구독.
+ *
+ * <p>만료 정리/퇴장 스크립트가 입장 권한을 회수하면서 발행하는 알림({@code allowedIn:{id}:revoked})을 구독해
+ * {@link AllowedInCache}에 전달한다.
+ *
+ * <p>RESP3 CLIENT TRACKING은 키 단위로 무효화하므로, 갱신 요청마다 HSET되는 입장 허용 해시에는 맞지 않아
+ * 사용자 단위로 회수 알림을 발행하는 방식을 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "queue.repository", havingValue = "redis", matchIfMissing = true)
+public class RedisRevocationFeed implements RevocationFeed {
+
+  private final ReactiveRedisMessageListenerContainer listenerContainer;
+
+  private Disposable subscription;
+
+  @Override
+  public synchronized void start(AllowedInCache cache) {
+    if (subscription != null) {
+      return;
+    }
+
+    // 구독이 등록되기 전(또는 끊긴 동안)의 회수 알림은 받지 못하므로 캐시를 비우고 시작
+    subscription = listenerContainer.receiveLater(PatternTopic.of(QueueKeys.REVOKED_CHANNEL_PATTERN))
+        .doOnNext(messages -> cache.onFeedConnected())
+        .flatMapMany(messages -> messages)
+        .doOnError(error -> cache.onFeedDisconnected())
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofSeconds(30))
+            .doBeforeRetry(signal -> log.warn("입장 권한 회수 알림 구독 재시도", signal.failure())))
+        .subscribe(message -> {
+          String queueId = QueueKeys.queueIdOfChannel(message.getChannel());
+          if (queueId != null) {
+            for (String userId : message.getMessage().split("\n")) {
+              cache.invalidate(queueId, userId);
+            }
+          }
+        });
+  }
+
+  @PreDestroy
+  synchronized void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+}
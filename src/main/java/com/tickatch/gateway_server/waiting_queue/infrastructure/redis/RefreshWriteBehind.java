@@ -0,0 +1,133 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 입장 허용 타임스탬프 갱신 지연 쓰기.
+ *
+ * <p>예매 API 요청마다 Redis에 쓰지 않고, 사용자별 마지막 갱신 시각만 노드 메모리에 모아 두었다가
+ * intervalMillis마다 대기열별로 한 번에 반영한다. 같은 사용자가 주기 안에 여러 번 요청해도 쓰기는 한 번이다.
+ *
+ * <p>Redis에 기록된 시각은 실제 마지막 요청 시각보다 늦을 수 있으므로, 만료 정리는 {@link #stalenessSeconds()}만큼
+ * 기준 시각을 늦춰 사용자가 일찍 만료되지 않도록 한다. 반영이 주기보다 오래 걸리거나(이전 반영이 끝나지 않아 주기를 건너뜀)
+ * 실패해 다시 시도하는 동안에도 맞도록, 이 값은 실패 없이 끝난 마지막 반영의 시작 시각으로부터 잰다.
+ *
+ * <p>만료 정리는 모든 노드에서 실행되므로 다른 노드에 모여 있는 갱신도 고려해야 한다. 반영 주기마다 이 노드의 반영 지점을
+ * watermarkReporter로 공유하고 받은 클러스터 전체에서 가장 오래된 반영 지점을 함께 사용해, 한 노드의 반영이 늦어지거나
+ * 실패하면 모든 노드의 만료 정리가 그만큼 늦춰진다. 공유에 실패하면 마지막으로 받은 값을 그대로 사용한다.
+ */
+@Slf4j
+class RefreshWriteBehind {
+
+  // 한 번의 스크립트 호출로 반영할 최대 인원 (Lua unpack 인자 수 제한)
+  private static final int MAX_FLUSH_SIZE = 1000;
+
+  private final long intervalMillis;
+  // (queueId, userId -> 갱신 시각) -> 반영 완료 신호
+  private final BiFunction<String, Map<String, Long>, Mono<Void>> flusher;
+  // 이 노드의 반영 지점 -> 클러스터 전체에서 가장 오래된 반영 지점 (epoch millis)
+  private final Function<Long, Mono<Long>> watermarkReporter;
+
+  // 대기열별 아직 반영하지 않은 갱신 (userId -> 마지막 갱신 시각)
+  private final Map<String, Map<String, Long>> pending = new ConcurrentHashMap<>();
+  private final AtomicBoolean flushing = new AtomicBoolean();
+  private final Disposable task;
+  // 이 시각 이전에 모인 갱신은 모두 반영됨 (실패 없이 끝난 마지막 반영의 시작 시각, epoch millis)
+  private volatile long flushedThroughMillis = System.currentTimeMillis();
+  // 마지막으로 받은 클러스터 전체에서 가장 오래된 반영 지점
+  private volatile long clusterFlushedThroughMillis = flushedThroughMillis;
+
+  RefreshWriteBehind(
+      long intervalMillis,
+      BiFunction<String, Map<String, Long>, Mono<Void>> flusher,
+      Function<Long, Mono<Long>> watermarkReporter
+  ) {
+    this.intervalMillis = intervalMillis;
+    this.flusher = flusher;
+    this.watermarkReporter = watermarkReporter;
+    // 시작하자마자 한 번 공유해 다른 노드의 반영 지점을 받아 둠
+    this.task = Schedulers.parallel().schedulePeriodically(
+        () -> flush().subscribe(), 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  void submit(String queueId, String userId, long timestamp) {
+    pending.computeIfAbsent(queueId, id -> new ConcurrentHashMap<>())
+        .merge(userId, timestamp, Math::max);
+  }
+
+  // 클러스터 전체에서 마지막으로 모두 반영된 시점부터 지난 시간(최소 반영 주기) + 반영에 걸리는 시간 여유(1초)
+  long stalenessSeconds() {
+    long watermark = Math.min(flushedThroughMillis, clusterFlushedThroughMillis);
+    long lagMillis = Math.max(System.currentTimeMillis() - watermark, intervalMillis);
+    return TimeUnit.MILLISECONDS.toSeconds(lagMillis + 999) + 1;
+  }
+
+  // 남은 갱신을 모두 반영하고 주기 작업 종료
+  void close(Duration timeout) {
+    task.dispose();
+    flush().block(timeout);
+  }
+
+  private Mono<Void> flush() {
+    if (!flushing.compareAndSet(false, true)) {
+      return Mono.empty();
+    }
+
+    long startedAt = System.currentTimeMillis();
+    AtomicBoolean failed = new AtomicBoolean();
+    return Flux.fromIterable(pending.entrySet())
+        .concatMap(entry -> flush(entry.getKey(), entry.getValue(), failed))
+        .doOnComplete(() -> {
+          if (!failed.get()) {
+            flushedThroughMillis = startedAt;
+          }
+        })
+        .then(Mono.defer(() -> watermarkReporter.apply(flushedThroughMillis)))
+        .doOnNext(watermark -> clusterFlushedThroughMillis = watermark)
+        .onErrorResume(error -> {
+          log.warn("입장 허용 시각 갱신 반영 지점 공유 실패", error);
+          return Mono.empty();
+        })
+        .doFinally(signalType -> flushing.set(false))
+        .then();
+  }
+
+  private Mono<Void> flush(String queueId, Map<String, Long> queued, AtomicBoolean failed) {
+    return Flux.fromIterable(queued.entrySet())
+        .buffer(MAX_FLUSH_SIZE)
+        .concatMap(entries -> {
+          Map<String, Long> drained = new LinkedHashMap<>(entries.size() * 4 / 3 + 1);
+          entries.forEach(entry -> {
+            // 읽은 뒤에 더 최신 갱신이 들어왔으면 남겨서 다음 주기에 반영
+            if (queued.remove(entry.getKey(), entry.getValue())) {
+              drained.put(entry.getKey(), entry.getValue());
+            }
+          });
+          if (drained.isEmpty()) {
+            return Mono.empty();
+          }
+
+          return flusher.apply(queueId, drained)
+              .onErrorResume(error -> {
+                // 다음 주기에 다시 반영
+                log.error("입장 허용 시각 갱신 반영 실패 - queueId: {}, 인원: {}", queueId, drained.size(), error);
+                failed.set(true);
+                drained.forEach((userId, timestamp) -> queued.merge(userId, timestamp, Math::max));
+                return Mono.empty();
+              });
+        })
+        .then();
+  }
+}
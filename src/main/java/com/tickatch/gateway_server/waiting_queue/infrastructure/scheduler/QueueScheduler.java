@@ -1,14 +1,21 @@
 package com.tickatch.gateway_server.waiting_queue.infrastructure.scheduler;
 
+import com.tickatch.gateway_server.waiting_queue.application.QueueIds;
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.QueueProgressTracker;
 import com.tickatch.gateway_server.waiting_queue.application.QueueStatusNotifier;
+import com.tickatch.gateway_server.waiting_queue.application.StatusPushPolicy;
 import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
-import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusChangeEvent;
-import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveExpiredUsersResult;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
-import org.springframework.data.domain.Range;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
@@ -19,66 +26,179 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class QueueScheduler {
 
-  private static final String WAITING_QUEUE_KEY = "queue:wait";
+  // 한 번의 입장 처리 주기에서 동시에 처리할 대기열 수
+  private static final int ADMISSION_CONCURRENCY = 8;
+  // 대기열에 없는 SSE 구독자의 입장 허용 여부를 동시에 확인할 인원
+  private static final int ALLOWED_IN_RECOVERY_CONCURRENCY = 64;
 
   private final WaitingQueueService queueService;
   private final QueueStatusNotifier notifier;
-  private final ReactiveRedisTemplate<String, String> redis;
+  private final QueueMetrics queueMetrics;
+  private final QueueProperties queueProperties;
+  private final QueueProgressTracker progressTracker;
+  private final StatusPushPolicy statusPushPolicy;
 
-  @Scheduled(fixedRate = 300000, initialDelay = 300000)
-  @SchedulerLock(
-      name = "allowedInUserIdsCleanup",
-      lockAtMostFor = "4m",
-      lockAtLeastFor = "4m"
+  // 입장 처리 대상 대기열 (설정된 대기열 + 최근 활동이 있는 대기열)
+  private volatile Set<String> activeQueueIds = Set.of(QueueIds.DEFAULT_QUEUE_ID);
+  // 대기열별로 다음에 Redis에서 입장 처리를 시도할 시각 (epoch millis)
+  private final Map<String, Long> nextAdmissionAt = new ConcurrentHashMap<>();
+  // 이전 입장 처리가 끝나기 전에 다음 처리가 겹쳐 실행되지 않도록 막음
+  private final AtomicBoolean admissionRunning = new AtomicBoolean();
+  // 대기열별로 마지막 순번 알림 때 확인한 진행 버전
+  private final Map<String, Long> notifiedVersions = new ConcurrentHashMap<>();
+  private final AtomicBoolean statusPushRunning = new AtomicBoolean();
+
+  /**
+   * 입장 처리 대상 대기열 목록 갱신 (5초마다)
+   */
+  @Scheduled(fixedDelay = 5000)
+  public void refreshActiveQueueIds() {
+    queueService.findActiveQueueIds()
+        .collectList()
+        .doOnNext(queueIds -> {
+          Set<String> refreshed = new HashSet<>(queueIds);
+          // 등록이 해제된 대기열(또는 등록 검증 전에 만들어진 대기열)은 처리하지 않음
+          refreshed.removeIf(queueId -> !queueProperties.contains(queueId));
+          refreshed.add(QueueIds.DEFAULT_QUEUE_ID);
+          refreshed.addAll(queueProperties.getEvents().keySet());
+
+          nextAdmissionAt.keySet().retainAll(refreshed);
+          activeQueueIds = Set.copyOf(refreshed);
+        })
+        .onErrorResume(error -> {
+          log.error("활성 대기열 목록 갱신 중 오류 발생", error);
+          return Mono.empty();
+        })
+        .subscribe();
+  }
+
+  /**
+   * 입장 처리 (만료 사용자 정리 + 빈 슬롯만큼 대기자 입장)
+   *
+   * 짧은 주기로 실행되지만, 대기열별로 직전 실행 결과로 받은 다음 만료 시각 전에는 Redis를 조회하지 않는다.
+   * 입장 허용 시간이 끝난 사용자는 만료 시각 후 약 1초 안에 정리되고 대기자가 입장한다.
+   * 스크립트가 원자적으로 실행되므로 여러 노드에서 동시에 실행되어도 중복 입장이 발생하지 않아 ShedLock을 사용하지 않는다.
+   */
+  @Scheduled(
+      fixedDelayString = "${queue.admission-interval-millis:500}",
+      initialDelayString = "${queue.admission-interval-millis:500}"
   )
   public void processNextEntry() {
-    queueService.cleanupExpiredUserIds()
-        .doOnSuccess(v -> log.info("만료 토큰 정리 완료"))
+    long now = System.currentTimeMillis();
+    if (!admissionRunning.compareAndSet(false, true)) {
+      return;
+    }
+
+    Flux.fromIterable(activeQueueIds)
+        .filter(queueId -> now >= nextAdmissionAt.getOrDefault(queueId, 0L))
+        .flatMap(queueId -> admitNextUsers(queueId, now), ADMISSION_CONCURRENCY)
+        .doFinally(signalType -> admissionRunning.set(false))
+        .subscribe();
+  }
+
+  private Mono<Void> admitNextUsers(String queueId, long now) {
+    return queueService.admitNextUsers(queueId)
+        .doOnNext(result -> {
+          queueMetrics.recordAdmission(queueId, result);
+          nextAdmissionAt.put(queueId, calculateNextAdmissionAt(result, now));
+
+          if (!result.userIds().isEmpty()) {
+            log.info("입장 처리 완료 - queueId: {}, 입장 인원: {}, 남은 대기 인원: {}",
+                queueId, result.userIds().size(), result.waitingCount());
+          }
+        })
         .onErrorResume(error -> {
-          log.error("만료 토큰 정리 중 오류 발생", error);
+          log.error("입장 처리 중 오류 발생 - queueId: {}", queueId, error);
           return Mono.empty();  // 에러를 삼켜서 다음 스케줄은 정상 실행되도록
         })
-        .subscribe();
+        .then();
+  }
+
+  // 다음 만료 시각까지는 처리할 대상이 없으므로 건너뜀
+  // 단, 다른 노드의 변경이나 시계 오차를 고려해 최대 대기 시간마다 한 번은 조회
+  private long calculateNextAdmissionAt(RemoveExpiredUsersResult result, long now) {
+    // 한 번에 처리할 수 있는 인원을 넘어 빈 슬롯이 남았다면 바로 다음 주기에 이어서 처리
+    if (result.waitingCount() > 0 && result.freeSlots() > result.userIds().size()) {
+      return now;
+    }
+
+    long maxIdleAt = now + queueProperties.getAdmissionMaxIdleMillis();
+    if (result.nextExpiryAt() == null) {
+      return maxIdleAt;
+    }
+
+    // 만료 판정은 "마지막 갱신 시각 < 현재 - 입장 허용 시간"이므로 만료 시각 1초 후부터 정리 대상
+    long nextExpiryMillis = (result.nextExpiryAt() + 1) * 1000;
+    return Math.min(nextExpiryMillis, maxIdleAt);
   }
 
   /**
-   * 대기열 순번 변경 알림 (10초마다)
+   * 대기열 순번 변경 알림 (1초마다, 모든 노드에서 실행)
+   *
+   * 입장/만료/퇴장으로 대기열 앞쪽이 움직인 대기열(진행 버전이 바뀐 대기열)만 연결된 사용자 전체의 순번을 조회하고,
+   * 움직임이 없는 대기열은 마지막 알림 후 최대 무음 시간이 지난 사용자만 조회한다.
+   * 조회한 순번도 전송 기준({@link StatusPushPolicy})을 넘게 바뀐 사용자에게만 보낸다.
+   * 각 노드는 자신에게 SSE로 연결된 사용자의 순번만 묶어서 조회하므로,
+   * Redis 조회량은 대기열 전체 길이가 아니라 노드별 연결 수에 비례한다.
    *
-   * SSE 구독 중인 사용자에게만 현재 대기열 상태를 전송
-   * 구독자가 없으면 스킵하여 불필요한 Redis 조회 방지
+   * 조회한 사용자 중 대기열에 없는 사용자는 입장 허용 여부를 확인해, 입장 허용 알림 구독이 끊긴 동안 놓친
+   * ALLOWED_IN을 늦어도 최대 무음 시간 안에 다시 보낸다.
    */
-  @Scheduled(fixedRate = 10000, initialDelay = 10000)
-  @SchedulerLock(
-      name = "notifyQueueStatusUpdates",
-      lockAtMostFor = "9s",
-      lockAtLeastFor = "8s"
+  @Scheduled(
+      fixedDelayString = "${queue.status-push.check-interval-millis:1000}",
+      initialDelayString = "${queue.status-push.check-interval-millis:1000}"
   )
   public void notifyQueueStatusUpdates() {
-    if (notifier.getActiveSubscribers() == 0) {
+    Map<String, List<String>> subscribers = notifier.getSubscribersByQueue();
+    notifiedVersions.keySet().retainAll(subscribers.keySet());
+    if (subscribers.isEmpty() || !statusPushRunning.compareAndSet(false, true)) {
       return;
     }
 
-    redis.opsForZSet()
-        .size(WAITING_QUEUE_KEY)
-        .flatMapMany(queueSize -> {
-          if (queueSize == 0) {
-            return Flux.empty();
-          }
+    long now = System.currentTimeMillis();
+    Flux.fromIterable(subscribers.entrySet())
+        .flatMap(entry -> notifyQueueStatusUpdates(entry.getKey(), entry.getValue(), now))
+        .doFinally(signalType -> statusPushRunning.set(false))
+        .subscribe();
+  }
 
-          return redis.opsForZSet().range(WAITING_QUEUE_KEY, Range.unbounded())
-              .index()
-              .doOnNext(tuple -> {
-                long position = tuple.getT1() + 1;
-                String userId = tuple.getT2();
+  private Mono<Void> notifyQueueStatusUpdates(String queueId, List<String> userIds, long now) {
+    long version = progressTracker.version(queueId);
+    Long notifiedVersion = notifiedVersions.get(queueId);
 
-                long usersBehind = queueSize - position;
+    List<String> targets = notifiedVersion != null && notifiedVersion == version
+        ? notifier.filterSilent(queueId, userIds, now - statusPushPolicy.maxSilenceMillis())
+        : userIds;
+    if (targets.isEmpty()) {
+      return Mono.empty();
+    }
 
-                QueueStatusChangeEvent event =  new QueueStatusChangeEvent(
-                    new QueueStatusResponse(queueSize, position, usersBehind)
-                );
+    Set<String> waitingUserIds = new HashSet<>(targets.size() * 4 / 3 + 1);
+    return queueService.getStatuses(queueId, targets)
+        .doOnNext(userStatus -> {
+          waitingUserIds.add(userStatus.userId());
+          notifier.notifyStatusIfChanged(queueId, userStatus.userId(), userStatus.status(), statusPushPolicy, now);
+        })
+        // 조회가 끝난 뒤에 기록해, 조회에 실패하면 다음 주기에 연결된 사용자 전체를 다시 조회
+        .doOnComplete(() -> notifiedVersions.put(queueId, version))
+        .thenMany(Flux.defer(() -> Flux.fromIterable(targets)
+            .filter(userId -> !waitingUserIds.contains(userId))))
+        .flatMap(userId -> recoverAllowedIn(queueId, userId), ALLOWED_IN_RECOVERY_CONCURRENCY)
+        .onErrorResume(error -> {
+          log.error("대기열 순번 알림 중 오류 발생 - queueId: {}", queueId, error);
+          return Mono.empty();
+        })
+        .then();
+  }
 
-                notifier.notifyStatusChange(userId, event);
-              });
-        }).subscribe();
+  // 대기열에 없는데 입장 허용된 사용자는 입장 허용 알림을 놓친 것이므로 다시 전송
+  private Mono<Void> recoverAllowedIn(String queueId, String userId) {
+    return queueService.canEnter(queueId, userId)
+        .filter(Boolean::booleanValue)
+        .doOnNext(allowed -> {
+          log.info("놓친 입장 허용 알림 재전송 - queueId: {}, userId: {}", queueId, userId);
+          notifier.notifyAllowedIn(queueId, userId);
+        })
+        .then();
   }
 }
@@ -0,0 +1,159 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.security;
+
+import com.tickatch.gateway_server.global.util.HmacSigner;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache.RevocationListener;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * HMAC 서명된 입장 패스.
+ *
+ * <p>Redis에서 입장 허용이 확인되면 짧은 유효 시간(ttlSeconds)의 입장 패스를 쿠키로 발급하고,
+ * 이후 예매 API 요청은 패스의 서명과 만료만 메모리에서 확인해 Redis 조회 없이 통과시킨다.
+ * (통과한 요청의 입장 허용 시각 갱신은 지연 쓰기({@code queue.refresh-write-behind})로 모아서 반영된다)
+ * 패스가 만료되면 다시 Redis로 확인하면서 입장 허용 시각을 갱신하고 새 패스를 발급한다.
+ *
+ * <p>퇴장/만료로 입장 권한이 회수된 사용자의 패스는 회수 알림({@code allowedIn:{id}:revoked})을 받은 뒤
+ * 패스 유효 시간 동안 거부하며, 회수 알림 구독이 끊겼다가 다시 연결되면 그 사이 발급된 패스를 믿을 수 없으므로
+ * 패스 유효 시간 동안 모든 패스를 거부하고 Redis로 확인한다.
+ *
+ * <p>패스 형식: {@code base64url(queueId|만료 시각|epoch|userId).서명}
+ * ({@code queue.admission-pass.epoch}를 올리면 이전에 발급된 패스가 모두 무효화된다)
+ */
+@Slf4j
+@Component
+public class AdmissionPasses implements RevocationListener {
+
+  public static final String COOKIE_NAME = "ADMISSION_PASS";
+
+  private final AllowedInCache allowedInCache;
+  private final String secretKey;
+  // 요청마다 서명/검증하므로 키를 한 번만 초기화한 서명기를 재사용
+  private final HmacSigner signer;
+  private final long ttlSeconds;
+  private final long epoch;
+
+  // key = 대기열 ID + ":" + userId, value = 회수된 패스를 거부할 기한 (epoch millis)
+  private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+  // 이 시각 전에는 모든 패스를 거부 (epoch millis, 시작 시에는 다른 노드가 발급한 패스의 회수 여부를 알 수 없음)
+  private volatile long distrustUntil;
+
+  public AdmissionPasses(
+      AllowedInCache allowedInCache,
+      @Value("${queue.secret-key:}") String secretKey,
+      @Value("${queue.admission-pass.ttl-seconds:30}") long ttlSeconds,
+      @Value("${queue.admission-pass.epoch:1}") long epoch
+  ) {
+    this.allowedInCache = allowedInCache;
+    this.secretKey = secretKey;
+    this.ttlSeconds = ttlSeconds;
+    this.epoch = epoch;
+    this.signer = secretKey.isBlank() ? null : new HmacSigner(secretKey);
+
+    if (isEnabled()) {
+      allowedInCache.addRevocationListener(this);
+    }
+  }
+
+  public boolean isEnabled() {
+    return !secretKey.isBlank() && ttlSeconds > 0;
+  }
+
+  // 요청 쿠키의 패스가 이 대기열과 사용자에 대해 유효한지 메모리에서 확인
+  public boolean verify(ServerHttpRequest request, String queueId, String userId) {
+    if (!isEnabled() || userId == null) {
+      return false;
+    }
+
+    HttpCookie cookie = request.getCookies().getFirst(COOKIE_NAME);
+    if (cookie == null) {
+      return false;
+    }
+
+    long now = System.currentTimeMillis();
+    if (now < distrustUntil || !allowedInCache.isSubscribed()) {
+      return false;
+    }
+
+    String token = cookie.getValue();
+    int separator = token.lastIndexOf('.');
+    if (separator <= 0) {
+      return false;
+    }
+
+    String payload = token.substring(0, separator);
+    if (!signer.verify(payload, token.substring(separator + 1))) {
+      return false;
+    }
+
+    String[] fields;
+    try {
+      fields = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8).split("\\|", 4);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    if (fields.length != 4) {
+      return false;
+    }
+
+    return fields[0].equals(queueId)
+        && Long.parseLong(fields[1]) > now / 1000
+        && Long.parseLong(fields[2]) == epoch
+        && fields[3].equals(userId)
+        && !isRevoked(queueId, userId, now);
+  }
+
+  // Redis에서 입장 허용이 확인된 사용자에게 새 패스 발급
+  public void issue(ServerHttpResponse response, String queueId, String userId) {
+    if (!isEnabled() || userId == null) {
+      return;
+    }
+
+    long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+    String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+        (queueId + "|" + expiresAt + "|" + epoch + "|" + userId).getBytes(StandardCharsets.UTF_8));
+    String token = payload + "." + signer.sign(payload);
+
+    response.addCookie(ResponseCookie.from(COOKIE_NAME, token)
+        .httpOnly(true)
+        .secure(true)
+        .sameSite("Strict")
+        .path("/api/v1")
+        .maxAge(ttlSeconds)
+        .build());
+  }
+
+  @Override
+  public void onRevoked(String queueId, String userId) {
+    revokedUntil.put(queueId + ":" + userId, System.currentTimeMillis() + Duration.ofSeconds(ttlSeconds).toMillis());
+  }
+
+  @Override
+  public void onReset() {
+    distrustUntil = System.currentTimeMillis() + Duration.ofSeconds(ttlSeconds).toMillis();
+  }
+
+  @Scheduled(fixedDelay = 60000)
+  public void purgeRevoked() {
+    long now = System.currentTimeMillis();
+    revokedUntil.values().removeIf(until -> until < now);
+  }
+
+  private boolean isRevoked(String queueId, String userId, long now) {
+    Long until = revokedUntil.get(queueId + ":" + userId);
+    return until != null && until > now;
+  }
+}
@@ -1,9 +1,16 @@
 package com.tickatch.gateway_server.waiting_queue.presentation.webapi;
 
+import static com.tickatch.gateway_server.waiting_queue.application.exception.QueueErrorCode.USER_ID_NOT_FOUND;
+
 import com.tickatch.gateway_server.global.api.ApiResponse;
+import com.tickatch.gateway_server.waiting_queue.application.QueueIds;
+import com.tickatch.gateway_server.waiting_queue.application.QueuePollingHints;
 import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
 import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -11,7 +18,9 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -20,35 +29,71 @@ import reactor.core.publisher.Mono;
 public class QueueApi {
 
   private final WaitingQueueService queueService;
+  private final QueuePollingHints pollingHints;
+  private final QueueIds queueIds;
 
   @PostMapping("/lineup")
-  public Mono<ApiResponse<Void>> lineUp(@AuthenticationPrincipal Jwt jwt) {
+  public Mono<ApiResponse<Void>> lineUp(@AuthenticationPrincipal Jwt jwt,
+      @RequestParam(name = "productId", required = false) String productId) {
     String userId = jwt.getSubject();
+    String queueId = queueIds.resolve(productId);
 
-    return queueService.lineUp(userId)
+    return queueService.lineUp(queueId, userId)
         .map(msg -> ApiResponse.success(null, msg));
   }
 
   @GetMapping("/status")
-  public Mono<ApiResponse<QueueStatusResponse>> status(@AuthenticationPrincipal Jwt jwt) {
+  public Mono<ApiResponse<QueueStatusResponse>> status(@AuthenticationPrincipal Jwt jwt,
+      @RequestParam(name = "productId", required = false) String productId,
+      @RequestParam(name = "exact", defaultValue = "false") boolean exact,
+      ServerWebExchange exchange) {
     String userId = jwt.getSubject();
+    String queueId = queueIds.resolve(productId);
+    long now = System.currentTimeMillis();
 
-    return queueService.canEnter(userId)
-        .flatMap(canEnter -> {
-          if (canEnter) {
-            return Mono.just(ApiResponse.success(null, "입장 가능합니다."));
-          } else {
-            return queueService.getStatus(userId)
-                .flatMap(status -> Mono.just(ApiResponse.success(status)));
+    // 마지막 응답 이후 이 노드에서 대기열 진행이 없었으면 Redis 조회 없이 본문 없는 304
+    String notModified = pollingHints.findNotModified(queueId, userId, exact, ifNoneMatch(exchange), now);
+    if (notModified != null && exchange.checkNotModified(notModified)) {
+      setRetryAfter(exchange, queueId, pollingHints.positionOf(notModified));
+      return Mono.empty();
+    }
+
+    // 입장 허용 여부와 대기 순번을 한 번의 Redis 호출로 조회
+    return queueService.getGateStatus(queueId, userId, exact)
+        .<ApiResponse<QueueStatusResponse>>flatMap(result -> switch (result.type()) {
+          case ALLOWED -> Mono.just(ApiResponse.success(null, "입장 가능합니다."));
+          case WAITING -> {
+            long position = result.status().userQueuePosition();
+            exchange.getResponse().getHeaders().setETag(pollingHints.etag(queueId, userId, exact, position, now));
+            setRetryAfter(exchange, queueId, position);
+            yield Mono.just(ApiResponse.success(result.status()));
           }
+          case NOT_IN_QUEUE -> Mono.error(new QueueException(USER_ID_NOT_FOUND));
         });
   }
 
+  // 대기 순번이 뒤일수록 다음 조회까지 오래 기다리도록 안내
+  private void setRetryAfter(ServerWebExchange exchange, String queueId, long position) {
+    exchange.getResponse().getHeaders()
+        .set(HttpHeaders.RETRY_AFTER, String.valueOf(pollingHints.retryAfterSeconds(queueId, position)));
+  }
+
+  private static List<String> ifNoneMatch(ServerWebExchange exchange) {
+    try {
+      return exchange.getRequest().getHeaders().getIfNoneMatch();
+    } catch (IllegalArgumentException e) {
+      // 형식이 잘못된 If-None-Match는 무시하고 새로 조회
+      return List.of();
+    }
+  }
+
   @DeleteMapping("/allowed-in-token")
-  public Mono<ApiResponse<Void>> removeAllowedInToken(@AuthenticationPrincipal Jwt jwt) {
+  public Mono<ApiResponse<Void>> removeAllowedInToken(@AuthenticationPrincipal Jwt jwt,
+      @RequestParam(name = "productId", required = false) String productId) {
     String userId = jwt.getSubject();
+    String queueId = queueIds.resolve(productId);
 
-    return queueService.removeAllowedUserId(userId)
+    return queueService.removeAllowedUserId(queueId, userId)
         .map(removed -> {
           if (removed) {
             return ApiResponse.success(null, "입장 토큰이 무효화되었습니다.");
@@ -59,10 +104,12 @@ public class QueueApi {
   }
 
   @DeleteMapping("/waiting-token")
-  public Mono<ApiResponse<Void>> removeWaitingToken(@AuthenticationPrincipal Jwt jwt) {
+  public Mono<ApiResponse<Void>> removeWaitingToken(@AuthenticationPrincipal Jwt jwt,
+      @RequestParam(name = "productId", required = false) String productId) {
     String userId = jwt.getSubject();
+    String queueId = queueIds.resolve(productId);
 
-    return queueService.removeWaitingUserId(userId)
+    return queueService.removeWaitingUserId(queueId, userId)
         .map(removed -> {
           if (removed) {
             return ApiResponse.success(null, "대기열 토큰이 무효화되었습니다.");
@@ -1,25 +1,28 @@
 package com.tickatch.gateway_server.waiting_queue.presentation.webapi;
 
+import com.tickatch.gateway_server.waiting_queue.application.QueueIds;
 import com.tickatch.gateway_server.waiting_queue.application.QueueStatusNotifier;
 import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
 import com.tickatch.gateway_server.waiting_queue.application.dto.AllowedInNotificationEvent;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueEvent;
 import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusChangeEvent;
 import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
-import com.tickatch.gateway_server.waiting_queue.presentation.dto.AllowedInEvent;
-import com.tickatch.gateway_server.waiting_queue.presentation.dto.ErrorEvent;
-import com.tickatch.gateway_server.waiting_queue.presentation.dto.HeartbeatEvent;
-import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
 
 @RestController
 @RequestMapping("/api/v1/queue")
@@ -29,37 +32,40 @@ public class QueueSseController {
 
   private final WaitingQueueService queueService;
   private final QueueStatusNotifier queueStatusNotifier;
+  private final SseHeartbeatTicker heartbeatTicker;
+  private final QueueIds queueIds;
 
+  // 이벤트마다 ServerSentEvent + Jackson 인코딩을 거치지 않도록 SSE 프레임을 직접 인코딩해 이벤트마다 flush
   @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-  public Flux<ServerSentEvent<Object>> streamQueueStatus(
-      @AuthenticationPrincipal Jwt jwt) {
+  public Mono<Void> streamQueueStatus(
+      @AuthenticationPrincipal Jwt jwt,
+      @RequestParam(name = "productId", required = false) String productId,
+      ServerHttpResponse response) {
 
     String userId = jwt.getSubject();
-    log.info("SSE 연결 시작 - userId: {}", userId);
+    String queueId = queueIds.resolve(productId);
+    log.info("SSE 연결 시작 - queueId: {}, userId: {}", queueId, userId);
 
-    return queueService.canEnter(userId)
+    DataBufferFactory bufferFactory = response.bufferFactory();
+    Flux<DataBuffer> frames = queueService.canEnter(queueId, userId)
         .flatMapMany(canEnter -> {
           if (canEnter) {
             // 이미 입장 가능 -> ALLOWED_IN 이벤트만 보내고 완료
-            return Flux.just(ServerSentEvent.builder()
-                .event("ALLOWED_IN")
-                .data(new AllowedInEvent("입장 가능합니다."))
-                .build());
+            return Flux.just(QueueSseFrames.ALLOWED_IN.toDataBuffer(bufferFactory));
           } else {
             // 대기 중 -> 초기 상태 + 업데이트 스트림 + heartbeat
-            Mono<ServerSentEvent<Object>> initialStatus = getInitialStatus(userId);
+            Mono<DataBuffer> initialStatus = getInitialStatus(queueId, userId, bufferFactory);
 
-            Flux<ServerSentEvent<Object>> statusUpdates = subscribeToUpdates(userId);
+            Flux<QueueEvent> statusUpdates = queueStatusNotifier.subscribe(queueId, userId);
 
-            Flux<ServerSentEvent<Object>> heartbeat = Flux.interval(Duration.ofSeconds(30))
-                .map(tick -> ServerSentEvent.builder()
-                    .event("HEARTBEAT")
-                    .data(new HeartbeatEvent(System.currentTimeMillis()))
-                    .build());
+            // 연결마다 타이머를 만들지 않고 노드의 공유 타이머에서 heartbeat 수신
+            Flux<SseFrame> heartbeat = heartbeatTicker.heartbeats();
 
             // merge() = 여러 Publisher를 동시에 구독해서, 도착하는 대로 섞어서 발행 (순서 보장 X)
-            Flux<ServerSentEvent<Object>> updates = Flux.merge(statusUpdates, heartbeat)
-                .takeUntil(sse -> "ALLOWED_IN".equals(sse.event()));
+            // 버퍼는 전송 직전에 만들어 merge 대기열에 쌓이지 않도록 함
+            Flux<DataBuffer> updates = Flux.<Object>merge(statusUpdates, heartbeat)
+                .takeUntil(AllowedInNotificationEvent.class::isInstance)
+                .<DataBuffer>handle((event, sink) -> encode(event, userId, bufferFactory, sink));
 
             // concat() = 앞 Publisher가 완전히 끝난 후에 다음 Publisher를 구독 (순서 보장 O)
             return Flux.concat(initialStatus, updates);
@@ -67,44 +73,37 @@ public class QueueSseController {
         })
         .doFinally(signalType -> {
           log.info("SSE 종료 - userId: {}, 이유: {}", userId, signalType);
-          queueStatusNotifier.unsubscribe(userId);
+          queueStatusNotifier.unsubscribe(queueId, userId);
         })
         .doOnCancel(() -> {
           log.info("대기열에서 토큰 지우기");
-          queueService.removeWaitingUserId(userId).subscribe();
-        });
+          queueService.removeWaitingUserId(queueId, userId).subscribe();
+        })
+        // 연결이 끊겨 전송하지 못한 버퍼 해제
+        .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+    response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+    return response.writeAndFlushWith(frames.map(Mono::just));
   }
 
-  private Mono<ServerSentEvent<Object>> getInitialStatus(String userId) {
-    return queueService.getStatus(userId)
-        .map(status -> ServerSentEvent.builder()
-            .event("STATUS_UPDATE")
-            .data(status)
-            .build())
+  private Mono<DataBuffer> getInitialStatus(String queueId, String userId, DataBufferFactory bufferFactory) {
+    return queueService.getStatus(queueId, userId)
+        .doOnNext(status -> queueStatusNotifier.recordInitialStatus(queueId, userId, status))
+        .map(status -> QueueSseFrames.statusUpdate(bufferFactory, status))
         .onErrorResume(QueueException.class, e ->
-            Mono.just(ServerSentEvent.builder()
-                .event("ERROR")
-                .data(new ErrorEvent("NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다."))
-                .build())
+            Mono.fromSupplier(() -> QueueSseFrames.NOT_IN_QUEUE.toDataBuffer(bufferFactory))
         );
   }
 
-  private Flux<ServerSentEvent<Object>> subscribeToUpdates(String userId) {
-    return queueStatusNotifier.subscribe(userId)
-        .map(event -> {
-          if (event instanceof QueueStatusChangeEvent statusChange) {
-            return ServerSentEvent.builder()
-                .event("STATUS_UPDATE")
-                .data(statusChange.getStatusResponse())
-                .build();
-          } else if (event instanceof AllowedInNotificationEvent) {
-            return ServerSentEvent.builder()
-                .event("ALLOWED_IN")
-                .data(new AllowedInEvent("입장 가능합니다."))
-                .build();
-          } else {
-            return ServerSentEvent.builder().event("UNKNOWN").data(event).build();
-          }
-        });
+  private void encode(Object event, String userId, DataBufferFactory bufferFactory, SynchronousSink<DataBuffer> sink) {
+    if (event instanceof SseFrame frame) {
+      sink.next(frame.toDataBuffer(bufferFactory));
+    } else if (event instanceof QueueStatusChangeEvent statusChange) {
+      sink.next(QueueSseFrames.statusUpdate(bufferFactory, statusChange.getStatusResponse()));
+    } else if (event instanceof AllowedInNotificationEvent) {
+      sink.next(QueueSseFrames.ALLOWED_IN.toDataBuffer(bufferFactory));
+    } else {
+      log.warn("알 수 없는 대기열 이벤트 - userId: {}, event: {}", userId, event);
+    }
   }
 }
@@ -0,0 +1,120 @@
+package com.tickatch.gateway_server.waiting_queue.presentation.webapi;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.presentation.dto.AllowedInEvent;
+import com.tickatch.gateway_server.waiting_queue.presentation.dto.ErrorEvent;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+/**
+ * 대기열 SSE 스트림의 프레임 인코딩.
+ *
+ * <p>ALLOWED_IN, NOT_IN_QUEUE 에러처럼 항상 같은 이벤트는 미리 인코딩해 공유하고,
+ * STATUS_UPDATE는 Jackson 없이 {@link QueueStatusResponse}를 직접 JSON으로 써서 (Netty면 풀링된) 버퍼 하나에 담는다.
+ * 출력 형식은 기본 코덱({@code ServerSentEvent} + Jackson, {@code spring.jackson.default-property-inclusion=non_null})과 같아서
+ * 값이 없는 필드(입장 속도를 모를 때의 admissionRatePerSecond, estimatedWaitSeconds 등)는 쓰지 않는다.
+ */
+public final class QueueSseFrames {
+
+  public static final SseFrame ALLOWED_IN = SseFrame.of("ALLOWED_IN", new AllowedInEvent("입장 가능합니다."));
+  public static final SseFrame NOT_IN_QUEUE =
+      SseFrame.of("ERROR", new ErrorEvent("NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다."));
+
+  private static final byte[] STATUS_PREFIX = "event:STATUS_UPDATE\ndata:{".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] TOTAL_FIELD = "\"totalQueueSize\":".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] POSITION_FIELD = "\"userQueuePosition\":".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] BEHIND_FIELD = "\"usersBehind\":".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] RATE_FIELD = "\"admissionRatePerSecond\":".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] WAIT_FIELD = "\"estimatedWaitSeconds\":".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] STATUS_SUFFIX = "}\n\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+  // 숫자가 모두 최대 자릿수(20)여도 넘지 않는 크기
+  private static final int STATUS_CAPACITY = 256;
+
+  private QueueSseFrames() {
+  }
+
+  public static DataBuffer statusUpdate(DataBufferFactory bufferFactory, QueueStatusResponse status) {
+    DataBuffer buffer = bufferFactory.allocateBuffer(STATUS_CAPACITY);
+    buffer.write(STATUS_PREFIX);
+    boolean empty = writeField(buffer, true, TOTAL_FIELD, status.totalQueueSize());
+    empty = writeField(buffer, empty, POSITION_FIELD, status.userQueuePosition());
+    empty = writeField(buffer, empty, BEHIND_FIELD, status.usersBehind());
+    if (status.admissionRatePerSecond() != null) {
+      writeName(buffer, empty, RATE_FIELD);
+      writeRate(buffer, status.admissionRatePerSecond());
+      empty = false;
+    }
+    writeField(buffer, empty, WAIT_FIELD, status.estimatedWaitSeconds());
+    buffer.write(STATUS_SUFFIX);
+    return buffer;
+  }
+
+  // null이면 쓰지 않고, 쓴 필드가 하나도 없는지 여부를 반환
+  private static boolean writeField(DataBuffer buffer, boolean empty, byte[] name, Long value) {
+    if (value == null) {
+      return empty;
+    }
+    writeName(buffer, empty, name);
+    writeLong(buffer, value);
+    return false;
+  }
+
+  private static void writeName(DataBuffer buffer, boolean empty, byte[] name) {
+    if (!empty) {
+      buffer.write((byte) ',');
+    }
+    buffer.write(name);
+  }
+
+  // 입장 속도는 소수점 둘째 자리까지 반올림된 값이므로 (정수부).(소수부)로 씀 (Jackson과 같은 표기)
+  private static void writeRate(DataBuffer buffer, double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= 1e7) {
+      buffer.write(Double.toString(value).getBytes(StandardCharsets.US_ASCII));
+      return;
+    }
+
+    long hundredths = Math.round(value * 100);
+    if (hundredths < 0) {
+      buffer.write((byte) '-');
+      hundredths = -hundredths;
+    }
+    writeDigits(buffer, hundredths / 100);
+    buffer.write((byte) '.');
+    long fraction = hundredths % 100;
+    if (fraction % 10 == 0) {
+      // 1.0, 1.5 (끝자리 0 생략)
+      writeDigits(buffer, fraction / 10);
+    } else {
+      // 1.05, 1.25
+      buffer.write((byte) ('0' + fraction / 10));
+      buffer.write((byte) ('0' + fraction % 10));
+    }
+  }
+
+  // 문자열을 만들지 않고 10진수 자릿수를 바로 씀
+  private static void writeLong(DataBuffer buffer, long value) {
+    long remaining = value;
+    if (remaining == Long.MIN_VALUE) {
+      buffer.write(MIN_LONG);
+      return;
+    }
+    if (remaining < 0) {
+      buffer.write((byte) '-');
+      remaining = -remaining;
+    }
+    writeDigits(buffer, remaining);
+  }
+
+  private static void writeDigits(DataBuffer buffer, long remaining) {
+    long divisor = 1;
+    while (remaining / divisor >= 10) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      buffer.write((byte) ('0' + remaining / divisor % 10));
+    }
+  }
+}
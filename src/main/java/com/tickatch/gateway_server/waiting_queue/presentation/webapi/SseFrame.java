@@ -0,0 +1,52 @@
+package com.tickatch.gateway_server.waiting_queue.presentation.webapi;
+
+import com.tickatch.gateway_server.global.util.JsonUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+/**
+ * 한 번만 인코딩해 여러 연결이 공유하는 SSE 프레임 ({@code event:...\ndata:...\n\n}).
+ *
+ * <p>연결마다 {@code ServerSentEvent} + Jackson 인코딩을 거치지 않도록, 내용이 같은 이벤트(ALLOWED_IN, 같은 틱의 HEARTBEAT 등)는
+ * 인코딩한 바이트를 공유하고 연결마다 읽기 위치만 다른 복제본(retained duplicate)을 쓴다.
+ * 공유 버퍼는 해제되지 않는(unreleasable) 버퍼라 연결에서 release해도 원본은 유지된다.
+ */
+public final class SseFrame {
+
+  private static final int INITIAL_FRAME_CAPACITY = 128;
+
+  private final byte[] bytes;
+  private final ByteBuf buffer;
+
+  private SseFrame(byte[] bytes) {
+    this.bytes = bytes;
+    this.buffer = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes).asReadOnly());
+  }
+
+  public static SseFrame of(String event, Object data) {
+    // 헤더 뒤에 JSON을 바로 이어 써서 JSON만 담은 중간 배열을 만들지 않음
+    ByteArrayOutputStream frame = new ByteArrayOutputStream(INITIAL_FRAME_CAPACITY);
+    frame.writeBytes(("event:" + event + "\ndata:").getBytes(StandardCharsets.UTF_8));
+    JsonUtils.writeTo(data, frame);
+    frame.write('\n');
+    frame.write('\n');
+    return new SseFrame(frame.toByteArray());
+  }
+
+  // 연결에 쓸 버퍼 (Netty면 공유 버퍼의 복제본, 그 외에는 같은 배열을 감싼 버퍼)
+  public DataBuffer toDataBuffer(DataBufferFactory bufferFactory) {
+    if (bufferFactory instanceof NettyDataBufferFactory nettyFactory) {
+      return nettyFactory.wrap(buffer.retainedDuplicate());
+    }
+    return bufferFactory.wrap(bytes);
+  }
+
+  public int size() {
+    return bytes.length;
+  }
+}
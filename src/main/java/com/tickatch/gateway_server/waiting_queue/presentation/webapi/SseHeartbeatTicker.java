@@ -0,0 +1,84 @@
+package com.tickatch.gateway_server.waiting_queue.presentation.webapi;
+
+import com.tickatch.gateway_server.waiting_queue.presentation.dto.HeartbeatEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 모든 SSE 연결이 공유하는 heartbeat 타이머.
+ *
+ * <p>연결마다 {@code Flux.interval}을 만들면 연결 수만큼 타이머가 생기므로, 노드에 타이머 하나만 두고
+ * heartbeat 주기를 slots개의 칸으로 나눈 바퀴(hashed wheel)를 돌린다. 각 연결은 무작위 칸에 배정되고,
+ * 타이머가 (주기 / slots)마다 한 칸씩 넘어가며 그 칸의 연결에 한 번 인코딩한 heartbeat 프레임을 전달한다.
+ * 연결들의 heartbeat 전송이 주기 전체에 고르게 퍼져 한 번에 몰리지 않는다 (slots: 1이면 모든 연결에 동시 전송).
+ *
+ * <p>heartbeat는 받지 못해도 다음 주기에 다시 보내므로, 요청(demand)이 없는 연결에는 보내지 않고 넘어간다.
+ */
+@Slf4j
+@Component
+public class SseHeartbeatTicker {
+
+  private final Duration interval;
+  private final Sinks.Many<SseFrame>[] slots;
+
+  private Disposable timer;
+  private long tick;
+
+  @SuppressWarnings("unchecked")
+  public SseHeartbeatTicker(
+      @Value("${queue.sse.heartbeat-interval-millis:30000}") long intervalMillis,
+      @Value("${queue.sse.heartbeat-slots:30}") int slotCount
+  ) {
+    this.interval = Duration.ofMillis(intervalMillis);
+    this.slots = new Sinks.Many[Math.max(1, slotCount)];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = Sinks.many().multicast().directBestEffort();
+    }
+  }
+
+  @PostConstruct
+  public void start() {
+    long periodNanos = interval.toNanos() / slots.length;
+    timer = Schedulers.parallel().schedulePeriodically(this::advance, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (timer != null) {
+      timer.dispose();
+    }
+    for (Sinks.Many<SseFrame> slot : slots) {
+      slot.tryEmitComplete();
+    }
+  }
+
+  // 연결 하나의 heartbeat 스트림 (무작위 칸에 배정)
+  public Flux<SseFrame> heartbeats() {
+    return slots[ThreadLocalRandom.current().nextInt(slots.length)].asFlux();
+  }
+
+  // 타이머 스레드 하나에서만 호출되므로 칸 이동과 전송은 동기화하지 않음
+  private void advance() {
+    Sinks.Many<SseFrame> slot = slots[(int) (tick++ % slots.length)];
+    if (slot.currentSubscriberCount() == 0) {
+      return;
+    }
+
+    // 같은 칸의 연결은 한 번 인코딩한 프레임을 공유
+    SseFrame heartbeat = SseFrame.of("HEARTBEAT", new HeartbeatEvent(System.currentTimeMillis()));
+    Sinks.EmitResult result = slot.tryEmitNext(heartbeat);
+    if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+      log.warn("heartbeat 전송 실패 - result: {}", result);
+    }
+  }
+}
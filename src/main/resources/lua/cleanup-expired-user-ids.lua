@@ -1,37 +1,81 @@
 local allowedHashKey = KEYS[1]
 local waitingQueueKey = KEYS[2]
-local expiryTimestamp = tonumber(ARGV[1])
+local expiryIndexKey = KEYS[3]
+local headKey = KEYS[4]
+local versionKey = KEYS[5]
+local changesChannel = KEYS[6]
+local revokedChannel = KEYS[7]
+local expiryTimestamp = ARGV[1]
 local currentTimestamp = ARGV[2]
+local batchSize = tonumber(ARGV[3])
+local maxCap = tonumber(ARGV[4])
+local backfillCursor = ARGV[5]
 
--- 만료된 userId들을 찾아서 입장 허용 해시에서 삭제
--- { userId1, timestamp1, userId2, timestamp2, ... }
-local allUserIds = redis.call('HGETALL', allowedHashKey)
-local expiredCount = 0
+-- 만료 인덱스가 없던 때 입장 허용된 사용자는 해시에만 있으므로, 해시가 더 크면 HSCAN으로 조금씩 인덱스를 채움
+-- (score = 해시에 기록된 마지막 갱신 시각, 이미 인덱스에 있는 사용자는 그대로 둠)
+if redis.call('HLEN', allowedHashKey) > redis.call('ZCARD', expiryIndexKey) then
+    local scanned = redis.call('HSCAN', allowedHashKey, backfillCursor, 'COUNT', batchSize)
+    backfillCursor = scanned[1]
+    local entries = scanned[2]
+    for i = 1, #entries, 2 do
+        local timestamp = tonumber(entries[i + 1]) or 0
+        redis.call('ZADD', expiryIndexKey, 'NX', timestamp, entries[i])
+    end
+else
+    backfillCursor = '0'
+end
 
-for i = 1, #allUserIds, 2 do
-    local userId = allUserIds[i]
-    local timestamp = tonumber(allUserIds[i + 1])
+-- 만료 인덱스(score = 마지막 갱신 시각)에서 만료 기준 시각 이전의 userId만 범위 조회
+-- 전체 입장 허용 인원이 아니라 만료된 인원 수에 비례하는 비용만 발생함
+local expiredUserIds = redis.call('ZRANGEBYSCORE', expiryIndexKey, '-inf', '(' .. expiryTimestamp, 'LIMIT', 0, batchSize)
 
-    if timestamp and timestamp < expiryTimestamp then
-        redis.call('HDEL', allowedHashKey, userId)
-        expiredCount = expiredCount + 1
-    end
+if #expiredUserIds > 0 then
+    redis.call('HDEL', allowedHashKey, unpack(expiredUserIds))
+    redis.call('ZREM', expiryIndexKey, unpack(expiredUserIds))
+
+    -- 입장 권한 회수 알림 (노드별 입장 허용 캐시 무효화용)
+    redis.call('PUBLISH', revokedChannel, table.concat(expiredUserIds, '\n'))
 end
 
--- 제거한 userId 개수만큼 다음 사용자들 입장 허용
+-- 비어 있는 입장 슬롯 수만큼 다음 사용자들 입장 허용
+-- (만료로 비워진 슬롯 + 정원 변경 등으로 남아 있던 슬롯)
+local freeSlots = maxCap - redis.call('HLEN', allowedHashKey)
 local allowedUserIds = {}
 
-for i = 1, expiredCount do
-    -- 대기하는 사람 1명씩 가져오기
-    local result = redis.call('ZPOPMIN', waitingQueueKey, 1)
-    if #result > 0 then
-        local nextUserId = result[1]
+if freeSlots > 0 then
+    -- ZPOPMIN은 { member1, score1, member2, score2, ... } 형식으로 반환
+    local result = redis.call('ZPOPMIN', waitingQueueKey, math.min(freeSlots, batchSize))
+    for i = 1, #result, 2 do
+        local nextUserId = result[i]
         redis.call('HSET', allowedHashKey, nextUserId, currentTimestamp)
+        redis.call('ZADD', expiryIndexKey, currentTimestamp, nextUserId)
         table.insert(allowedUserIds, nextUserId)
-    else
-        -- 더 이상 대기하는 사람이 없다면 break
-        break
     end
+
+    if #result > 0 then
+        -- 마지막으로 입장한 사용자의 순번을 기록 (순번 추정용)
+        redis.call('SET', headKey, result[#result])
+
+        -- 대기열 변경 이벤트를 한 번에 발행 (노드별 순번 인덱스 동기화용)
+        local changes = {}
+        for _, userId in ipairs(allowedUserIds) do
+            table.insert(changes, '- ' .. userId)
+        end
+        local lastVersion = redis.call('INCRBY', versionKey, #changes)
+        redis.call('PUBLISH', changesChannel, (lastVersion - #changes + 1) .. '\n' .. table.concat(changes, '\n'))
+    end
+else
+    freeSlots = 0
+end
+
+-- 다음 만료 예정 사용자의 마지막 갱신 시각 (없으면 -1)
+local oldest = redis.call('ZRANGE', expiryIndexKey, 0, 0, 'WITHSCORES')
+local oldestTimestamp = -1
+if #oldest > 0 then
+    oldestTimestamp = tonumber(oldest[2])
 end
 
-return allowedUserIds
\ No newline at end of file
+-- { 입장 허용된 userId 목록, 비어 있던 슬롯 수, 남은 대기 인원, 다음 만료 예정 사용자의 갱신 시각, 만료된 userId 목록, 입장 허용 인원,
+--   다음 인덱스 채우기 HSCAN 커서 (다 채웠으면 0) }
+return { allowedUserIds, freeSlots, redis.call('ZCARD', waitingQueueKey), oldestTimestamp, expiredUserIds,
+    redis.call('HLEN', allowedHashKey), backfillCursor }
\ No newline at end of file
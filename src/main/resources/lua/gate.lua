@@ -0,0 +1,44 @@
+local allowedHashKey = KEYS[1]
+local expiryIndexKey = KEYS[2]
+local waitingQueueKey = KEYS[3]
+local headKey = KEYS[4]
+local counterKey = KEYS[5]
+local userId = ARGV[1]
+local timestamp = ARGV[2]
+local refresh = ARGV[3] == '1'
+local exact = ARGV[4] == '1'
+
+-- 입장 허용 확인 + 갱신 + 대기 순번 조회를 한 번의 호출로 처리
+-- { 'ALLOWED' } | { 'WAITING', 대기 순번, 대기 인원 } | { 'NOT_IN_QUEUE' }
+
+if redis.call('HEXISTS', allowedHashKey, userId) == 1 then
+    if refresh then
+        redis.call('HSET', allowedHashKey, userId, timestamp)
+        redis.call('ZADD', expiryIndexKey, timestamp, userId)
+    end
+    return { 'ALLOWED' }
+end
+
+local size = redis.call('ZCARD', waitingQueueKey)
+
+if exact then
+    local rank = redis.call('ZRANK', waitingQueueKey, userId)
+    if not rank then
+        return { 'NOT_IN_QUEUE' }
+    end
+    return { 'WAITING', rank + 1, size }
+end
+
+-- 사용자 순번과 head/tail 순번으로 추정 (RedisQueueRepositoryImpl#estimateStatus와 같은 계산)
+local sequence = redis.call('ZSCORE', waitingQueueKey, userId)
+if not sequence then
+    return { 'NOT_IN_QUEUE' }
+end
+
+local head = tonumber(redis.call('GET', headKey)) or 0
+local tail = tonumber(redis.call('GET', counterKey)) or 0
+local ahead = math.max(tonumber(sequence) - head, 1)
+local span = math.max(tail - head, ahead)
+local position = math.max(math.ceil(ahead * math.max(size, 1) / span), 1)
+
+return { 'WAITING', position, math.max(size, position) }
\ No newline at end of file
@@ -0,0 +1,43 @@
+local allowedHashKey = KEYS[1]
+local counterKey = KEYS[2]
+local waitingQueueKey = KEYS[3]
+local expiryIndexKey = KEYS[4]
+local versionKey = KEYS[5]
+local changesChannel = KEYS[6]
+local maxCap = tonumber(ARGV[1])
+local timestamp = ARGV[2]
+
+-- ARGV[3]부터 요청 순서대로 userId 목록
+-- lineup.lua와 같은 규칙을 요청 순서대로 적용하고, 사용자별 결과를 같은 순서로 반환
+local currentSize = redis.call('HLEN', allowedHashKey)
+local results = {}
+local changes = {}
+
+for i = 3, #ARGV do
+    local userId = ARGV[i]
+
+    if redis.call('HEXISTS', allowedHashKey, userId) == 1 then
+        -- 이미 입장 허용된 사용자
+        table.insert(results, "ALREADY_ALLOWED")
+    elseif currentSize < maxCap then
+        -- 바로 입장 허용
+        redis.call('HSET', allowedHashKey, userId, timestamp)
+        redis.call('ZADD', expiryIndexKey, timestamp, userId)
+        currentSize = currentSize + 1
+        table.insert(results, "ALLOWED")
+    else
+        -- 대기열에 추가
+        local seq = redis.call('INCR', counterKey)
+        redis.call('ZADD', waitingQueueKey, seq, userId)
+        table.insert(changes, '+ ' .. seq .. ' ' .. userId)
+        table.insert(results, "QUEUED")
+    end
+end
+
+-- 대기열 변경 이벤트를 한 번에 발행 (첫 줄은 첫 번째 변경의 버전)
+if #changes > 0 then
+    local lastVersion = redis.call('INCRBY', versionKey, #changes)
+    redis.call('PUBLISH', changesChannel, (lastVersion - #changes + 1) .. '\n' .. table.concat(changes, '\n'))
+end
+
+return results
\ No newline at end of file
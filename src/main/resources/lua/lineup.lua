@@ -1,6 +1,9 @@
 local allowedHashKey = KEYS[1]
 local counterKey = KEYS[2]
 local waitingQueueKey = KEYS[3]
+local expiryIndexKey = KEYS[4]
+local versionKey = KEYS[5]
+local changesChannel = KEYS[6]
 local userId = ARGV[1]
 local maxCap = tonumber(ARGV[2])
 local timestamp = ARGV[3]
@@ -17,10 +20,16 @@ local currentSize = redis.call('HLEN', allowedHashKey)
 if currentSize < maxCap then
     -- 바로 입장 허용
     redis.call('HSET', allowedHashKey, userId, timestamp)
+    redis.call('ZADD', expiryIndexKey, timestamp, userId)
     return "ALLOWED"
 else
     -- 대기열에 추가
     local seq = redis.call('INCR', counterKey)
     redis.call('ZADD', waitingQueueKey, seq, userId)
+
+    -- 대기열 변경 이벤트 발행 (노드별 순번 인덱스 동기화용)
+    -- 첫 줄은 변경 버전, 이후 한 줄에 변경 하나 ("+ 순번 userId" 또는 "- userId")
+    local version = redis.call('INCR', versionKey)
+    redis.call('PUBLISH', changesChannel, version .. '\n+ ' .. seq .. ' ' .. userId)
     return "QUEUED"
 end
\ No newline at end of file
@@ -0,0 +1,58 @@
+local counterKey = KEYS[1]
+local headKey = KEYS[2]
+local waitingQueueKey = KEYS[3]
+local allowedHashKey = KEYS[4]
+local expiryIndexKey = KEYS[5]
+local versionKey = KEYS[6]
+local kind = ARGV[1]
+
+-- 이전 키(queue:wait, allowedIn:users)에서 읽어 온 사용자를 새 키로 옮김
+-- ARGV[2]부터 { userId1, 값1, userId2, 값2, ... } (값: 대기 순번 또는 입장 허용 타임스탬프)
+-- 이미 새 키에 있는 사용자는 건너뜀 (여러 번 실행해도 같은 결과)
+local migrated = 0
+
+if kind == 'allowed' then
+    for i = 2, #ARGV, 2 do
+        local userId = ARGV[i]
+        local timestamp = ARGV[i + 1]
+        if redis.call('HSETNX', allowedHashKey, userId, timestamp) == 1 then
+            redis.call('ZADD', expiryIndexKey, timestamp, userId)
+            migrated = migrated + 1
+        end
+    end
+    return migrated
+end
+
+local wasEmpty = redis.call('ZCARD', waitingQueueKey) == 0
+local counter = tonumber(redis.call('GET', counterKey)) or 0
+local firstSeq = nil
+
+for i = 2, #ARGV, 2 do
+    local userId = ARGV[i]
+    local legacySeq = tonumber(ARGV[i + 1])
+    if redis.call('HEXISTS', allowedHashKey, userId) == 0 and not redis.call('ZSCORE', waitingQueueKey, userId) then
+        -- 이전 순번이 새 카운터보다 크면 그대로 유지하고, 이미 새 키로 등록한 사용자가 있으면 그 뒤에 붙임
+        local seq = legacySeq
+        if seq <= counter then
+            seq = counter + 1
+        end
+        counter = seq
+        redis.call('ZADD', waitingQueueKey, seq, userId)
+        firstSeq = firstSeq or seq
+        migrated = migrated + 1
+    end
+end
+
+if migrated > 0 then
+    redis.call('SET', counterKey, counter)
+
+    -- 새 대기열이 비어 있었으면 옮긴 첫 사용자 바로 앞까지 입장한 것으로 기록 (순번 추정용)
+    if wasEmpty and redis.call('EXISTS', headKey) == 0 then
+        redis.call('SET', headKey, firstSeq - 1)
+    end
+
+    -- 변경 이벤트는 발행하지 않고 버전만 올려 노드별 순번 인덱스가 버전 불일치로 재동기화하도록 함
+    redis.call('INCR', versionKey)
+end
+
+return migrated
@@ -0,0 +1,10 @@
+local counterKey = KEYS[1]
+local headKey = KEYS[2]
+local waitingQueueKey = KEYS[3]
+
+-- { 마지막으로 입장한 사용자의 순번, 마지막으로 대기열에 들어온 사용자의 순번, 대기 인원 }
+local head = tonumber(redis.call('GET', headKey)) or 0
+local tail = tonumber(redis.call('GET', counterKey)) or 0
+local size = redis.call('ZCARD', waitingQueueKey)
+
+return { head, tail, size }
\ No newline at end of file
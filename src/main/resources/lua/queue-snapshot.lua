@@ -0,0 +1,13 @@
+local versionKey = KEYS[1]
+local waitingQueueKey = KEYS[2]
+local minSequence = ARGV[1]
+local pageSize = tonumber(ARGV[2])
+
+-- 노드별 순번 인덱스 재동기화용 스냅샷 (한 페이지)
+-- { 마지막 변경 버전, { member1, score1, member2, score2, ... } }
+-- 대기열 전체를 한 번에 복사하지 않도록 순번(minSequence, 예: '-inf' 또는 '(123') 이후의 pageSize명만 조회하며,
+-- 순번 기준으로 나누므로 페이지 사이에 사용자가 들어오거나 나가도 건너뛰거나 두 번 읽는 사용자가 없음
+-- 첫 페이지 이후의 변경은 버전이 더 큰 변경 이벤트로 전달됨
+local version = tonumber(redis.call('GET', versionKey)) or 0
+
+return { version, redis.call('ZRANGEBYSCORE', waitingQueueKey, minSequence, '+inf', 'WITHSCORES', 'LIMIT', 0, pageSize) }
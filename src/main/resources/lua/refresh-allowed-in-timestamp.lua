@@ -0,0 +1,13 @@
+local allowedHashKey = KEYS[1]
+local expiryIndexKey = KEYS[2]
+local userId = ARGV[1]
+local timestamp = ARGV[2]
+
+-- 입장 허용된 사용자만 갱신 (해시와 만료 인덱스를 함께 갱신)
+if redis.call('HEXISTS', allowedHashKey, userId) == 0 then
+    return 0
+end
+
+redis.call('HSET', allowedHashKey, userId, timestamp)
+redis.call('ZADD', expiryIndexKey, timestamp, userId)
+return 1
\ No newline at end of file
@@ -0,0 +1,30 @@
+local allowedHashKey = KEYS[1]
+local expiryIndexKey = KEYS[2]
+
+-- ARGV = { userId1, timestamp1, userId2, timestamp2, ... }
+-- 노드에 모아 둔 갱신을 한 번에 반영 (입장 허용된 사용자만 갱신)
+local fields = {}
+local scores = {}
+local revokedUserIds = {}
+
+for i = 1, #ARGV, 2 do
+    local userId = ARGV[i]
+    local timestamp = ARGV[i + 1]
+
+    if redis.call('HEXISTS', allowedHashKey, userId) == 1 then
+        table.insert(fields, userId)
+        table.insert(fields, timestamp)
+        table.insert(scores, timestamp)
+        table.insert(scores, userId)
+    else
+        table.insert(revokedUserIds, userId)
+    end
+end
+
+if #fields > 0 then
+    redis.call('HSET', allowedHashKey, unpack(fields))
+    redis.call('ZADD', expiryIndexKey, unpack(scores))
+end
+
+-- 이미 입장 권한이 회수되어 갱신하지 않은 userId 목록
+return revokedUserIds
\ No newline at end of file
@@ -1,5 +1,10 @@
 local allowedHashKey = KEYS[1]
 local waitingQueueKey = KEYS[2]
+local expiryIndexKey = KEYS[3]
+local headKey = KEYS[4]
+local versionKey = KEYS[5]
+local changesChannel = KEYS[6]
+local revokedChannel = KEYS[7]
 local userId = ARGV[1]
 local timestamp = ARGV[2]
 
@@ -10,6 +15,11 @@ if removed == 0 then
     return {0, nil}
 end
 
+redis.call('ZREM', expiryIndexKey, userId)
+
+-- 입장 권한 회수 알림 (노드별 입장 허용 캐시 무효화용)
+redis.call('PUBLISH', revokedChannel, userId)
+
 -- 다음 사용자 입장 허용 (ZPOPMIN은 [member, score] 형식으로 배열을 반환)
 local result = redis.call('ZPOPMIN', waitingQueueKey, 1)
 
@@ -17,6 +27,13 @@ local result = redis.call('ZPOPMIN', waitingQueueKey, 1)
 if #result > 0 then
     local nextUserId = result[1]
     redis.call('HSET', allowedHashKey, nextUserId, timestamp)
+    redis.call('ZADD', expiryIndexKey, timestamp, nextUserId)
+    -- 마지막으로 입장한 사용자의 순번을 기록 (순번 추정용)
+    redis.call('SET', headKey, result[2])
+
+    -- 대기열 변경 이벤트 발행 (노드별 순번 인덱스 동기화용)
+    local version = redis.call('INCR', versionKey)
+    redis.call('PUBLISH', changesChannel, version .. '\n- ' .. nextUserId)
 
     -- 삭제 성공 + 다음 대기자의 userId 반환
     return {1, nextUserId}
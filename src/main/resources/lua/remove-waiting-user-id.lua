@@ -0,0 +1,15 @@
+local waitingQueueKey = KEYS[1]
+local versionKey = KEYS[2]
+local changesChannel = KEYS[3]
+local userId = ARGV[1]
+
+-- 대기열에서 userId 제거
+local removed = redis.call('ZREM', waitingQueueKey, userId)
+
+if removed == 1 then
+    -- 대기열 변경 이벤트 발행 (노드별 순번 인덱스 동기화용)
+    local version = redis.call('INCR', versionKey)
+    redis.call('PUBLISH', changesChannel, version .. '\n- ' .. userId)
+end
+
+return removed
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.tickatch.gateway_server.global.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tickatch.gateway_server.global.util.JsonUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+class ErrorResponseBodiesTest {
+
+  private static final DefaultDataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+
+  @Test
+  @DisplayName("미리 직렬화한 본문이 ApiResponse를 직렬화한 결과와 같다")
+  void matches_api_response_serialization() {
+    assertSameAsJackson(403, "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.", "/api/v1/reservations");
+    assertSameAsJackson(401, "USER_ID_REQUIRED", "로그인이 필요합니다.", "/api/v1/queue/lineup");
+    // 이스케이프가 필요한 메시지와 path
+    assertSameAsJackson(400, "QUOTED", "\"path\":\"__error_path__\" \\ \"timestamp\":\"", "/a\"b\\c/공연");
+  }
+
+  @Test
+  @DisplayName("캐시된 본문을 재사용해도 요청마다 path와 timestamp가 채워진다")
+  void fills_path_and_timestamp_per_request() {
+    // given
+    Instant before = Instant.now();
+
+    // when
+    JsonNode first = JsonUtils.parseJson(encode(403, "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.", "/first"));
+    JsonNode second = JsonUtils.parseJson(encode(403, "NOT_IN_QUEUE", "대기열에 등록되지 않은 사용자입니다.", "/second"));
+
+    // then
+    Assertions.assertThat(first.path("error").path("path").asText()).isEqualTo("/first");
+    Assertions.assertThat(second.path("error").path("path").asText()).isEqualTo("/second");
+    Assertions.assertThat(Instant.parse(second.path("timestamp").asText())).isAfterOrEqualTo(before);
+  }
+
+  private static void assertSameAsJackson(int status, String code, String message, String path) {
+    JsonNode cached = JsonUtils.parseJson(encode(status, code, message, path));
+    JsonNode expected = JsonUtils.parseJson(JsonUtils.toJson(ApiResponse.error(code, message, status, path)));
+
+    Assertions.assertThat(Instant.parse(cached.path("timestamp").asText())).isNotNull();
+    ((ObjectNode) cached).remove("timestamp");
+    ((ObjectNode) expected).remove("timestamp");
+    Assertions.assertThat(cached).isEqualTo(expected);
+  }
+
+  private static String encode(int status, String code, String message, String path) {
+    DataBuffer buffer = ErrorResponseBodies.encode(BUFFER_FACTORY, status, code, message, path);
+    return buffer.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,62 @@
+package com.tickatch.gateway_server.global.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HmacSignerTest {
+  private static final String TEST_SECRET = "test-secret-key-for-hmac";
+  private static final String USER_ID = "1806a16b-2e4b-4669-8004-c6ea6c71e6c7";
+  private static final Long TIMESTAMP = 1234567890000L;
+
+  private final HmacSigner signer = new HmacSigner(TEST_SECRET);
+
+  @Test
+  @DisplayName("HmacUtil과 같은 형식의 서명을 생성한다")
+  void produces_same_signature_as_hmac_util() {
+    // given
+    String raw = USER_ID + ":" + TIMESTAMP;
+    String nonAscii = "공연-" + raw;
+
+    // then
+    Assertions.assertThat(signer.sign(raw)).isEqualTo(HmacUtil.hmacSha26(TEST_SECRET, raw));
+    Assertions.assertThat(signer.sign(nonAscii)).isEqualTo(HmacUtil.hmacSha26(TEST_SECRET, nonAscii));
+    Assertions.assertThat(signer.sign("x".repeat(1000))).isEqualTo(HmacUtil.hmacSha26(TEST_SECRET, "x".repeat(1000)));
+  }
+
+  @Test
+  @DisplayName("바이트 배열과 ByteBuffer 입력의 서명이 같다")
+  void byte_array_and_byte_buffer_signatures_match() {
+    // given
+    byte[] raw = (USER_ID + ":" + TIMESTAMP).getBytes(StandardCharsets.UTF_8);
+
+    // when
+    byte[] fromArray = signer.sign(raw);
+    byte[] fromBuffer = signer.sign(ByteBuffer.wrap(raw));
+
+    // then
+    Assertions.assertThat(fromArray).isEqualTo(fromBuffer);
+    Assertions.assertThat(Base64.getUrlEncoder().withoutPadding().encodeToString(fromArray))
+        .isEqualTo(signer.sign(USER_ID + ":" + TIMESTAMP));
+  }
+
+  @Test
+  @DisplayName("서명이 일치할 때만 검증에 성공한다")
+  void verifies_only_matching_signature() {
+    // given
+    String raw = USER_ID + ":" + TIMESTAMP;
+    String signature = signer.sign(raw);
+    byte[] rawBytes = raw.getBytes(StandardCharsets.UTF_8);
+
+    // then
+    Assertions.assertThat(signer.verify(raw, signature)).isTrue();
+    Assertions.assertThat(signer.verify(raw + "1", signature)).isFalse();
+    Assertions.assertThat(signer.verify(raw, signature.substring(1))).isFalse();
+    Assertions.assertThat(signer.verify(raw, new HmacSigner("different-secret").sign(raw))).isFalse();
+    Assertions.assertThat(signer.verify(rawBytes, signer.sign(rawBytes))).isTrue();
+    Assertions.assertThat(signer.verify(ByteBuffer.wrap(rawBytes), signer.sign(rawBytes))).isTrue();
+  }
+}
@@ -0,0 +1,56 @@
+package com.tickatch.gateway_server.global.util;
+
+import com.tickatch.gateway_server.global.api.ApiResponse;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+class JsonUtilsTest {
+
+  private static final NettyDataBufferFactory BUFFER_FACTORY =
+      new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+  @Test
+  @DisplayName("응답 버퍼에 바로 쓴 결과가 bytes 직렬화 결과와 같다")
+  void data_buffer_matches_bytes() {
+    // given
+    ApiResponse<QueueStatusResponse> response =
+        ApiResponse.success(new QueueStatusResponse(1000L, 10L, 990L, 12.5, 1L), "대기 중입니다.");
+    // 초기 버퍼 크기보다 큰 본문
+    ApiResponse<Void> large = ApiResponse.error("LARGE", "메시지".repeat(200), 400, "/api/v1/queue");
+
+    // then
+    Assertions.assertThat(written(response)).isEqualTo(new String(JsonUtils.toBytes(response), StandardCharsets.UTF_8));
+    Assertions.assertThat(written(large)).isEqualTo(new String(JsonUtils.toBytes(large), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("직렬화에 실패하면 변환 예외가 발생한다")
+  void throws_conversion_exception_on_failure() {
+    // given
+    Object unserializable = new Object() {
+      public String getValue() {
+        throw new IllegalStateException("직렬화 실패");
+      }
+    };
+
+    // then
+    Assertions.assertThatThrownBy(() -> JsonUtils.toDataBuffer(unserializable, BUFFER_FACTORY))
+        .isInstanceOf(JsonUtils.JsonConversionException.class);
+  }
+
+  private static String written(Object value) {
+    DataBuffer buffer = JsonUtils.toDataBuffer(value, BUFFER_FACTORY);
+    try {
+      return buffer.toString(StandardCharsets.UTF_8);
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+  }
+}
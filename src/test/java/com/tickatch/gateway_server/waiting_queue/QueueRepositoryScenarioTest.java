@@ -0,0 +1,158 @@
+package com.tickatch.gateway_server.waiting_queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+// Redis/인메모리 저장소가 같은 대기열 동작을 하는지 확인하는 공통 시나리오 (1명만 입장 허용 가능하도록 설정)
+public abstract class QueueRepositoryScenarioTest {
+
+  protected static final String QUEUE_ID = "test-event";
+
+  protected static final String USER_ID_1 = "user1";
+  protected static final String USER_ID_2 = "user2";
+  protected static final String USER_ID_3 = "user3";
+
+  protected abstract WaitingQueueService queueService();
+
+  // 입장 허용된 사용자의 입장 허용 시간이 지난 것으로 만듦
+  protected abstract void expireAllowedIn(String userId);
+
+  @Test
+  @DisplayName("입장 허용 목록이 비어있다면 사용자가 대기열에 등록 후 바로 입장 가능하다.")
+  void lineUp_UserEntersQueue() {
+    // when: 사용자1이 대기열에 등록
+    StepVerifier.create(queueService().lineUp(QUEUE_ID, USER_ID_1))
+        .assertNext(message -> assertThat(message).isEqualTo("바로 입장 가능합니다."))
+        .verifyComplete();
+
+    // then: 입장 가능 여부 확인
+    StepVerifier.create(queueService().canEnter(QUEUE_ID, USER_ID_1))
+        .expectNext(true)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("여러 사용자가 대기열에 등록하면 순서대로 대기 번호가 부여된다")
+  void lineUp_MultipleUsers_GetSequentialPositions() {
+    // given: 최대 수용 인원을 1명으로 설정하여 대기열 강제 생성
+    // when: 3명의 사용자가 순차적으로 등록
+    queueService().lineUp(QUEUE_ID, USER_ID_1).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_2).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_3).block();
+
+    // then: USER_ID_2는 대기열의 맨 앞에 있고, 전체 대기 인원은 2명
+    StepVerifier.create(queueService().getStatus(QUEUE_ID, USER_ID_2))
+        .assertNext(status -> {
+          assertThat(status.userQueuePosition()).isEqualTo(1L);
+          assertThat(status.totalQueueSize()).isEqualTo(2L);
+        })
+        .verifyComplete();
+    StepVerifier.create(queueService().getStatus(QUEUE_ID, USER_ID_3, true))
+        .assertNext(status -> assertThat(status.userQueuePosition()).isEqualTo(2L))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("이미 입장 허용된 사용자가 다시 대기열에 등록하면 '이미 입장 가능' 메시지를 받는다")
+  void lineUp_AlreadyAllowedUser_ReturnsAllowedMessage() {
+    // given: 사용자1이 이미 입장 허용됨
+    queueService().lineUp(QUEUE_ID, USER_ID_1).block();
+
+    // when: 같은 사용자가 다시 등록 시도
+    StepVerifier.create(queueService().lineUp(QUEUE_ID, USER_ID_1))
+        .assertNext(message -> assertThat(message).isEqualTo("이미 입장 가능한 상태입니다."))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("이미 대기 중인 사용자가 다시 대기열에 등록하려고 하면 대기열 뒤로 밀린다.")
+  void lineUp_AlreadyWaitingUser_GoesBackToTheEndOfTheQueue() {
+    // given: 사용자1 = 이미 입장 허용됨, 사용자 2,3 = 대기 중
+    queueService().lineUp(QUEUE_ID, USER_ID_1).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_2).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_3).block();
+
+    // when: 사용자2가 다시 대기열에 등록 시도
+    queueService().lineUp(QUEUE_ID, USER_ID_2).block();
+
+    // then: 사용자2는 대기번호=2, 뒤에 기다리는 인원 수=0
+    StepVerifier.create(queueService().getStatus(QUEUE_ID, USER_ID_2, true))
+        .assertNext(res -> {
+          assertThat(res.userQueuePosition()).isEqualTo(2L);
+          assertThat(res.usersBehind()).isEqualTo(0L);
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("대기열에 없는 사용자의 상태 조회 시 예외가 발생한다")
+  void getStatus_UserNotInQueue_ThrowsException() {
+    StepVerifier.create(queueService().getStatus(QUEUE_ID, "non-existent-user"))
+        .expectError(QueueException.class)
+        .verify();
+  }
+
+  @Test
+  @DisplayName("입장 허용 토큰을 제거하면 다음 사용자가 자동으로 입장 허용된다")
+  void removeAllowedToken_AllowsNextUser() {
+    // given: 여러 사용자가 대기 중
+    queueService().lineUp(QUEUE_ID, USER_ID_1).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_2).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_3).block();
+
+    // when: 첫 번째 사용자의 토큰 제거
+    StepVerifier.create(queueService().removeAllowedUserId(QUEUE_ID, USER_ID_1))
+        .expectNext(true)
+        .verifyComplete();
+
+    // then: 다음 사용자가 같은 스크립트(연산)에서 입장 허용되고, 남은 대기자는 한 칸 앞당겨짐
+    StepVerifier.create(queueService().canEnter(QUEUE_ID, USER_ID_2))
+        .expectNext(true)
+        .verifyComplete();
+    StepVerifier.create(queueService().getStatus(QUEUE_ID, USER_ID_3, true))
+        .assertNext(status -> assertThat(status.userQueuePosition()).isEqualTo(1L))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("만료된 토큰을 정리하면 해당 사용자의 입장 권한이 제거되고 다음 대기자가 입장한다")
+  void cleanupExpiredTokens_RemovesExpiredTokens() {
+    // given: 사용자1 = 입장 허용 시간이 지남, 사용자2 = 대기 중
+    queueService().lineUp(QUEUE_ID, USER_ID_1).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_2).block();
+    expireAllowedIn(USER_ID_1);
+
+    // when: 만료된 토큰 정리
+    StepVerifier.create(queueService().cleanupExpiredUserIds(QUEUE_ID))
+        .verifyComplete();
+
+    // then
+    StepVerifier.create(queueService().canEnter(QUEUE_ID, USER_ID_1))
+        .expectNext(false)
+        .verifyComplete();
+    StepVerifier.create(queueService().canEnter(QUEUE_ID, USER_ID_2))
+        .expectNext(true)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("대기열에서 이탈한 사용자는 게이트에서 대기열에 없는 것으로 처리된다")
+  void removeWaitingUser_NotInQueue() {
+    queueService().lineUp(QUEUE_ID, USER_ID_1).block();
+    queueService().lineUp(QUEUE_ID, USER_ID_2).block();
+
+    StepVerifier.create(queueService().removeWaitingUserId(QUEUE_ID, USER_ID_2))
+        .expectNext(true)
+        .verifyComplete();
+
+    StepVerifier.create(queueService().passGate(QUEUE_ID, USER_ID_2))
+        .assertNext(result -> assertThat(result.type()).isEqualTo(QueueGateResult.Type.NOT_IN_QUEUE))
+        .verifyComplete();
+  }
+}
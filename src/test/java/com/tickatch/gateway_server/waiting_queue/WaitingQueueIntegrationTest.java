@@ -2,9 +2,10 @@ package com.tickatch.gateway_server.waiting_queue;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.tickatch.gateway_server.global.util.HmacUtil;
 import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
-import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.LegacyQueueKeyMigration;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.QueueKeys;
+import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,16 +15,21 @@ import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.test.context.TestPropertySource;
 import reactor.test.StepVerifier;
 
+// 공통 시나리오(QueueRepositoryScenarioTest)를 Redis 저장소로 확인하고 Redis 전용 동작(만료 인덱스 채우기, 스케줄러, 이전 키 이전)을 추가로 확인
 // 테스트 편의를 위해 1명만 입장 허용 가능하도록 설정
 @SpringBootTest
 @TestPropertySource(
     properties = {
         "queue.max-capacity=1",
         "queue.secret-key=test-secret-key-for-hmac",
-        "queue.allowed-in-duration-seconds=15"
+        "queue.allowed-in-duration-seconds=15",
+        // 스케줄러는 등록된 대기열만 처리
+        "queue.events.test-event.max-capacity=1",
+        // 테스트 간 head/tail 순번 캐시가 공유되지 않도록 캐시 비활성화
+        "queue.position-offset-cache-millis=0"
     }
 )
-class WaitingQueueIntegrationTest {
+class WaitingQueueIntegrationTest extends QueueRepositoryScenarioTest {
 
   @Autowired
   private WaitingQueueService queueService;
@@ -31,128 +37,38 @@ class WaitingQueueIntegrationTest {
   @Autowired
   private ReactiveRedisTemplate<String, String> redis;
 
-  private static final String USER_ID_1 = "user1";
-  private static final String USER_ID_2 = "user2";
-  private static final String USER_ID_3 = "user3";
+  @Autowired
+  private LegacyQueueKeyMigration legacyQueueKeyMigration;
 
   @BeforeEach
   void setUp() {
-    redis.delete("queue:counter").block();
-    redis.delete("queue:wait").block();
-    redis.delete("allowedIn:users").block();
-  }
-
-  @Test
-  @DisplayName("입장 허용 목록이 비어있다면 사용자가 대기열에 등록 후 바로 입장 가능하다.")
-  void lineUp_UserEntersQueue() {
-    // when: 사용자1이 대기열에 등록
-    StepVerifier.create(queueService.lineUp(USER_ID_1))
-        .assertNext(message -> assertThat(message).isEqualTo("대기열에 등록되었습니다."))
-        .verifyComplete();
-
-    // then: 입장 가능 여부 확인
-    StepVerifier.create(queueService.canEnter(USER_ID_1))
-        .assertNext(canEnter -> assertThat(canEnter).isTrue())
-        .verifyComplete();
-  }
-
-  @Test
-  @DisplayName("여러 사용자가 대기열에 등록하면 순서대로 대기 번호가 부여된다")
-  void lineUp_MultipleUsers_GetSequentialPositions() {
-    // given:
-    // 최대 수용 인원을 1명으로 설정하여 대기열 강제 생성
-
-    // when:
-    // 3명의 사용자가 순차적으로 등록
-    queueService.lineUp(USER_ID_1).block();
-    queueService.lineUp(USER_ID_2).block();
-    queueService.lineUp(USER_ID_3).block();
-
-    // then: USER_ID_2는 대기열의 맨 앞에 있고, 전체 대기 인원은 2명
-    StepVerifier.create(queueService.getStatus(USER_ID_2))
-        .assertNext(status -> {
-          assertThat(status.userQueuePosition()).isEqualTo(1L);
-          assertThat(status.totalQueueSize()).isEqualTo(2L);
-        })
-        .verifyComplete();
-  }
-
-  @Test
-  @DisplayName("이미 입장 허용된 사용자가 다시 대기열에 등록하면 '이미 입장 가능' 메시지를 받는다")
-  void lineUp_AlreadyAllowedUser_ReturnsAllowedMessage() {
-    // given: 사용자1이 이미 입장 허용됨
-    queueService.lineUp(USER_ID_1).block();
-
-    // when: 같은 사용자가 다시 등록 시도
-    StepVerifier.create(queueService.lineUp(USER_ID_1))
-        .assertNext(message -> assertThat(message).isEqualTo("이미 입장 가능한 상태입니다."))
-        .verifyComplete();
+    deleteQueueKeys(QUEUE_ID);
   }
 
-  @Test
-  @DisplayName("이미 대기 중인 사용자가 다시 대기열에 등록하려고 하면 대기열 뒤로 밀린다.")
-  void lineUp_AlreadyWaitingUser_GoesBackToTheEndOfTheQueue() {
-    // given: 사용자1 = 이미 입장 허용됨, 사용자 2,3 = 대기 중
-    queueService.lineUp(USER_ID_1).block();
-    queueService.lineUp(USER_ID_2).block();
-    queueService.lineUp(USER_ID_3).block();
-
-    // when: 사용자2가 다시 대기열에 등록 시도
-    queueService.lineUp(USER_ID_2).block();
-
-    // then: 사용자2는 대기번호=2, 뒤에 기다리는 인원 수=0
-    StepVerifier.create(queueService.getStatus(USER_ID_2))
-        .assertNext(res -> {
-          assertThat(res.userQueuePosition()).isEqualTo(2L);
-          assertThat(res.usersBehind()).isEqualTo(0L);
-        })
-        .verifyComplete();
+  @Override
+  protected WaitingQueueService queueService() {
+    return queueService;
   }
 
-  @Test
-  @DisplayName("대기열에 없는 사용자의 상태 조회 시 예외가 발생한다")
-  void getStatus_UserNotInQueue_ThrowsException() {
-    // when & then
-    StepVerifier.create(queueService.getStatus("non-existent-user"))
-        .expectError(QueueException.class)
-        .verify();
+  // 만료 정리는 만료 인덱스(allowedIn:{queueId}:expiry)의 score를 기준으로 하므로 해시와 인덱스를 함께 과거로 설정
+  @Override
+  protected void expireAllowedIn(String userId) {
+    redis.opsForHash().put("allowedIn:{test-event}:users", userId, "0").block();
+    redis.opsForZSet().add("allowedIn:{test-event}:expiry", userId, 0).block();
   }
 
   @Test
-  @DisplayName("입장 허용 토큰을 제거하면 다음 사용자가 자동으로 입장 허용된다")
-  void removeAllowedToken_AllowsNextUser() throws InterruptedException {
-    // given: 여러 사용자가 대기 중
-    queueService.lineUp(USER_ID_1).block();
-    queueService.lineUp(USER_ID_2).block();
-    queueService.lineUp(USER_ID_3).block();
-
-    // when: 첫 번째 사용자의 토큰 제거
-    queueService.removeAllowedUserId(USER_ID_1).block();
-
-    // then: 다음 사용자가 입장 가능해짐
-    // 약간의 지연 후 확인 (비동기 처리 고려)
-    Thread.sleep(100);
-    StepVerifier.create(queueService.canEnter(USER_ID_2))
-        .assertNext(canEnter -> assertThat(canEnter).isTrue())
-        .verifyComplete();
-  }
+  @DisplayName("만료 인덱스에 없는 입장 허용 사용자도 만료 정리 시 인덱스에 채워져 만료된다")
+  void cleanupExpiredTokens_BackfillsExpiryIndex() {
+    // given: 만료 인덱스 도입 전에 입장 허용되어 해시에만 있는 사용자
+    redis.opsForHash().put("allowedIn:{test-event}:users", USER_ID_1, "0").block();
 
-  @Test
-  @DisplayName("만료된 토큰을 정리하면 해당 사용자의 입장 권한이 제거된다")
-  void cleanupExpiredTokens_RemovesExpiredTokens() {
-    // given: 사용자가 입장 허용됨
-    queueService.lineUp(USER_ID_1).block();
-
-    // 타임스탬프를 과거로 설정하기 위해 직접 Redis 조작
-    String token = getTokenForUser(USER_ID_1);
-    redis.opsForHash().put("allowedIn:users", token, "0").block();
-
-    // when: 만료된 토큰 정리
-    StepVerifier.create(queueService.cleanupExpiredUserIds())
+    // when: 첫 정리에서 인덱스를 채우고 만료 처리
+    StepVerifier.create(queueService.cleanupExpiredUserIds(QUEUE_ID))
         .verifyComplete();
 
-    // then: 더 이상 입장 불가
-    StepVerifier.create(queueService.canEnter(USER_ID_1))
+    // then
+    StepVerifier.create(queueService.canEnter(QUEUE_ID, USER_ID_1))
         .expectNext(false)
         .verifyComplete();
   }
@@ -163,21 +79,59 @@ class WaitingQueueIntegrationTest {
     // given:
     // 입장 허용 시간 = 15초, 스케줄러 실행 주기 = 10초
     // 사용자 입장 허용 후 토큰을 과거 시간으로 설정
-    queueService.lineUp(USER_ID_1).block();
+    queueService.lineUp(QUEUE_ID, USER_ID_1).block();
 
-    String token = getTokenForUser(USER_ID_1);
-    redis.opsForHash().put("allowedIn:users", token, "0").block();
+    expireAllowedIn(USER_ID_1);
 
     // when: 스케줄러가 실행될 때까지 대기 (10초 + 여유시간)
     Thread.sleep(12000);
 
     // then: 토큰이 정리되어 입장 불가
-    StepVerifier.create(queueService.canEnter(USER_ID_1))
+    StepVerifier.create(queueService.canEnter(QUEUE_ID, USER_ID_1))
         .expectNext(false)
         .verifyComplete();
   }
 
-  private String getTokenForUser(String userId) {
-    return HmacUtil.hmacSha26("test-secret-key-for-hmac", userId);
+  @Test
+  @DisplayName("대기열 분리 이전 키의 대기자와 입장 허용 사용자는 순서를 유지한 채 default 대기열로 옮겨진다")
+  void migrateLegacyKeys_MovesUsersToDefaultQueue() {
+    // given: 이전 키에 입장 허용 1명, 대기 2명
+    deleteQueueKeys("default");
+    redis.opsForHash().put("allowedIn:users", USER_ID_1, String.valueOf(Instant.now().getEpochSecond())).block();
+    redis.opsForZSet().add("queue:wait", USER_ID_2, 5).block();
+    redis.opsForZSet().add("queue:wait", USER_ID_3, 6).block();
+    redis.opsForValue().set("queue:counter", "6").block();
+
+    // when
+    legacyQueueKeyMigration.migrate().block();
+
+    // then: 입장 허용 사용자는 만료 인덱스에도 등록되고, 대기자는 이전 순서를 유지
+    StepVerifier.create(queueService.canEnter("default", USER_ID_1))
+        .expectNext(true)
+        .verifyComplete();
+    assertThat(redis.opsForZSet().score("allowedIn:{default}:expiry", USER_ID_1).block()).isNotNull();
+    StepVerifier.create(queueService.getStatus("default", USER_ID_3))
+        .assertNext(status -> {
+          assertThat(status.userQueuePosition()).isEqualTo(2L);
+          assertThat(status.totalQueueSize()).isEqualTo(2L);
+        })
+        .verifyComplete();
+
+    // 이전 키는 삭제됨
+    assertThat(redis.hasKey("queue:wait").block()).isFalse();
+    assertThat(redis.hasKey("allowedIn:users").block()).isFalse();
+    assertThat(redis.hasKey("queue:counter").block()).isFalse();
+
+    // 이후 등록한 사용자는 옮겨진 대기자 뒤에 선다
+    queueService.lineUp("default", "user4").block();
+    StepVerifier.create(queueService.getStatus("default", "user4"))
+        .assertNext(status -> assertThat(status.userQueuePosition()).isEqualTo(3L))
+        .verifyComplete();
+
+    deleteQueueKeys("default");
+  }
+
+  private void deleteQueueKeys(String queueId) {
+    redis.delete(QueueKeys.of(queueId).dataKeys().toArray(String[]::new)).block();
   }
-}
\ No newline at end of file
+}
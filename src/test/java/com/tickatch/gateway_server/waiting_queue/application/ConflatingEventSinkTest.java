@@ -0,0 +1,69 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.AllowedInNotificationEvent;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusChangeEvent;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class ConflatingEventSinkTest {
+
+  @Test
+  @DisplayName("전송하지 못한 대기 순번은 최신 값으로 덮어쓴다")
+  void keeps_only_latest_status() {
+    // given
+    ConflatingEventSink sink = new ConflatingEventSink();
+
+    // when & then
+    StepVerifier.create(sink.asFlux(), 0)
+        .then(() -> {
+          sink.emitStatus(status(3L));
+          sink.emitStatus(status(2L));
+          sink.emitStatus(status(1L));
+        })
+        .thenRequest(1)
+        .assertNext(event -> Assertions.assertThat(positionOf(event)).isEqualTo(1L))
+        .then(sink::complete)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("입장 허용 알림은 덮어쓰지 않고 전송 후 완료한다")
+  void never_drops_allowed_in() {
+    // given
+    ConflatingEventSink sink = new ConflatingEventSink();
+
+    // when
+    sink.emitStatus(status(1L));
+    sink.emitAllowedIn(new AllowedInNotificationEvent());
+    boolean emitted = sink.emitStatus(status(0L));
+
+    // then
+    Assertions.assertThat(emitted).isFalse();
+    StepVerifier.create(sink.asFlux())
+        .expectNextMatches(AllowedInNotificationEvent.class::isInstance)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("구독자는 하나만 허용한다")
+  void allows_single_subscriber() {
+    // given
+    ConflatingEventSink sink = new ConflatingEventSink();
+    sink.asFlux().subscribe();
+
+    // when & then
+    StepVerifier.create(sink.asFlux())
+        .verifyError(IllegalStateException.class);
+  }
+
+  private static QueueStatusChangeEvent status(long position) {
+    return new QueueStatusChangeEvent(new QueueStatusResponse(10L, position, 10L - position));
+  }
+
+  private static Long positionOf(Object event) {
+    return ((QueueStatusChangeEvent) event).getStatusResponse().userQueuePosition();
+  }
+}
@@ -0,0 +1,32 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueErrorCode;
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import java.util.Set;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QueueIdsTest {
+
+  private final QueueIds queueIds = new QueueIds(Set.of(QueueIds.DEFAULT_QUEUE_ID, "concert-2025")::contains);
+
+  @Test
+  @DisplayName("productId가 없으면 기본 대기열, 등록된 공연이면 소문자로 정규화한 대기열 ID를 사용한다")
+  void resolves_default_and_registered_queue() {
+    Assertions.assertThat(queueIds.resolve(null)).isEqualTo(QueueIds.DEFAULT_QUEUE_ID);
+    Assertions.assertThat(queueIds.resolve(" ")).isEqualTo(QueueIds.DEFAULT_QUEUE_ID);
+    Assertions.assertThat(queueIds.resolve(" Concert-2025 ")).isEqualTo("concert-2025");
+  }
+
+  @Test
+  @DisplayName("등록되지 않은 공연이나 허용되지 않은 문자는 대기열을 만들지 않고 거절한다")
+  void rejects_unknown_or_invalid_queue() {
+    Assertions.assertThatThrownBy(() -> queueIds.resolve("fresh-queue"))
+        .isInstanceOfSatisfying(QueueException.class,
+            e -> Assertions.assertThat(e.getErrorCode()).isEqualTo(QueueErrorCode.QUEUE_NOT_FOUND));
+    Assertions.assertThatThrownBy(() -> queueIds.resolve("queue:{x}"))
+        .isInstanceOfSatisfying(QueueException.class,
+            e -> Assertions.assertThat(e.getErrorCode()).isEqualTo(QueueErrorCode.INVALID_QUEUE_ID));
+  }
+}
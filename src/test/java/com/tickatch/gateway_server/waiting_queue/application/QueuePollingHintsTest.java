@@ -0,0 +1,56 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QueuePollingHintsTest {
+
+  private final QueueProgressTracker progressTracker = new QueueProgressTracker(60);
+  private final QueuePollingHints hints = new QueuePollingHints(progressTracker, 10_000, 1, 30);
+
+  @Test
+  @DisplayName("대기열 진행이 없고 같은 시간 구간이면 ETag가 유효하다")
+  void etag_is_valid_until_progress() {
+    // given
+    String etag = hints.etag("concert-1", "user-1", false, 120, 1_000);
+
+    // when & then
+    Assertions.assertThat(hints.findNotModified("concert-1", "user-1", false, List.of(etag), 5_000)).isEqualTo(etag);
+    Assertions.assertThat(hints.positionOf(etag)).isEqualTo(120L);
+    Assertions.assertThat(hints.findNotModified("concert-1", "user-1", true, List.of(etag), 5_000)).isNull();
+    Assertions.assertThat(hints.findNotModified("concert-1", "user-1", false, List.of(etag), 10_000)).isNull();
+
+    // when
+    progressTracker.onAdmitted("concert-1", 1);
+
+    // then
+    Assertions.assertThat(hints.findNotModified("concert-1", "user-1", false, List.of(etag), 5_000)).isNull();
+  }
+
+  @Test
+  @DisplayName("다른 사용자의 ETag나 대기 순번을 바꾸거나 형식이 잘못된 ETag는 무시한다")
+  void forged_etag_is_ignored() {
+    // given
+    String etag = hints.etag("concert-1", "user-1", false, 120, 1_000);
+    int signatureStart = etag.lastIndexOf('.');
+    String prefix = etag.substring(0, etag.lastIndexOf('-', signatureStart) + 1);
+    String signature = etag.substring(signatureStart);
+
+    // when & then
+    Assertions.assertThat(hints.findNotModified("concert-1", "user-2", false, List.of(etag), 5_000)).isNull();
+    Assertions.assertThat(hints.findNotModified("concert-1", "user-1", false,
+        List.of(prefix + "0" + signature), 5_000)).isNull();
+    Assertions.assertThat(hints.findNotModified("concert-1", "user-1", false,
+        List.of(prefix + "abc\"", prefix + "abc" + signature, prefix + "\""), 5_000)).isNull();
+  }
+
+  @Test
+  @DisplayName("대기 순번이 뒤일수록 Retry-After가 길어지고 최소/최대 범위로 제한된다")
+  void retry_after_grows_with_position() {
+    Assertions.assertThat(hints.retryAfterSeconds("concert-1", 10)).isEqualTo(1L);
+    Assertions.assertThat(hints.retryAfterSeconds("concert-1", 1_000)).isEqualTo(10L);
+    Assertions.assertThat(hints.retryAfterSeconds("concert-1", 100_000)).isEqualTo(30L);
+  }
+}
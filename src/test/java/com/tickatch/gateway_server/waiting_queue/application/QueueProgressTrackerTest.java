@@ -0,0 +1,42 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QueueProgressTrackerTest {
+
+  @Test
+  @DisplayName("입장이 관측되기 전에는 예상 대기 시간을 알 수 없다")
+  void no_estimate_before_admissions() {
+    // given
+    QueueProgressTracker tracker = new QueueProgressTracker(60);
+    QueueStatusResponse status = new QueueStatusResponse(100L, 10L, 90L);
+
+    // when
+    tracker.sampleAdmissionRates();
+
+    // then
+    Assertions.assertThat(tracker.withEstimate("concert-1", status)).isEqualTo(status);
+  }
+
+  @Test
+  @DisplayName("입장 인원으로 입장 속도를 추정하고 순번 / 속도로 예상 대기 시간을 계산한다")
+  void estimates_wait_from_admission_rate() throws InterruptedException {
+    // given
+    QueueProgressTracker tracker = new QueueProgressTracker(0.001);
+    tracker.onAdmitted("concert-1", 60);
+    tracker.onAdmitted("concert-1", 40);
+    Thread.sleep(100);
+
+    // when
+    tracker.sampleAdmissionRates();
+    QueueStatusResponse estimated = tracker.withEstimate("concert-1", new QueueStatusResponse(1000L, 100L, 900L));
+
+    // then (창이 매우 짧으므로 마지막 샘플의 순간 속도 = 약 100명 / 0.1초)
+    Assertions.assertThat(tracker.version("concert-1")).isEqualTo(2L);
+    Assertions.assertThat(estimated.admissionRatePerSecond()).isBetween(100.0, 1001.0);
+    Assertions.assertThat(estimated.estimatedWaitSeconds()).isEqualTo(1L);
+  }
+}
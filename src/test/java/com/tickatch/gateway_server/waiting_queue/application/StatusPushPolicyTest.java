@@ -0,0 +1,27 @@
+package com.tickatch.gateway_server.waiting_queue.application;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StatusPushPolicyTest {
+
+  private final StatusPushPolicy policy = new StatusPushPolicy(50, 0.05, 30_000);
+
+  @Test
+  @DisplayName("앞쪽 사용자는 한 명만 줄어도 알림을 받고, 뒤쪽 사용자는 최소 변화량 이상일 때만 받는다")
+  void pushes_by_absolute_or_relative_change() {
+    Assertions.assertThat(policy.shouldPush(10, 0, 9, 1_000)).isTrue();
+    Assertions.assertThat(policy.shouldPush(10_000, 0, 9_990, 1_000)).isFalse();
+    Assertions.assertThat(policy.shouldPush(10_000, 0, 9_950, 1_000)).isTrue();
+    Assertions.assertThat(policy.shouldPush(500, 0, 475, 1_000)).isTrue();
+  }
+
+  @Test
+  @DisplayName("첫 알림이거나 최대 무음 시간이 지나면 순번이 같아도 알림을 보낸다")
+  void pushes_first_and_after_max_silence() {
+    Assertions.assertThat(policy.shouldPush(-1, 0, 100, 1_000)).isTrue();
+    Assertions.assertThat(policy.shouldPush(100, 0, 100, 29_999)).isFalse();
+    Assertions.assertThat(policy.shouldPush(100, 0, 100, 30_000)).isTrue();
+  }
+}
@@ -0,0 +1,60 @@
+package com.tickatch.gateway_server.waiting_queue.benchmark;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 성능 비교 테스트 결과 (처리량 + 지연 시간 백분위).
+ */
+record BenchmarkResult(
+    String name,
+    int operations,
+    double throughputPerSecond,
+    double p50Millis,
+    double p99Millis,
+    double maxMillis
+) {
+
+  // operation(i)를 operations번, 최대 concurrency개씩 동시에 실행하며 요청별 지연 시간과 전체 처리량을 측정
+  static BenchmarkResult run(String name, int operations, int concurrency, IntFunction<Mono<?>> operation) {
+    long[] latencies = new long[operations];
+
+    long start = System.nanoTime();
+    Flux.range(0, operations)
+        .flatMap(i -> Mono.defer(() -> {
+          long requestedAt = System.nanoTime();
+          return operation.apply(i)
+              .doOnNext(result -> latencies[i] = System.nanoTime() - requestedAt);
+        }), concurrency)
+        .blockLast();
+
+    return of(name, latencies, System.nanoTime() - start);
+  }
+
+  static BenchmarkResult of(String name, long[] latencyNanos, long elapsedNanos) {
+    long[] sorted = latencyNanos.clone();
+    Arrays.sort(sorted);
+
+    return new BenchmarkResult(
+        name,
+        sorted.length,
+        sorted.length / (elapsedNanos / 1_000_000_000.0),
+        percentile(sorted, 0.50) / 1_000_000.0,
+        percentile(sorted, 0.99) / 1_000_000.0,
+        sorted[sorted.length - 1] / 1_000_000.0
+    );
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%-24s ops=%d, throughput=%.0f/s, p50=%.2fms, p99=%.2fms, max=%.2fms",
+        name, operations, throughputPerSecond, p50Millis, p99Millis, maxMillis);
+  }
+}
@@ -0,0 +1,109 @@
+package com.tickatch.gateway_server.waiting_queue.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.QueueProgressTracker;
+import com.tickatch.gateway_server.waiting_queue.application.dto.RemoveExpiredUsersResult;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueRepository;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.memory.InMemoryQueueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// 실행: ./gradlew benchmark --tests '*InMemoryQueueContentionBenchmark' (Redis 불필요)
+// 여러 스레드가 같은 대기열에 동시에 등록/게이트 통과를 요청하는 동안 입장 처리가 계속 대기자를 입장시킴
+@Slf4j
+@Tag("benchmark")
+class InMemoryQueueContentionBenchmark {
+
+  private static final String QUEUE_ID = "benchmark-memory";
+  private static final int MAX_CAPACITY = 1_000;
+  private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+  private static final int USERS_PER_THREAD = 100_000;
+
+  @Test
+  @DisplayName("동시 등록/게이트 통과/입장 처리 중에도 정원을 넘지 않고 대기자를 잃지 않는다")
+  void lineUpAndGateUnderContention() throws Exception {
+    QueueProperties queueProperties = new QueueProperties();
+    queueProperties.setMaxCapacity(MAX_CAPACITY);
+    // 입장 후 바로 만료되어 입장 처리가 계속 대기자를 입장시키도록 설정
+    queueProperties.setAllowedInDurationSeconds(0);
+
+    QueueProgressTracker progressTracker = new QueueProgressTracker(60);
+    QueueRepository repository = new InMemoryQueueRepository(queueProperties,
+        new AllowedInCache(0, 0), new QueueMetrics(new SimpleMeterRegistry(), progressTracker));
+
+    AtomicLong allowedAtLineUp = new AtomicLong();
+    AtomicLong admitted = new AtomicLong();
+    AtomicLong maxAllowedCount = new AtomicLong();
+    AtomicBoolean running = new AtomicBoolean(true);
+
+    // 입장 처리 (스케줄러 역할)
+    Thread admission = new Thread(() -> {
+      while (running.get()) {
+        RemoveExpiredUsersResult result = repository.cleanupExpiredUserIds(QUEUE_ID).block();
+        admitted.addAndGet(result.userIds().size());
+        maxAllowedCount.accumulateAndGet(result.allowedCount(), Math::max);
+      }
+    });
+    admission.start();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    long[] lineUpLatencies = new long[THREADS * USERS_PER_THREAD];
+    long[] gateLatencies = new long[THREADS * USERS_PER_THREAD];
+    List<CompletableFuture<Void>> workers = new ArrayList<>();
+
+    long start = System.nanoTime();
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      workers.add(CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < USERS_PER_THREAD; i++) {
+          int index = thread * USERS_PER_THREAD + i;
+
+          long requestedAt = System.nanoTime();
+          String message = repository.lineUp(QUEUE_ID, "user-" + thread + "-" + i).block();
+          lineUpLatencies[index] = System.nanoTime() - requestedAt;
+          if ("바로 입장 가능합니다.".equals(message)) {
+            allowedAtLineUp.incrementAndGet();
+          }
+
+          // 이미 등록한 사용자 중 무작위로 게이트 통과 요청 (입장 허용 시각 갱신 또는 순번 조회)
+          String userId = "user-" + thread + "-" + ThreadLocalRandom.current().nextInt(i + 1);
+          requestedAt = System.nanoTime();
+          repository.passGate(QUEUE_ID, userId, true, false).block();
+          gateLatencies[index] = System.nanoTime() - requestedAt;
+        }
+      }, executor));
+    }
+    CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get();
+    long elapsed = System.nanoTime() - start;
+
+    running.set(false);
+    admission.join();
+    executor.shutdown();
+
+    RemoveExpiredUsersResult last = repository.cleanupExpiredUserIds(QUEUE_ID).block();
+    admitted.addAndGet(last.userIds().size());
+
+    log.info("threads={}, {}", THREADS, BenchmarkResult.of("lineUp (memory)", lineUpLatencies, elapsed));
+    log.info("threads={}, {}", THREADS, BenchmarkResult.of("passGate (memory)", gateLatencies, elapsed));
+
+    // 모든 사용자는 바로 입장했거나, 입장 처리로 입장했거나, 아직 대기 중
+    assertThat(allowedAtLineUp.get() + admitted.get() + last.waitingCount())
+        .isEqualTo((long) THREADS * USERS_PER_THREAD);
+    assertThat(maxAllowedCount.get()).isLessThanOrEqualTo(MAX_CAPACITY);
+  }
+}
@@ -0,0 +1,105 @@
+package com.tickatch.gateway_server.waiting_queue.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueRepository;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.index.LocalQueueIndexes;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.QueueKeys;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.QueueScripts;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.RedisQueueRepositoryImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+// 실행: ./gradlew benchmark --tests '*LineupBatchingBenchmark' (로컬 Redis 필요)
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(
+    properties = {
+        "queue.max-capacity=1000",
+        "queue.allowed-in-duration-seconds=240"
+    }
+)
+class LineupBatchingBenchmark {
+
+  private static final String QUEUE_ID = "benchmark-lineup";
+  private static final int USERS = 20_000;
+  private static final int CONCURRENCY = 1_000;
+
+  @Autowired
+  private ReactiveRedisTemplate<String, String> redis;
+
+  @Autowired
+  private QueueProperties queueProperties;
+
+  @Autowired
+  private QueueScripts scripts;
+
+  @Autowired
+  private LocalQueueIndexes localQueueIndexes;
+
+  @Autowired
+  private AllowedInCache allowedInCache;
+
+  @Autowired
+  private QueueMetrics queueMetrics;
+
+  @Test
+  @DisplayName("동시 대기열 등록 요청을 묶어서 처리하면 개별 처리보다 처리량이 높다")
+  void compareSingleAndBatchedLineUp() {
+    QueueRepository single = newRepository(0);
+    QueueRepository batched = newRepository(2);
+
+    // JIT, 커넥션 워밍업
+    run("warmup-single", single);
+    run("warmup-batched", batched);
+
+    BenchmarkResult singleResult = run("lineUp (per call)", single);
+    BenchmarkResult batchedResult = run("lineUp (batched 2ms)", batched);
+
+    log.info("{}", singleResult);
+    log.info("{}", batchedResult);
+
+    assertThat(batchedResult.throughputPerSecond()).isGreaterThan(singleResult.throughputPerSecond());
+  }
+
+  private BenchmarkResult run(String name, QueueRepository repository) {
+    clear();
+    return BenchmarkResult.run(name, USERS, CONCURRENCY, i -> repository.lineUp(QUEUE_ID, "user-" + i));
+  }
+
+  private QueueRepository newRepository(long batchWindowMillis) {
+    // 묶음 처리 설정만 다른 저장소를 만들기 위해 설정을 복사
+    QueueProperties properties = new QueueProperties();
+    properties.setMaxCapacity(queueProperties.getMaxCapacity());
+    properties.setAllowedInDurationSeconds(queueProperties.getAllowedInDurationSeconds());
+    properties.setPositionMode(queueProperties.getPositionMode());
+    properties.setPositionOffsetCacheMillis(queueProperties.getPositionOffsetCacheMillis());
+    properties.setEvents(queueProperties.getEvents());
+    properties.getLineupBatch().setMaxSize(200);
+    properties.getLineupBatch().setWindowMillis(batchWindowMillis);
+    properties.getRefreshWriteBehind().setIntervalMillis(0);
+
+    return new RedisQueueRepositoryImpl(
+        redis,
+        properties,
+        scripts,
+        localQueueIndexes,
+        allowedInCache,
+        queueMetrics
+    );
+  }
+
+  private void clear() {
+    redis.delete(QueueKeys.of(QUEUE_ID).dataKeys().toArray(String[]::new)).block();
+  }
+}
@@ -0,0 +1,89 @@
+package com.tickatch.gateway_server.waiting_queue.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
+import com.tickatch.gateway_server.waiting_queue.application.exception.QueueException;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.QueueKeys;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 실행: ./gradlew benchmark --tests '*QueueGateBenchmark' (로컬 Redis 필요)
+// 왕복 횟수만 비교하도록 입장 허용 캐시와 지연 쓰기는 끄고, 순번은 정확한 순번(ZRANK)으로 조회
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(
+    properties = {
+        "queue.max-capacity=5000",
+        "queue.allowed-in-duration-seconds=240",
+        "queue.position-mode=exact",
+        "queue.allowed-in-cache.ttl-millis=0",
+        "queue.refresh-write-behind.interval-millis=0"
+    }
+)
+class QueueGateBenchmark {
+
+  private static final String QUEUE_ID = "benchmark-gate";
+  // 앞의 5,000명은 입장 허용, 나머지는 대기
+  private static final int USERS = 10_000;
+  private static final int REQUESTS = 50_000;
+  private static final int CONCURRENCY = 1_000;
+
+  @Autowired
+  private WaitingQueueService queueService;
+
+  @Autowired
+  private ReactiveRedisTemplate<String, String> redis;
+
+  @Test
+  @DisplayName("게이트 스크립트 한 번으로 처리하면 입장 확인 → 갱신/순번 조회로 나눠 호출할 때보다 처리량이 높다")
+  void compareChainedAndSingleGate() {
+    prepareQueue();
+
+    // JIT, 커넥션 워밍업
+    run("warmup-chained", this::chainedGate);
+    run("warmup-gate", queueService::passGate);
+
+    BenchmarkResult chained = run("gate (2~3 round trips)", this::chainedGate);
+    BenchmarkResult single = run("gate (gate.lua)", queueService::passGate);
+
+    log.info("{}", chained);
+    log.info("{}", single);
+
+    assertThat(single.throughputPerSecond()).isGreaterThan(chained.throughputPerSecond());
+  }
+
+  // 게이트 스크립트 도입 전 QueueFilter의 호출 순서
+  // 입장 허용: HEXISTS → 갱신 스크립트, 대기 중: HEXISTS → ZRANK + ZCARD
+  private Mono<QueueGateResult> chainedGate(String queueId, String userId) {
+    return queueService.canEnter(queueId, userId)
+        .flatMap(canEnter -> canEnter
+            ? queueService.refreshAllowedInTimeStamp(queueId, userId).thenReturn(QueueGateResult.allowed())
+            : queueService.getStatus(queueId, userId, true)
+                .map(QueueGateResult::waiting)
+                .onErrorReturn(QueueException.class, QueueGateResult.notInQueue()));
+  }
+
+  private BenchmarkResult run(String name, BiFunction<String, String, Mono<QueueGateResult>> gate) {
+    return BenchmarkResult.run(name, REQUESTS, CONCURRENCY, i -> gate.apply(QUEUE_ID, "user-" + (i % USERS)));
+  }
+
+  private void prepareQueue() {
+    redis.delete(QueueKeys.of(QUEUE_ID).dataKeys().toArray(String[]::new)).block();
+
+    Flux.range(0, USERS)
+        .concatMap(i -> queueService.lineUp(QUEUE_ID, "user-" + i))
+        .blockLast();
+  }
+}
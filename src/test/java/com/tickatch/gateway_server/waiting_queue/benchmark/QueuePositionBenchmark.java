@@ -0,0 +1,76 @@
+package com.tickatch.gateway_server.waiting_queue.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import com.tickatch.gateway_server.waiting_queue.application.port.QueueRepository;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.redis.QueueKeys;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// 실행: ./gradlew benchmark --tests '*QueuePositionBenchmark' (로컬 Redis 필요)
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(
+    properties = {
+        "queue.max-capacity=1",
+        "queue.allowed-in-duration-seconds=240",
+        "queue.position-mode=estimated"
+    }
+)
+class QueuePositionBenchmark {
+
+  private static final String QUEUE_ID = "benchmark-position";
+  private static final int WAITING_USERS = 50_000;
+  private static final int STATUS_REQUESTS = 50_000;
+  private static final int CONCURRENCY = 1_000;
+
+  @Autowired
+  private QueueRepository queueRepository;
+
+  @Autowired
+  private ReactiveRedisTemplate<String, String> redis;
+
+  @Test
+  @DisplayName("순번 추정(ZSCORE + 캐시된 head)은 ZRANK + ZCARD 조회보다 처리량이 높다")
+  void compareExactAndEstimatedStatus() {
+    prepareQueue();
+
+    // JIT, 커넥션 워밍업
+    run("warmup-exact", queueRepository::getExactStatus);
+    run("warmup-estimated", queueRepository::getCurrentStatus);
+
+    BenchmarkResult exact = run("status (ZRANK + ZCARD)", queueRepository::getExactStatus);
+    BenchmarkResult estimated = run("status (estimated)", queueRepository::getCurrentStatus);
+
+    log.info("{}", exact);
+    log.info("{}", estimated);
+
+    assertThat(estimated.throughputPerSecond()).isGreaterThan(exact.throughputPerSecond());
+  }
+
+  private BenchmarkResult run(String name,
+      BiFunction<String, String, Mono<QueueStatusResponse>> statusQuery) {
+    // 첫 사용자는 바로 입장하므로 대기 중인 사용자만 조회
+    return BenchmarkResult.run(name, STATUS_REQUESTS, CONCURRENCY,
+        i -> statusQuery.apply(QUEUE_ID, "user-" + (1 + i % (WAITING_USERS - 1))));
+  }
+
+  private void prepareQueue() {
+    redis.delete(QueueKeys.of(QUEUE_ID).dataKeys().toArray(String[]::new)).block();
+
+    Flux.range(0, WAITING_USERS)
+        .concatMap(i -> queueRepository.lineUp(QUEUE_ID, "user-" + i))
+        .blockLast();
+  }
+}
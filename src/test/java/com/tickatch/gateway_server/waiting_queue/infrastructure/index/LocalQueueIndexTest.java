@@ -0,0 +1,112 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.index;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LocalQueueIndexTest {
+
+  @Test
+  @DisplayName("스냅샷 이후 변경 이벤트를 반영해 대기 순번을 계산한다")
+  void applies_changes_after_snapshot() {
+    // given
+    LocalQueueIndex index = synced(3, List.of("user-1", "1", "user-2", "2", "user-3", "3"));
+
+    // when
+    index.onChange("4\n- user-1");
+    index.onChange("5\n+ 4 user-4\n+ 5 user-5");
+
+    // then
+    Assertions.assertThat(index.statusOf("user-2")).isEqualTo(new QueueStatusResponse(4L, 1L, 3L));
+    Assertions.assertThat(index.statusOf("user-5")).isEqualTo(new QueueStatusResponse(4L, 4L, 0L));
+    Assertions.assertThat(index.statusOf("user-1")).isNull();
+  }
+
+  @Test
+  @DisplayName("다시 대기열에 등록한 사용자는 맨 뒤로 이동한다")
+  void relined_user_moves_to_back() {
+    // given
+    LocalQueueIndex index = synced(2, List.of("user-1", "1", "user-2", "2"));
+
+    // when
+    index.onChange("3\n+ 3 user-1");
+
+    // then
+    Assertions.assertThat(index.statusOf("user-1")).isEqualTo(new QueueStatusResponse(2L, 2L, 0L));
+    Assertions.assertThat(index.statusOf("user-2")).isEqualTo(new QueueStatusResponse(2L, 1L, 1L));
+  }
+
+  @Test
+  @DisplayName("변경 버전이 건너뛰면 재동기화가 필요하다고 알리고 조회를 중단한다")
+  void version_gap_requires_resync() {
+    // given
+    LocalQueueIndex index = synced(1, List.of("user-1", "1"));
+
+    // when
+    boolean applied = index.onChange("3\n+ 3 user-3");
+
+    // then
+    Assertions.assertThat(applied).isFalse();
+    Assertions.assertThat(index.isReady()).isFalse();
+    Assertions.assertThat(index.statusOf("user-1")).isNull();
+  }
+
+  @Test
+  @DisplayName("스냅샷을 받는 동안 들어온 변경 중 스냅샷 이후 변경만 반영한다")
+  void replays_pending_changes_newer_than_snapshot() {
+    // given
+    LocalQueueIndex index = new LocalQueueIndex();
+    index.beginSync();
+    index.onChange("1\n+ 1 user-1");
+    index.onChange("2\n+ 2 user-2\n+ 3 user-3");
+
+    // when (스냅샷은 버전 2까지 반영된 상태)
+    boolean completed = index.completeSync(2, List.of("user-1", "1", "user-2", "2"));
+
+    // then
+    Assertions.assertThat(completed).isTrue();
+    Assertions.assertThat(index.statusOf("user-3")).isEqualTo(new QueueStatusResponse(3L, 3L, 0L));
+  }
+
+  @Test
+  @DisplayName("순번 범위를 넘어서는 변경이 계속되어도 순번이 유지된다")
+  void keeps_ranks_while_sequence_window_moves() {
+    // given
+    LocalQueueIndex index = synced(0, List.of());
+    long version = 0;
+
+    // when (앞에서 입장하고 뒤에 등록되는 상황 반복)
+    for (long sequence = 1; sequence <= 10_000; sequence++) {
+      index.onChange(++version + "\n+ " + sequence + " user-" + sequence);
+      if (sequence > 100) {
+        index.onChange(++version + "\n- user-" + (sequence - 100));
+      }
+    }
+
+    // then
+    Assertions.assertThat(index.statusOf("user-9901")).isEqualTo(new QueueStatusResponse(100L, 1L, 99L));
+    Assertions.assertThat(index.statusOf("user-10000")).isEqualTo(new QueueStatusResponse(100L, 100L, 0L));
+  }
+
+  @Test
+  @DisplayName("Redis 버전이 줄었거나 직전에 본 버전까지 반영하지 못했으면 뒤처진 것으로 본다")
+  void detects_missed_changes_from_remote_version() {
+    // given
+    LocalQueueIndex index = synced(5, List.of());
+
+    // when & then
+    Assertions.assertThat(index.isBehind(5)).isFalse();
+    Assertions.assertThat(index.isBehind(7)).isFalse(); // 이벤트가 아직 도착 중일 수 있음
+    Assertions.assertThat(index.isBehind(7)).isTrue();
+    Assertions.assertThat(synced(5, List.of()).isBehind(0)).isTrue();
+  }
+
+  private LocalQueueIndex synced(long version, List<Object> members) {
+    LocalQueueIndex index = new LocalQueueIndex();
+    index.beginSync();
+    index.completeSync(version, members);
+    return index;
+  }
+}
@@ -0,0 +1,45 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.memory;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AllowedInTableTest {
+
+  @Test
+  @DisplayName("만료 정리는 갱신 시각이 오래된 사용자부터 제거하고, 갱신된 사용자는 실제 시각으로 판단한다")
+  void removes_expired_users_oldest_first() {
+    // given
+    AllowedInTable table = new AllowedInTable();
+    table.insert("user-1", 10, 10);
+    table.insert("user-2", 20, 10);
+    table.insert("user-3", 30, 10);
+
+    // when: user-1은 잠금 없이 갱신되어 만료 인덱스의 시각(10)보다 늦음
+    table.refresh("user-1", 40);
+
+    // then
+    Assertions.assertThat(table.oldestTimestamp()).isEqualTo(20);
+    Assertions.assertThat(table.removeExpired(35, 1)).containsExactly("user-2");
+    Assertions.assertThat(table.removeExpired(35, 10)).containsExactly("user-3");
+    Assertions.assertThat(table.size()).isEqualTo(1);
+    Assertions.assertThat(table.oldestTimestamp()).isEqualTo(40);
+  }
+
+  @Test
+  @DisplayName("퇴장한 사용자는 만료 인덱스에서도 제거된다")
+  void removed_user_leaves_expiry_index() {
+    // given
+    AllowedInTable table = new AllowedInTable();
+    table.insert("user-1", 10, 10);
+    table.insert("user-2", 20, 10);
+
+    // when
+    table.remove("user-1");
+
+    // then
+    Assertions.assertThat(table.oldestTimestamp()).isEqualTo(20);
+    Assertions.assertThat(table.removeExpired(100, 10)).containsExactly("user-2");
+    Assertions.assertThat(table.oldestTimestamp()).isEqualTo(-1);
+  }
+}
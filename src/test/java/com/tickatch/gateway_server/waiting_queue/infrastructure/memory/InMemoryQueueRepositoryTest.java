@@ -0,0 +1,98 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.gateway_server.waiting_queue.QueueRepositoryScenarioTest;
+import com.tickatch.gateway_server.waiting_queue.application.QueueMetrics;
+import com.tickatch.gateway_server.waiting_queue.application.QueueProgressTracker;
+import com.tickatch.gateway_server.waiting_queue.application.QueueStatusNotifier;
+import com.tickatch.gateway_server.waiting_queue.application.WaitingQueueService;
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueGateResult;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import com.tickatch.gateway_server.waiting_queue.infrastructure.config.QueueProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+// 공통 시나리오(QueueRepositoryScenarioTest)를 인메모리 저장소로 확인하고 시각을 직접 움직여야 하는 동작을 추가로 확인
+class InMemoryQueueRepositoryTest extends QueueRepositoryScenarioTest {
+
+  // 현재 시각 (epoch second)
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+
+  private WaitingQueueService queueService;
+
+  @BeforeEach
+  void setUp() {
+    QueueProperties queueProperties = new QueueProperties();
+    queueProperties.setMaxCapacity(1);
+    queueProperties.setAllowedInDurationSeconds(15);
+
+    QueueProgressTracker progressTracker = new QueueProgressTracker(60);
+    QueueMetrics queueMetrics = new QueueMetrics(new SimpleMeterRegistry(), progressTracker);
+    AllowedInCache allowedInCache = new AllowedInCache(5000, 100_000);
+    InMemoryQueueRepository repository =
+        new InMemoryQueueRepository(queueProperties, allowedInCache, queueMetrics, clock::get);
+    InMemoryQueueEventBus eventBus =
+        new InMemoryQueueEventBus(new QueueStatusNotifier(queueMetrics), progressTracker);
+
+    queueService = new WaitingQueueService(repository, eventBus, progressTracker, queueMetrics);
+  }
+
+  @Override
+  protected WaitingQueueService queueService() {
+    return queueService;
+  }
+
+  // 입장 허용 인원이 1명이므로 입장 허용 시간(15초)이 지나도록 시각을 움직임
+  @Override
+  protected void expireAllowedIn(String userId) {
+    clock.addAndGet(16);
+  }
+
+  @Test
+  @DisplayName("만료된 사용자를 정리하면 입장 권한이 제거되고 다음 대기자가 입장한다")
+  void cleanupExpiredUsers_AdmitsNextUser() {
+    queueService.lineUp(QUEUE_ID, USER_ID_1).block();
+    queueService.lineUp(QUEUE_ID, USER_ID_2).block();
+
+    // 입장 허용 시간(15초)이 지남
+    clock.addAndGet(16);
+
+    StepVerifier.create(queueService.admitNextUsers(QUEUE_ID))
+        .assertNext(result -> {
+          assertThat(result.userIds()).containsExactly(USER_ID_2);
+          assertThat(result.expiredCount()).isEqualTo(1);
+          assertThat(result.waitingCount()).isZero();
+          assertThat(result.allowedCount()).isEqualTo(1L);
+          assertThat(result.nextExpiryAt()).isEqualTo(clock.get() + 15);
+        })
+        .verifyComplete();
+
+    StepVerifier.create(queueService.canEnter(QUEUE_ID, USER_ID_1))
+        .expectNext(false)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("입장 허용 시각을 갱신한 사용자는 만료되지 않는다")
+  void passGate_RefreshesAllowedInTimestamp() {
+    queueService.lineUp(QUEUE_ID, USER_ID_1).block();
+
+    clock.addAndGet(10);
+    StepVerifier.create(queueService.passGate(QUEUE_ID, USER_ID_1))
+        .expectNext(QueueGateResult.allowed())
+        .verifyComplete();
+    clock.addAndGet(10);
+
+    StepVerifier.create(queueService.admitNextUsers(QUEUE_ID))
+        .assertNext(result -> assertThat(result.expiredCount()).isZero())
+        .verifyComplete();
+    StepVerifier.create(queueService.canEnter(QUEUE_ID, USER_ID_1))
+        .expectNext(true)
+        .verifyComplete();
+  }
+}
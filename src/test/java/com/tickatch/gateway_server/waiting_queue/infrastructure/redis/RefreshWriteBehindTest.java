@@ -0,0 +1,68 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class RefreshWriteBehindTest {
+
+  private static final long INTERVAL_MILLIS = 100;
+
+  // 노드 이름 -> 반영 지점 (Redis allowedIn:refresh-watermarks 대신 사용)
+  private final Map<String, Long> watermarks = new ConcurrentHashMap<>();
+
+  private RefreshWriteBehind nodeA;
+  private RefreshWriteBehind nodeB;
+
+  @AfterEach
+  void tearDown() {
+    nodeA.close(Duration.ofSeconds(1));
+    nodeB.close(Duration.ofSeconds(1));
+  }
+
+  @Test
+  @DisplayName("모든 노드의 반영이 끝나 있으면 만료 유예 시간은 최소 주기 + 1초다")
+  void staleness_is_minimal_when_all_nodes_flush() throws InterruptedException {
+    // given
+    nodeA = new RefreshWriteBehind(INTERVAL_MILLIS, (queueId, timestamps) -> Mono.empty(), reporter("a"));
+    nodeB = new RefreshWriteBehind(INTERVAL_MILLIS, (queueId, timestamps) -> Mono.empty(), reporter("b"));
+    nodeB.submit("concert-1", "user-1", System.currentTimeMillis() / 1000);
+
+    // when
+    Thread.sleep(2000);
+
+    // then
+    assertThat(nodeA.stalenessSeconds()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("다른 노드의 반영이 실패하고 있으면 만료 정리를 하는 노드도 그만큼 만료를 늦춘다")
+  void staleness_follows_failing_node() throws InterruptedException {
+    // given: 노드 B는 모아 둔 갱신을 반영하지 못함
+    nodeA = new RefreshWriteBehind(INTERVAL_MILLIS, (queueId, timestamps) -> Mono.empty(), reporter("a"));
+    nodeB = new RefreshWriteBehind(INTERVAL_MILLIS,
+        (queueId, timestamps) -> Mono.error(new IllegalStateException("flush failed")), reporter("b"));
+    nodeB.submit("concert-1", "user-1", System.currentTimeMillis() / 1000);
+
+    // when
+    Thread.sleep(2000);
+
+    // then: 노드 A는 자신의 반영이 끝나 있어도 노드 B가 마지막으로 모두 반영한 시점(2초 전)부터 잰 유예 시간을 사용
+    assertThat(nodeA.stalenessSeconds()).isGreaterThanOrEqualTo(3);
+  }
+
+  private Function<Long, Mono<Long>> reporter(String node) {
+    return flushedThroughMillis -> {
+      watermarks.put(node, flushedThroughMillis);
+      return Mono.just(Collections.min(watermarks.values()));
+    };
+  }
+}
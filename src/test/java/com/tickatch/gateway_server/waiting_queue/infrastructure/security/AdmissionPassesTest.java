@@ -0,0 +1,87 @@
+package com.tickatch.gateway_server.waiting_queue.infrastructure.security;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.tickatch.gateway_server.waiting_queue.infrastructure.cache.AllowedInCache;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+class AdmissionPassesTest {
+
+  private static final String SECRET = "test-secret-key-for-hmac";
+
+  private AllowedInCache allowedInCache;
+  private AdmissionPasses admissionPasses;
+
+  @BeforeEach
+  void setUp() {
+    allowedInCache = mock(AllowedInCache.class);
+    given(allowedInCache.isSubscribed()).willReturn(true);
+    admissionPasses = new AdmissionPasses(allowedInCache, SECRET, 30, 1);
+  }
+
+  @Test
+  @DisplayName("발급한 패스는 같은 대기열과 사용자에 대해서만 유효하다")
+  void issued_pass_is_valid_for_same_queue_and_user() {
+    // given
+    String token = issue(admissionPasses, "concert-1", "user-1");
+
+    // then
+    Assertions.assertThat(admissionPasses.verify(request(token), "concert-1", "user-1")).isTrue();
+    Assertions.assertThat(admissionPasses.verify(request(token), "concert-2", "user-1")).isFalse();
+    Assertions.assertThat(admissionPasses.verify(request(token), "concert-1", "user-2")).isFalse();
+  }
+
+  @Test
+  @DisplayName("서명이 변조되었거나 다른 키/epoch로 발급된 패스는 거부한다")
+  void rejects_tampered_or_foreign_pass() {
+    // given
+    String token = issue(admissionPasses, "concert-1", "user-1");
+    String otherKeyToken = issue(new AdmissionPasses(allowedInCache, "different-secret", 30, 1), "concert-1", "user-1");
+    String oldEpochToken = issue(new AdmissionPasses(allowedInCache, SECRET, 30, 0), "concert-1", "user-1");
+
+    // then
+    Assertions.assertThat(admissionPasses.verify(request(token + "x"), "concert-1", "user-1")).isFalse();
+    Assertions.assertThat(admissionPasses.verify(request(otherKeyToken), "concert-1", "user-1")).isFalse();
+    Assertions.assertThat(admissionPasses.verify(request(oldEpochToken), "concert-1", "user-1")).isFalse();
+  }
+
+  @Test
+  @DisplayName("입장 권한이 회수되었거나 회수 알림을 신뢰할 수 없으면 패스를 거부한다")
+  void rejects_pass_after_revocation_or_reset() {
+    // given
+    String token = issue(admissionPasses, "concert-1", "user-1");
+    String otherToken = issue(admissionPasses, "concert-1", "user-2");
+
+    // when
+    admissionPasses.onRevoked("concert-1", "user-1");
+
+    // then
+    Assertions.assertThat(admissionPasses.verify(request(token), "concert-1", "user-1")).isFalse();
+    Assertions.assertThat(admissionPasses.verify(request(otherToken), "concert-1", "user-2")).isTrue();
+
+    // when
+    admissionPasses.onReset();
+
+    // then
+    Assertions.assertThat(admissionPasses.verify(request(otherToken), "concert-1", "user-2")).isFalse();
+  }
+
+  private static String issue(AdmissionPasses passes, String queueId, String userId) {
+    MockServerHttpResponse response = new MockServerHttpResponse();
+    passes.issue(response, queueId, userId);
+    return response.getCookies().getFirst(AdmissionPasses.COOKIE_NAME).getValue();
+  }
+
+  private static MockServerHttpRequest request(String token) {
+    return MockServerHttpRequest.post("/api/v1/reservations")
+        .cookie(new HttpCookie(AdmissionPasses.COOKIE_NAME, token))
+        .build();
+  }
+}
@@ -0,0 +1,65 @@
+package com.tickatch.gateway_server.waiting_queue.presentation.webapi;
+
+import com.tickatch.gateway_server.waiting_queue.application.dto.QueueStatusResponse;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+class QueueSseFramesTest {
+
+  @Test
+  @DisplayName("STATUS_UPDATE 프레임은 기본 코덱과 같은 형식으로 인코딩되고 null 필드는 생략된다")
+  void encodes_status_update() {
+    // given
+    QueueStatusResponse status = new QueueStatusResponse(12345L, 7L, 12338L);
+    QueueStatusResponse estimated = status.withEstimate(1.05, 7L);
+
+    // when
+    String frame = read(QueueSseFrames.statusUpdate(DefaultDataBufferFactory.sharedInstance, status));
+    String estimatedFrame = read(QueueSseFrames.statusUpdate(DefaultDataBufferFactory.sharedInstance, estimated));
+    String nullFrame = read(QueueSseFrames.statusUpdate(
+        DefaultDataBufferFactory.sharedInstance, new QueueStatusResponse(0L, null, Long.MIN_VALUE)));
+    String emptyFrame = read(QueueSseFrames.statusUpdate(
+        DefaultDataBufferFactory.sharedInstance, new QueueStatusResponse(null, null, null, null, 3L)));
+
+    // then
+    Assertions.assertThat(frame).isEqualTo(
+        "event:STATUS_UPDATE\ndata:{\"totalQueueSize\":12345,\"userQueuePosition\":7,\"usersBehind\":12338}\n\n");
+    Assertions.assertThat(estimatedFrame).isEqualTo(
+        "event:STATUS_UPDATE\ndata:{\"totalQueueSize\":12345,\"userQueuePosition\":7,\"usersBehind\":12338,"
+            + "\"admissionRatePerSecond\":1.05,\"estimatedWaitSeconds\":7}\n\n");
+    Assertions.assertThat(nullFrame).isEqualTo(
+        "event:STATUS_UPDATE\ndata:{\"totalQueueSize\":0,\"usersBehind\":-9223372036854775808}\n\n");
+    Assertions.assertThat(emptyFrame).isEqualTo("event:STATUS_UPDATE\ndata:{\"estimatedWaitSeconds\":3}\n\n");
+  }
+
+  @Test
+  @DisplayName("미리 인코딩한 프레임은 연결마다 해제해도 다시 쓸 수 있다")
+  void shared_frame_survives_release() {
+    // given
+    NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    // when
+    String first = read(QueueSseFrames.ALLOWED_IN.toDataBuffer(bufferFactory));
+    String second = read(QueueSseFrames.ALLOWED_IN.toDataBuffer(bufferFactory));
+
+    // then
+    Assertions.assertThat(first)
+        .isEqualTo("event:ALLOWED_IN\ndata:{\"message\":\"입장 가능합니다.\"}\n\n")
+        .isEqualTo(second);
+  }
+
+  private static String read(DataBuffer buffer) {
+    try {
+      return buffer.toString(StandardCharsets.UTF_8);
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+  }
+}